@@ -16,11 +16,14 @@
 
 package reactor.alloc;
 
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
 import reactor.core.support.ReactiveState;
 import reactor.core.timer.TimeUtils;
 
 /**
- * An abstract {@link Reference} implementation that does reference counting.
+ * An abstract {@link Reference} implementation that does lock-free reference counting. The referenced object is
+ * recycled, then {@link #deallocate()} is invoked, exactly once each time the count drops to zero.
  *
  * @author Jon Brisbin
  * @since 1.1
@@ -29,9 +32,15 @@ public abstract class AbstractReference<T extends ReactiveState.Recyclable> impl
 
 	private volatile int refCnt = 0;
 
+	@SuppressWarnings("rawtypes")
+	private static final AtomicIntegerFieldUpdater<AbstractReference> REF_CNT =
+			AtomicIntegerFieldUpdater.newUpdater(AbstractReference.class, "refCnt");
+
 	private final long inception;
 	private final T    obj;
 
+	volatile LeakDetector.LeakRecord leakRecord;
+
 	protected AbstractReference(T obj) {
 		this.obj = obj;
 		this.inception = TimeUtils.approxCurrentTimeMillis();
@@ -54,7 +63,7 @@ public abstract class AbstractReference<T extends ReactiveState.Recyclable> impl
 
 	@Override
 	public void retain(int incr) {
-		refCnt += incr;
+		REF_CNT.addAndGet(this, incr);
 	}
 
 	@Override
@@ -64,12 +73,35 @@ public abstract class AbstractReference<T extends ReactiveState.Recyclable> impl
 
 	@Override
 	public void release(int decr) {
-		refCnt -= Math.min(decr, refCnt);
-		if (refCnt < 1) {
+		int current;
+		int next;
+		do {
+			current = refCnt;
+			if (current < 1) {
+				return;
+			}
+			next = current - Math.min(decr, current);
+		}
+		while (!REF_CNT.compareAndSet(this, current, next));
+
+		if (next < 1) {
+			LeakDetector.LeakRecord record = leakRecord;
+			if (record != null) {
+				leakRecord = null;
+				record.close();
+			}
 			obj.recycle();
+			deallocate();
 		}
 	}
 
+	/**
+	 * Invoked after the referenced object has been recycled, once its reference count dropped to zero. Allocators
+	 * override it to return this reference to their pool.
+	 */
+	protected void deallocate() {
+	}
+
 	@Override
 	public T get() {
 		return obj;
@@ -18,7 +18,7 @@ package reactor.alloc;
 
 import reactor.bus.Event;
 
-import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Generic Event Allocator. Allocates events based on their generic type.
@@ -27,8 +27,8 @@ import java.util.HashMap;
  */
 public abstract class EventAllocator {
 
-	private final Object                    monitor;
-	private final HashMap<Class, Allocator> eventPools;
+	private final Object                              monitor;
+	private final ConcurrentHashMap<Class, Allocator> eventPools;
 
 	public EventAllocator() {
 		this(new Class[0]);
@@ -42,7 +42,7 @@ public abstract class EventAllocator {
 	 */
 	@SuppressWarnings("unchecked")
 	public EventAllocator(Class[] classes) {
-		this.eventPools = new HashMap<Class, Allocator>();
+		this.eventPools = new ConcurrentHashMap<Class, Allocator>();
 		this.monitor = new Object();
 		for (Class c : classes) {
 			eventPools.put(c, makeAllocator(c));
@@ -58,15 +58,18 @@ public abstract class EventAllocator {
 	 */
 	@SuppressWarnings("unchecked")
 	public <T> Reference<Event<T>> get(Class<T> klass) {
-		if (!eventPools.containsKey(klass)) {
+		Allocator allocator = eventPools.get(klass);
+		if (allocator == null) {
 			synchronized (monitor) {
 				// Check once again if another thread didn't create a supplier in a meanwhile
-				if (!eventPools.containsKey(klass)) {
-					eventPools.put(klass, makeAllocator(klass));
+				allocator = eventPools.get(klass);
+				if (allocator == null) {
+					allocator = makeAllocator(klass);
+					eventPools.put(klass, allocator);
 				}
 			}
 		}
-		return eventPools.get(klass).allocate();
+		return allocator.allocate();
 	}
 
 	/**
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.alloc;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.ReferenceQueue;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import reactor.core.support.Logger;
+
+/**
+ * Detect pooled {@link Reference References} garbage collected while still retained, i.e. references the
+ * application forgot to {@link Reference#release() release}.
+ * <p>
+ * A configurable fraction of the allocations is tracked: the allocation site stack trace is captured and a phantom
+ * reference registered. Releasing a tracked reference down to zero discards its record, if the reference becomes
+ * unreachable first the record is enqueued by the garbage collector and reported on a later allocation or on
+ * {@link #reportLeaks()}.
+ * <p>
+ * When disabled, which is the default unless the {@code reactor.alloc.leakSamplingRate} system property is set
+ * between 0 and 1, tracking costs a single field read on the allocation path.
+ *
+ * @since 2.1
+ */
+public final class LeakDetector {
+
+	private static final Logger log = Logger.getLogger(LeakDetector.class);
+
+	private static final LeakDetector DEFAULT =
+			new LeakDetector(Double.parseDouble(System.getProperty("reactor.alloc.leakSamplingRate", "0")));
+
+	private final int                    samplingInterval;
+	private final ReferenceQueue<Object> collected = new ReferenceQueue<Object>();
+	private final Set<LeakRecord>        records   =
+			Collections.newSetFromMap(new ConcurrentHashMap<LeakRecord, Boolean>());
+	private final AtomicLong             leaks     = new AtomicLong();
+
+	/**
+	 * Return the detector used by the allocators when none is given, configured with the {@code
+	 * reactor.alloc.leakSamplingRate} system property.
+	 *
+	 * @return the default {@link LeakDetector}
+	 */
+	public static LeakDetector defaultDetector() {
+		return DEFAULT;
+	}
+
+	/**
+	 * Create a {@code LeakDetector} tracking the given fraction of the allocations.
+	 *
+	 * @param samplingRate a rate between 0 (disabled) and 1 (every allocation is tracked)
+	 */
+	public LeakDetector(double samplingRate) {
+		if (samplingRate < 0d || samplingRate > 1d) {
+			throw new IllegalArgumentException("samplingRate must be between 0 and 1");
+		}
+		this.samplingInterval = samplingRate == 0d ? 0 : (int) Math.max(1L, Math.round(1d / samplingRate));
+	}
+
+	/**
+	 * Possibly track the given freshly allocated reference, depending on the sampling rate.
+	 *
+	 * @param ref the reference just retained by an allocator
+	 */
+	public void track(AbstractReference<?> ref) {
+		int interval = samplingInterval;
+		if (interval == 0 || (interval > 1 && ThreadLocalRandom.current().nextInt(interval) != 0)) {
+			return;
+		}
+		reportLeaks();
+		LeakRecord record = new LeakRecord(ref, collected, this);
+		records.add(record);
+		ref.leakRecord = record;
+	}
+
+	/**
+	 * Report every tracked reference collected since the last call while still retained.
+	 *
+	 * @return the number of newly detected leaks
+	 */
+	public int reportLeaks() {
+		int found = 0;
+		LeakRecord record;
+		while ((record = (LeakRecord) collected.poll()) != null) {
+			if (records.remove(record)) {
+				found++;
+				leaks.incrementAndGet();
+				log.error("LEAK: a pooled Reference was garbage-collected before being released, allocated at:",
+						record.allocation);
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * @return whether or not this detector tracks any allocation
+	 */
+	public boolean isEnabled() {
+		return samplingInterval != 0;
+	}
+
+	/**
+	 * @return the total number of leaks detected
+	 */
+	public long leaks() {
+		return leaks.get();
+	}
+
+	/**
+	 * @return the number of tracked references not yet released
+	 */
+	public int tracked() {
+		return records.size();
+	}
+
+	static final class LeakRecord extends PhantomReference<Object> {
+
+		final Throwable    allocation;
+		final LeakDetector detector;
+
+		LeakRecord(Object referent, ReferenceQueue<Object> queue, LeakDetector detector) {
+			super(referent, queue);
+			this.detector = detector;
+			this.allocation = new Throwable("Reference allocated by " + Thread.currentThread().getName());
+		}
+
+		void close() {
+			detector.records.remove(this);
+			clear();
+		}
+	}
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.alloc;
+
+import javax.annotation.Nullable;
+
+import org.reactivestreams.Processor;
+import reactor.bus.Event;
+import reactor.bus.EventBus;
+import reactor.fn.Supplier;
+
+/**
+ * An {@link EventBus} with a pooled publish path: {@link #publish(Object, Object)} leases an {@link Event} from an
+ * {@link EventAllocator} instead of wrapping the data in a new one, and the event is recycled back to its pool as
+ * soon as it has been routed to the matching consumers.
+ * <p>
+ * Consumers must not keep a reference to a published event, or to its headers, after they returned. Each published
+ * event is expected to be routed once, which is the case without a processor, with a single subscriber or with a
+ * work processor distributing events between its subscribers. Events passed to the regular {@code notify} methods
+ * are not pooled and routed as usual.
+ *
+ * @since 2.1
+ */
+public class PooledEventBus extends EventBus {
+
+	public static final int DEFAULT_POOL_SIZE = 256;
+
+	private final EventAllocator allocator;
+
+	/**
+	 * Create a new {@code PooledEventBus} routing on the calling thread.
+	 */
+	public PooledEventBus() {
+		this(null, 1, DEFAULT_POOL_SIZE);
+	}
+
+	/**
+	 * Create a new {@code PooledEventBus} routing through the given {@link Processor}.
+	 *
+	 * @param processor The {@link Processor} to use. May be {@code null} in which case events are routed on the
+	 *                  calling thread.
+	 */
+	public PooledEventBus(@Nullable Processor<Event<?>, Event<?>> processor) {
+		this(processor, 1, DEFAULT_POOL_SIZE);
+	}
+
+	/**
+	 * Create a new {@code PooledEventBus} routing through the given {@link Processor}.
+	 *
+	 * @param processor   The {@link Processor} to use. May be {@code null} in which case events are routed on the
+	 *                    calling thread.
+	 * @param concurrency The number of routing subscribers, only meaningful with a work processor.
+	 * @param poolSize    The number of events initially pooled for each data type.
+	 */
+	public PooledEventBus(@Nullable Processor<Event<?>, Event<?>> processor, int concurrency, final int poolSize) {
+		super(processor, concurrency);
+		this.allocator = new EventAllocator() {
+			@Override
+			protected <T> Allocator<Event<T>> makeAllocator(Class<T> klass) {
+				return new ReferenceCountingAllocator<Event<T>>(poolSize, new Supplier<Event<T>>() {
+					@Override
+					public Event<T> get() {
+						return new LeasedEvent<T>();
+					}
+				});
+			}
+		};
+	}
+
+	/**
+	 * Notify the consumers matching the given key with a pooled {@link Event} carrying the given data. The event is
+	 * recycled once routed.
+	 *
+	 * @param key  The key to be matched by {@link reactor.bus.selector.Selector Selectors}
+	 * @param data The event data
+	 * @param <T>  The type of the data
+	 * @return {@literal this}
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> PooledEventBus publish(Object key, T data) {
+		Class<T> klass = (Class<T>) (data != null ? data.getClass() : Void.class);
+		Reference<Event<T>> ref = allocator.get(klass);
+		LeasedEvent<T> ev = (LeasedEvent<T>) ref.get();
+		ev.reference = ref;
+		ev.setData(data);
+		notify(key, ev);
+		return this;
+	}
+
+	@Override
+	public void accept(Event<?> event) {
+		try {
+			super.accept(event);
+		}
+		finally {
+			if (event instanceof LeasedEvent) {
+				((LeasedEvent<?>) event).release();
+			}
+		}
+	}
+
+	static final class LeasedEvent<T> extends Event<T> {
+
+		private static final long serialVersionUID = -5120389409613870467L;
+
+		transient Reference<Event<T>> reference;
+
+		LeasedEvent() {
+			super((Class<T>) null);
+		}
+
+		void release() {
+			Reference<Event<T>> reference = this.reference;
+			if (reference != null) {
+				this.reference = null;
+				reference.release();
+			}
+		}
+	}
+}
@@ -16,18 +16,25 @@
 
 package reactor.alloc;
 
-import reactor.core.support.ReactiveState;
-import reactor.fn.Supplier;
-
 import java.util.ArrayList;
-import java.util.BitSet;
 import java.util.List;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import reactor.core.support.ReactiveState;
+import reactor.core.support.rb.disruptor.Sequencer;
+import reactor.fn.Supplier;
 
 /**
  * An implementation of {@link Allocator} that uses reference counting to determine when an object
  * should
  * be recycled and placed back into the pool to be reused.
+ * <p>
+ * The pool is lock-free: released references are first offered to a small set of slots striped by thread, then to
+ * a shared concurrent free list. Allocation looks up the same stripe before polling the free list and creates a new
+ * reference when both are empty, so the pool grows one reference at a time without ever blocking other callers.
  *
  * @author Jon Brisbin
  * @since 1.1
@@ -35,59 +42,54 @@ import java.util.concurrent.locks.ReentrantLock;
 public class ReferenceCountingAllocator<T extends ReactiveState.Recyclable> implements Allocator<T> {
 
 	private static final int DEFAULT_INITIAL_SIZE = 2048;
+	private static final int SLOTS_PER_STRIPE     = 8;
 
-	private final ReentrantLock           refLock    = new ReentrantLock();
-	private final ReentrantLock           leaseLock  = new ReentrantLock();
-	private final ArrayList<Reference<T>> references = new ArrayList<Reference<T>>();
-	private final Supplier<T> factory;
-
-	private volatile BitSet leaseMask;
+	private final Supplier<T>                                               factory;
+	private final AtomicReferenceArray<ReferenceCountingAllocatorReference> stripes;
+	private final int                                                       stripeMask;
+	private final Queue<ReferenceCountingAllocatorReference>                freeList;
+	private final LeakDetector                                              leakDetector;
+	private final AtomicInteger size = new AtomicInteger();
 
 	public ReferenceCountingAllocator(Supplier<T> factory) {
 		this(DEFAULT_INITIAL_SIZE, factory);
 	}
 
 	public ReferenceCountingAllocator(int initialSize, Supplier<T> factory) {
+		this(initialSize, factory, LeakDetector.defaultDetector());
+	}
+
+	public ReferenceCountingAllocator(int initialSize, Supplier<T> factory, LeakDetector leakDetector) {
 		this.factory = factory;
-		this.references.ensureCapacity(initialSize);
-		this.leaseMask = new BitSet(initialSize);
-		expand(initialSize);
+		this.leakDetector = leakDetector;
+		int stripeCount = Sequencer.ceilingNextPowerOfTwo(Runtime.getRuntime().availableProcessors());
+		this.stripeMask = stripeCount - 1;
+		this.stripes = new AtomicReferenceArray<ReferenceCountingAllocatorReference>(stripeCount * SLOTS_PER_STRIPE);
+		this.freeList = new ConcurrentLinkedQueue<ReferenceCountingAllocatorReference>();
+		for (int i = 0; i < initialSize; i++) {
+			freeList.offer(newReference());
+		}
 	}
 
 	@Override
 	public Reference<T> allocate() {
-		Reference<T> ref;
-		int len = refCnt();
-		int next;
-
-		leaseLock.lock();
-		try {
-			next = leaseMask.nextClearBit(0);
-			if (next >= len) {
-				expand(len);
+		ReferenceCountingAllocatorReference ref = null;
+
+		int base = stripe() * SLOTS_PER_STRIPE;
+		for (int i = base; i < base + SLOTS_PER_STRIPE; i++) {
+			if (stripes.get(i) != null && (ref = stripes.getAndSet(i, null)) != null) {
+				break;
 			}
-			leaseMask.set(next);
-		} finally {
-			leaseLock.unlock();
 		}
 
-		if (next < 0) {
-			throw new RuntimeException("Allocator is exhausted.");
+		if (null == ref) {
+			ref = freeList.poll();
 		}
-
-		ref = references.get(next);
 		if (null == ref) {
-			// this reference has been nulled somehow.
-			// that's not really critical, just replace it.
-			refLock.lock();
-			try {
-				ref = new ReferenceCountingAllocatorReference<T>(factory.get(), next);
-				references.set(next, ref);
-			} finally {
-				refLock.unlock();
-			}
+			ref = newReference();
 		}
 		ref.retain();
+		leakDetector.track(ref);
 
 		return ref;
 	}
@@ -110,54 +112,44 @@ public class ReferenceCountingAllocator<T extends ReactiveState.Recyclable> impl
 		}
 	}
 
-	private int refCnt() {
-		refLock.lock();
-		try {
-			return references.size();
-		} finally {
-			refLock.unlock();
-		}
+	/**
+	 * Return the number of references created by this allocator, leased or not.
+	 *
+	 * @return the total number of pooled references
+	 */
+	public int size() {
+		return size.get();
 	}
 
-	private void expand(int num) {
-		refLock.lock();
-		try {
-			int len = references.size();
-			int newLen = len + num;
-			for (int i = len; i <= newLen; i++) {
-				references.add(new ReferenceCountingAllocatorReference<T>(factory.get(), i));
-			}
-			BitSet newLeaseMask = new BitSet(newLen);
-			int leases = leaseMask.length();
-			for (int i = 0; i < leases; i++) {
-				newLeaseMask.set(i, leaseMask.get(i));
+	private ReferenceCountingAllocatorReference newReference() {
+		size.incrementAndGet();
+		return new ReferenceCountingAllocatorReference(factory.get());
+	}
+
+	private int stripe() {
+		long id = Thread.currentThread().getId();
+		return (int) (id ^ (id >>> 16)) & stripeMask;
+	}
+
+	private void free(ReferenceCountingAllocatorReference ref) {
+		int base = stripe() * SLOTS_PER_STRIPE;
+		for (int i = base; i < base + SLOTS_PER_STRIPE; i++) {
+			if (stripes.get(i) == null && stripes.compareAndSet(i, null, ref)) {
+				return;
 			}
-			leaseMask = newLeaseMask;
-		} finally {
-			refLock.unlock();
 		}
+		freeList.offer(ref);
 	}
 
-	private class ReferenceCountingAllocatorReference<T extends ReactiveState.Recyclable> extends AbstractReference<T> {
-		private final int bit;
+	private class ReferenceCountingAllocatorReference extends AbstractReference<T> {
 
-		private ReferenceCountingAllocatorReference(T obj, int bit) {
+		private ReferenceCountingAllocatorReference(T obj) {
 			super(obj);
-			this.bit = bit;
 		}
 
 		@Override
-		public void release(int decr) {
-			leaseLock.lock();
-			try {
-				super.release(decr);
-				if (getReferenceCount() < 1) {
-					// There won't be contention to clear this
-					leaseMask.clear(bit);
-				}
-			} finally {
-				leaseLock.unlock();
-			}
+		protected void deallocate() {
+			free(this);
 		}
 	}
 
@@ -0,0 +1,350 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.io.buffer;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import reactor.alloc.AbstractReference;
+import reactor.alloc.Allocator;
+import reactor.alloc.LeakDetector;
+import reactor.alloc.Reference;
+import reactor.core.support.ReactiveState;
+import reactor.core.support.rb.disruptor.Sequencer;
+
+/**
+ * An {@link reactor.alloc.Allocator} of {@link Buffer Buffers} pooling power-of-two size classes from a minimum of
+ * {@link #MIN_BUFFER_SIZE} bytes up to a configurable maximum. Requests larger than the biggest size class are
+ * served with unpooled buffers.
+ * <p>
+ * Each thread caches released buffers in a magazine per size class and only reaches the shared pool, a bounded list
+ * of full magazines per size class, once every {@code magazineSize} allocations or releases. Buffers released when
+ * the shared pool is full are left to the garbage collector, as are buffers which grew past their size class.
+ * <p>
+ * A {@link Reference} is retained once on allocation, the buffer is returned to the pool when its reference count
+ * drops to zero.
+ *
+ * @since 2.1
+ */
+public class PooledBufferAllocator implements Allocator<Buffer> {
+
+	public static final int MIN_BUFFER_SIZE = 64;
+
+	public static final int DEFAULT_MAGAZINE_SIZE = 32;
+	public static final int DEFAULT_MAX_MAGAZINES = 64;
+
+	private static final int MIN_SHIFT = 6;
+
+	private final boolean                 direct;
+	private final int                     defaultSize;
+	private final int                     magazineSize;
+	private final int                     maxMagazines;
+	private final SizeClass[]             sizeClasses;
+	private final ThreadLocal<Magazine[]> magazines;
+	private final LeakDetector            leakDetector;
+
+	/**
+	 * Create a heap {@code PooledBufferAllocator} of size classes up to {@link ReactiveState#SMALL_IO_BUFFER_SIZE} *
+	 * 16, allocating {@link ReactiveState#SMALL_IO_BUFFER_SIZE} buffers by default.
+	 *
+	 * @return a new heap {@code PooledBufferAllocator}
+	 */
+	public static PooledBufferAllocator heap() {
+		return new PooledBufferAllocator(false);
+	}
+
+	/**
+	 * Create a direct {@code PooledBufferAllocator} of size classes up to {@link ReactiveState#SMALL_IO_BUFFER_SIZE} *
+	 * 16, allocating {@link ReactiveState#SMALL_IO_BUFFER_SIZE} buffers by default.
+	 *
+	 * @return a new direct {@code PooledBufferAllocator}
+	 */
+	public static PooledBufferAllocator direct() {
+		return new PooledBufferAllocator(true);
+	}
+
+	/**
+	 * Create a {@code PooledBufferAllocator} of size classes up to {@link ReactiveState#SMALL_IO_BUFFER_SIZE} * 16.
+	 *
+	 * @param direct Whether or not to use direct buffers.
+	 */
+	public PooledBufferAllocator(boolean direct) {
+		this(direct,
+				ReactiveState.SMALL_IO_BUFFER_SIZE,
+				ReactiveState.SMALL_IO_BUFFER_SIZE * 16,
+				DEFAULT_MAGAZINE_SIZE,
+				DEFAULT_MAX_MAGAZINES);
+	}
+
+	/**
+	 * Create a {@code PooledBufferAllocator}.
+	 *
+	 * @param direct        Whether or not to use direct buffers.
+	 * @param defaultSize   The size of the buffers returned by {@link #allocate()}.
+	 * @param maxBufferSize The size of the largest pooled size class, rounded up to a power of 2.
+	 * @param magazineSize  The number of buffers per size class each thread keeps on hand.
+	 * @param maxMagazines  The number of full magazines per size class kept in the shared pool.
+	 */
+	public PooledBufferAllocator(boolean direct, int defaultSize, int maxBufferSize, int magazineSize, int
+			maxMagazines) {
+		this(direct, defaultSize, maxBufferSize, magazineSize, maxMagazines, LeakDetector.defaultDetector());
+	}
+
+	/**
+	 * Create a {@code PooledBufferAllocator}.
+	 *
+	 * @param direct        Whether or not to use direct buffers.
+	 * @param defaultSize   The size of the buffers returned by {@link #allocate()}.
+	 * @param maxBufferSize The size of the largest pooled size class, rounded up to a power of 2.
+	 * @param magazineSize  The number of buffers per size class each thread keeps on hand.
+	 * @param maxMagazines  The number of full magazines per size class kept in the shared pool.
+	 * @param leakDetector  The {@link LeakDetector} sampling the allocations.
+	 */
+	public PooledBufferAllocator(boolean direct, int defaultSize, int maxBufferSize, int magazineSize, int
+			maxMagazines, LeakDetector leakDetector) {
+		if (maxBufferSize < MIN_BUFFER_SIZE || maxBufferSize > ReactiveState.MAX_IO_BUFFER_SIZE) {
+			throw new IllegalArgumentException("maxBufferSize must be between " + MIN_BUFFER_SIZE + " and " +
+					ReactiveState.MAX_IO_BUFFER_SIZE);
+		}
+		if (magazineSize < 1 || maxMagazines < 0) {
+			throw new IllegalArgumentException("magazineSize must be strictly positive and maxMagazines positive");
+		}
+		this.direct = direct;
+		this.defaultSize = defaultSize;
+		this.magazineSize = magazineSize;
+		this.maxMagazines = maxMagazines;
+		this.leakDetector = leakDetector;
+
+		int classes = sizeClass(maxBufferSize) + 1;
+		this.sizeClasses = new SizeClass[classes];
+		for (int i = 0; i < classes; i++) {
+			sizeClasses[i] = new SizeClass(MIN_BUFFER_SIZE << i);
+		}
+
+		this.magazines = new ThreadLocal<Magazine[]>() {
+			@Override
+			protected Magazine[] initialValue() {
+				Magazine[] magazines = new Magazine[sizeClasses.length];
+				for (int i = 0; i < magazines.length; i++) {
+					magazines[i] = new Magazine(PooledBufferAllocator.this.magazineSize);
+				}
+				return magazines;
+			}
+		};
+	}
+
+	@Override
+	public Reference<Buffer> allocate() {
+		return allocate(defaultSize);
+	}
+
+	/**
+	 * Allocate a {@link Buffer} of at least the given capacity, rounded up to the nearest size class. The returned
+	 * buffer is cleared, its limit set to its capacity.
+	 *
+	 * @param size the minimum capacity of the returned buffer
+	 * @return a {@link Reference} that can be retained and released.
+	 */
+	public Reference<Buffer> allocate(int size) {
+		PooledReference ref;
+		if (size > maxBufferSize()) {
+			ref = new PooledReference(newBuffer(size), -1);
+		}
+		else {
+			int index = sizeClass(size);
+			Magazine magazine = magazines.get()[index];
+			ref = magazine.pop();
+			if (ref == null) {
+				ref = sizeClasses[index].take(magazine);
+			}
+			if (ref == null) {
+				ref = new PooledReference(newBuffer(sizeClasses[index].capacity), index);
+			}
+		}
+		ref.retain();
+		leakDetector.track(ref);
+		return ref;
+	}
+
+	@Override
+	public List<Reference<Buffer>> allocateBatch(int size) {
+		List<Reference<Buffer>> refs = new ArrayList<Reference<Buffer>>(size);
+		for (int i = 0; i < size; i++) {
+			refs.add(allocate());
+		}
+		return refs;
+	}
+
+	@Override
+	public void release(List<Reference<Buffer>> batch) {
+		if (null != batch && !batch.isEmpty()) {
+			for (Reference<Buffer> ref : batch) {
+				ref.release();
+			}
+		}
+	}
+
+	/**
+	 * Whether or not this allocator hands out direct buffers.
+	 *
+	 * @return {@literal true} if the buffers are allocated off-heap
+	 */
+	public boolean isDirect() {
+		return direct;
+	}
+
+	/**
+	 * Return the number of buffers available in the shared pool of the size class serving the given size.
+	 *
+	 * @param size a buffer size
+	 * @return the number of buffers held by full magazines in the shared pool, -1 if the size is not pooled
+	 */
+	public int pooled(int size) {
+		return size > maxBufferSize() ? -1 : sizeClasses[sizeClass(size)].count.get() * magazineSize;
+	}
+
+	/**
+	 * Return the capacity of the largest pooled size class.
+	 *
+	 * @return the largest pooled buffer capacity
+	 */
+	public int maxBufferSize() {
+		return sizeClasses[sizeClasses.length - 1].capacity;
+	}
+
+	static int sizeClass(int size) {
+		if (size <= MIN_BUFFER_SIZE) {
+			return 0;
+		}
+		return Sequencer.log2(Sequencer.ceilingNextPowerOfTwo(size)) - MIN_SHIFT;
+	}
+
+	private Buffer newBuffer(int capacity) {
+		return new Buffer(direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity));
+	}
+
+	private void free(PooledReference ref) {
+		if (ref.sizeClass < 0) {
+			return;
+		}
+		SizeClass sizeClass = sizeClasses[ref.sizeClass];
+		ByteBuffer bb = ref.get().byteBuffer();
+		if (bb == null || bb.capacity() != sizeClass.capacity || bb.isDirect() != direct) {
+			// the buffer grew out of its size class
+			return;
+		}
+		Magazine magazine = magazines.get()[ref.sizeClass];
+		if (!magazine.push(ref)) {
+			sizeClass.give(magazine);
+			magazine.push(ref);
+		}
+	}
+
+	/**
+	 * Per thread stack of released references for a size class
+	 */
+	static final class Magazine {
+
+		PooledReference[] refs;
+		int               size;
+
+		Magazine(int capacity) {
+			this.refs = new PooledReference[capacity];
+		}
+
+		PooledReference pop() {
+			if (size == 0) {
+				return null;
+			}
+			PooledReference ref = refs[--size];
+			refs[size] = null;
+			return ref;
+		}
+
+		boolean push(PooledReference ref) {
+			if (size == refs.length) {
+				return false;
+			}
+			refs[size++] = ref;
+			return true;
+		}
+	}
+
+	/**
+	 * Shared pool of full magazines for a size class
+	 */
+	final class SizeClass {
+
+		final int                      capacity;
+		final Queue<PooledReference[]> depot = new ConcurrentLinkedQueue<PooledReference[]>();
+		final AtomicInteger            count = new AtomicInteger();
+
+		SizeClass(int capacity) {
+			this.capacity = capacity;
+		}
+
+		/**
+		 * Swap the given empty magazine contents with a full one from the depot if any
+		 */
+		PooledReference take(Magazine magazine) {
+			PooledReference[] full = depot.poll();
+			if (full == null) {
+				return null;
+			}
+			count.decrementAndGet();
+			magazine.refs = full;
+			magazine.size = full.length;
+			return magazine.pop();
+		}
+
+		/**
+		 * Move the given full magazine contents to the depot, dropping them if the depot is full, and leave the
+		 * magazine empty
+		 */
+		void give(Magazine magazine) {
+			if (count.incrementAndGet() <= maxMagazines) {
+				depot.offer(magazine.refs);
+				magazine.refs = new PooledReference[magazineSize];
+			}
+			else {
+				count.decrementAndGet();
+				for (int i = 0; i < magazine.size; i++) {
+					magazine.refs[i] = null;
+				}
+			}
+			magazine.size = 0;
+		}
+	}
+
+	final class PooledReference extends AbstractReference<Buffer> {
+
+		final int sizeClass;
+
+		PooledReference(Buffer buffer, int sizeClass) {
+			super(buffer);
+			this.sizeClass = sizeClass;
+		}
+
+		@Override
+		protected void deallocate() {
+			free(this);
+		}
+	}
+}
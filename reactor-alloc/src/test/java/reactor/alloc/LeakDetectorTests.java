@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.alloc;
+
+import org.junit.Assert;
+import org.junit.Test;
+import reactor.core.support.ReactiveState;
+
+public class LeakDetectorTests {
+
+	@Test
+	public void unreleasedReferencesAreReported() throws InterruptedException {
+		LeakDetector detector = new LeakDetector(1d);
+		ReferenceCountingAllocator<ReactiveState.Recyclable> allocator =
+				new ReferenceCountingAllocator<>(2, () -> () -> {}, detector);
+
+		Reference<ReactiveState.Recyclable> released = allocator.allocate();
+		released.retain();
+		released.release(2);
+		Assert.assertEquals(0, detector.tracked());
+		released = null;
+
+		allocator.allocate();
+		Assert.assertEquals(1, detector.tracked());
+
+		for (int i = 0; i < 50 && detector.leaks() == 0L; i++) {
+			System.gc();
+			Thread.sleep(20);
+			detector.reportLeaks();
+		}
+		Assert.assertEquals(1L, detector.leaks());
+		Assert.assertEquals(0, detector.tracked());
+	}
+
+	@Test
+	public void disabledDetectorTracksNothing() {
+		LeakDetector detector = new LeakDetector(0d);
+		ReferenceCountingAllocator<ReactiveState.Recyclable> allocator =
+				new ReferenceCountingAllocator<>(2, () -> () -> {}, detector);
+
+		allocator.allocateBatch(10);
+		Assert.assertFalse(detector.isEnabled());
+		Assert.assertEquals(0, detector.tracked());
+	}
+}
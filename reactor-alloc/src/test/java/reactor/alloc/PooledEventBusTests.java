@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.alloc;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Assert;
+import org.junit.Test;
+import reactor.bus.Event;
+import reactor.core.processor.RingBufferProcessor;
+
+import static reactor.bus.selector.Selectors.$;
+
+public class PooledEventBusTests {
+
+	@Test
+	public void publishedEventsAreRecycledAfterRouting() {
+		PooledEventBus bus = new PooledEventBus();
+		Set<Event<?>> seen = Collections.newSetFromMap(new IdentityHashMap<Event<?>, Boolean>());
+		AtomicLong sum = new AtomicLong();
+
+		bus.on($("key"), (Event<Integer> ev) -> {
+			seen.add(ev);
+			sum.addAndGet(ev.getData());
+		});
+
+		for (int i = 1; i <= 100; i++) {
+			bus.publish("key", i);
+		}
+
+		Assert.assertEquals(5050L, sum.get());
+		Assert.assertEquals(1, seen.size());
+		Assert.assertNull(seen.iterator().next().getData());
+	}
+
+	@Test
+	public void publishedEventsAreRecycledThroughAProcessor() throws InterruptedException {
+		PooledEventBus bus = new PooledEventBus(RingBufferProcessor.create("pooled-bus", 64));
+		int count = 10_000;
+		CountDownLatch latch = new CountDownLatch(count);
+		Set<Event<?>> seen = Collections.newSetFromMap(new IdentityHashMap<Event<?>, Boolean>());
+
+		bus.on($("key"), (Event<String> ev) -> {
+			seen.add(ev);
+			if (ev.getData() != null) {
+				latch.countDown();
+			}
+		});
+
+		for (int i = 0; i < count; i++) {
+			bus.publish("key", "data");
+		}
+
+		Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+		Assert.assertTrue(seen.size() < count);
+		bus.getProcessor().onComplete();
+	}
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.alloc;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+import reactor.core.support.ReactiveState;
+
+public class ReferenceCountingAllocatorTests {
+
+	@Test
+	public void referencesAreNeverLeasedTwiceUnderContention() throws InterruptedException {
+		AtomicInteger recycled = new AtomicInteger();
+		ReferenceCountingAllocator<Lease> allocator = new ReferenceCountingAllocator<>(4, () -> new Lease(recycled));
+
+		int threads = 8;
+		int iterations = 20_000;
+		AtomicInteger doubleLeases = new AtomicInteger();
+		CountDownLatch latch = new CountDownLatch(threads);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		for (int t = 0; t < threads; t++) {
+			executor.execute(() -> {
+				for (int i = 0; i < iterations; i++) {
+					Reference<Lease> ref = allocator.allocate();
+					if (ref.getReferenceCount() != 1 || !ref.get().leased.compareAndSet(false, true)) {
+						doubleLeases.incrementAndGet();
+					}
+					ref.get().leased.set(false);
+					ref.release();
+				}
+				latch.countDown();
+			});
+		}
+
+		Assert.assertTrue(latch.await(30, TimeUnit.SECONDS));
+		executor.shutdown();
+		Assert.assertEquals(0, doubleLeases.get());
+		Assert.assertEquals(threads * iterations, recycled.get());
+		Assert.assertTrue(allocator.size() <= 4 + threads);
+	}
+
+	@Test
+	public void releasingTwiceRecyclesOnce() {
+		AtomicInteger recycled = new AtomicInteger();
+		ReferenceCountingAllocator<Lease> allocator = new ReferenceCountingAllocator<>(1, () -> new Lease(recycled));
+
+		List<Reference<Lease>> batch = allocator.allocateBatch(3);
+		Assert.assertEquals(3, allocator.size());
+
+		allocator.release(batch);
+		allocator.release(batch);
+		Assert.assertEquals(3, recycled.get());
+
+		Reference<Lease> ref = allocator.allocate();
+		Assert.assertEquals(1, ref.getReferenceCount());
+		Assert.assertEquals(3, allocator.size());
+	}
+
+	static final class Lease implements ReactiveState.Recyclable {
+
+		final AtomicBoolean leased = new AtomicBoolean();
+		final AtomicInteger recycled;
+
+		Lease(AtomicInteger recycled) {
+			this.recycled = recycled;
+		}
+
+		@Override
+		public void recycle() {
+			recycled.incrementAndGet();
+		}
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.io.buffer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+import reactor.alloc.Reference;
+
+public class PooledBufferAllocatorTests {
+
+	@Test
+	public void buffersAreRoundedToSizeClassesAndReused() {
+		PooledBufferAllocator allocator = new PooledBufferAllocator(false, 1024, 8192, 4, 2);
+
+		Reference<Buffer> small = allocator.allocate(10);
+		Assert.assertEquals(PooledBufferAllocator.MIN_BUFFER_SIZE, small.get().capacity());
+
+		Reference<Buffer> ref = allocator.allocate(3000);
+		Assert.assertEquals(4096, ref.get().capacity());
+		Buffer buffer = ref.get();
+		buffer.append("hello");
+		ref.release();
+
+		Reference<Buffer> reused = allocator.allocate(2049);
+		Assert.assertSame(buffer, reused.get());
+		Assert.assertEquals(0, reused.get().position());
+		Assert.assertEquals(4096, reused.get().limit());
+		Assert.assertEquals(1, reused.getReferenceCount());
+
+		Reference<Buffer> oversized = allocator.allocate(10000);
+		Assert.assertEquals(10000, oversized.get().capacity());
+		oversized.release();
+		Assert.assertEquals(-1, allocator.pooled(10000));
+	}
+
+	@Test
+	public void directBuffersAreAllocatedOffHeap() {
+		PooledBufferAllocator allocator = PooledBufferAllocator.direct();
+		Reference<Buffer> ref = allocator.allocate();
+		Assert.assertTrue(ref.get().byteBuffer().isDirect());
+		ref.release();
+	}
+
+	@Test
+	public void fullMagazinesAreSharedAcrossThreads() throws InterruptedException {
+		PooledBufferAllocator allocator = new PooledBufferAllocator(false, 1024, 8192, 4, 2);
+
+		List<Reference<Buffer>> refs = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			refs.add(allocator.allocate(1024));
+		}
+		allocator.release(refs);
+		// 4 cached by this thread, at most 2 full magazines in the shared pool, the rest dropped
+		Assert.assertEquals(8, allocator.pooled(1024));
+
+		List<Buffer> taken = new ArrayList<>();
+		CountDownLatch latch = new CountDownLatch(1);
+		new Thread(() -> {
+			for (int i = 0; i < 8; i++) {
+				taken.add(allocator.allocate(1024).get());
+			}
+			latch.countDown();
+		}).start();
+
+		Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+		Assert.assertEquals(0, allocator.pooled(1024));
+		for (Buffer b : taken) {
+			boolean found = false;
+			for (Reference<Buffer> ref : refs) {
+				found |= ref.get() == b;
+			}
+			Assert.assertTrue(found);
+		}
+	}
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.core.subscriber.LongSubscriber;
+import reactor.core.support.WaitStrategy;
+
+/**
+ * Shared fixtures for the JMH harnesses: a counting {@link Subscriber} that can be awaited from the benchmark thread
+ * and a lookup from benchmark parameter names to {@link WaitStrategy} instances.
+ */
+public final class BenchmarkSupport {
+
+	private BenchmarkSupport() {
+	}
+
+	/**
+	 * Resolve a {@link WaitStrategy} from its {@code @Param} name.
+	 *
+	 * @param name one of {@code blocking, liteBlocking, busySpin, yielding, sleeping, phasedOff, adaptive}
+	 * @return a fresh {@link WaitStrategy}
+	 */
+	public static WaitStrategy waitStrategy(String name) {
+		switch (name) {
+			case "blocking":
+				return new WaitStrategy.Blocking();
+			case "liteBlocking":
+				return new WaitStrategy.LiteBlocking();
+			case "busySpin":
+				return new WaitStrategy.BusySpin();
+			case "yielding":
+				return new WaitStrategy.YieldingWaitStrategy();
+			case "sleeping":
+				return new WaitStrategy.Sleeping();
+			case "phasedOff":
+				return WaitStrategy.PhasedOff.withLiteLock(200, 100, TimeUnit.MILLISECONDS);
+			case "adaptive":
+				return new WaitStrategy.Adaptive();
+			default:
+				throw new IllegalArgumentException("Unknown wait strategy " + name);
+		}
+	}
+
+	/**
+	 * Await until every given subscriber has received at least {@code count} values or one of them terminated with an
+	 * error.
+	 *
+	 * @param count       the minimum number of values each subscriber must have seen
+	 * @param subscribers the subscribers to observe
+	 */
+	public static void await(long count, CountingSubscriber<?>... subscribers) {
+		for (CountingSubscriber<?> subscriber : subscribers) {
+			subscriber.await(count);
+		}
+	}
+
+	/**
+	 * Await until the sum of the values received by the given subscribers reaches {@code count}, used with work
+	 * processors where values are distributed rather than broadcast.
+	 *
+	 * @param count       the total number of values expected
+	 * @param subscribers the subscribers to observe
+	 */
+	public static void awaitTotal(long count, CountingSubscriber<?>... subscribers) {
+		for (; ; ) {
+			long total = 0L;
+			for (CountingSubscriber<?> subscriber : subscribers) {
+				subscriber.checkError();
+				total += subscriber.count;
+			}
+			if (total >= count) {
+				return;
+			}
+			LockSupport.parkNanos(1L);
+		}
+	}
+
+	/**
+	 * A {@link Subscriber} requesting an unbounded demand and counting received values. The count is written by a
+	 * single thread and read by the benchmark thread.
+	 *
+	 * @param <T> the received type
+	 */
+	public static class CountingSubscriber<T> implements Subscriber<T> {
+
+		volatile long count;
+		static final AtomicLongFieldUpdater<CountingSubscriber> COUNT =
+				AtomicLongFieldUpdater.newUpdater(CountingSubscriber.class, "count");
+
+		volatile Throwable error;
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			s.request(Long.MAX_VALUE);
+		}
+
+		@Override
+		public void onNext(T t) {
+			COUNT.lazySet(this, count + 1L);
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			error = t;
+		}
+
+		@Override
+		public void onComplete() {
+		}
+
+		/**
+		 * @return the number of values received so far
+		 */
+		public long count() {
+			return count;
+		}
+
+		void await(long expected) {
+			while (count < expected) {
+				checkError();
+				LockSupport.parkNanos(1L);
+			}
+		}
+
+		void checkError() {
+			Throwable t = error;
+			if (t != null) {
+				throw new IllegalStateException("Benchmark subscriber failed", t);
+			}
+		}
+	}
+
+	/**
+	 * A {@link CountingSubscriber} receiving primitive values from
+	 * {@link reactor.core.processor.LongRingBufferProcessor} without boxing.
+	 */
+	public static final class LongCountingSubscriber extends CountingSubscriber<Long> implements LongSubscriber {
+
+		@Override
+		public void onNext(long value) {
+			COUNT.lazySet(this, count + 1L);
+		}
+	}
+}
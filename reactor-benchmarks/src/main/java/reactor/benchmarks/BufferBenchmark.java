@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.io.buffer.Buffer;
+
+/**
+ * Scanning and parsing cost of {@link Buffer}: single and multi-byte {@code split}, the allocation-free offsets
+ * {@code split}, {@code indexOf} and the numeric parsers, parameterized by the payload size and the average segment
+ * length. Splitting leaves the buffer positioned after the last complete segment so every invocation rewinds it first.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BufferBenchmark {
+
+	@Param({"1024", "65536"})
+	public int size;
+
+	@Param({"8", "128"})
+	public int segment;
+
+	Buffer            buffer;
+	Buffer            delimiter;
+	Buffer            number;
+	List<Buffer.View> views;
+	int[]             segments;
+
+	@Setup
+	public void setup() {
+		StringBuilder sb = new StringBuilder(size);
+		int i = 0;
+		while (sb.length() < size) {
+			sb.append((char) ('a' + (i++ % 26)));
+			if (i % segment == 0) {
+				sb.append("\r\n");
+			}
+		}
+		buffer = Buffer.wrap(sb.toString());
+		delimiter = Buffer.wrap("\r\n");
+		number = Buffer.wrap("1234567890123");
+		views = new ArrayList<Buffer.View>(size / segment + 1);
+		segments = new int[64];
+	}
+
+	@Benchmark
+	public List<Buffer.View> splitByte() {
+		return buffer.rewind().split('\n');
+	}
+
+	@Benchmark
+	public List<Buffer.View> splitByteReuse() {
+		views.clear();
+		return buffer.rewind().split(views, '\n', true);
+	}
+
+	@Benchmark
+	public int splitByteOffsets() {
+		buffer.rewind();
+		int total = 0;
+		int count;
+		while ((count = buffer.split(segments, '\n', true)) > 0) {
+			total += count;
+		}
+		return total;
+	}
+
+	@Benchmark
+	public Iterable<Buffer.View> splitDelimiter() {
+		return buffer.rewind().split(delimiter, true);
+	}
+
+	@Benchmark
+	public int indexOfLast() {
+		return buffer.rewind().indexOf((byte) '\u007f', 0, buffer.limit());
+	}
+
+	@Benchmark
+	public Long parseLong() {
+		return Buffer.parseLong(number);
+	}
+}
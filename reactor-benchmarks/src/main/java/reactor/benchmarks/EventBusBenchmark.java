@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.bus.Event;
+import reactor.bus.EventBus;
+import reactor.bus.registry.CachingRegistry;
+import reactor.bus.registry.Registration;
+import reactor.bus.registry.Registries;
+import reactor.bus.registry.Registry;
+import reactor.bus.selector.Selectors;
+import reactor.fn.Consumer;
+
+/**
+ * Synchronous {@link EventBus#notify(Object, Object)} routing cost through the default {@link CachingRegistry}
+ * (as picked by {@link Registries#create()}),
+ * parameterized by the number of registered consumers and the kind of {@link reactor.bus.selector.Selector} they
+ * use. The bus is created without a processor so the measurement isolates selection and routing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventBusBenchmark {
+
+	@Param({"10", "100", "1000"})
+	public int registrations;
+
+	@Param({"object", "uri"})
+	public String selector;
+
+	EventBus                 bus;
+	Registry<Object, Object> registry;
+	String[]                 keys;
+	Event<Integer>           event;
+	int                      next;
+
+	@Setup
+	@SuppressWarnings("unchecked")
+	public void setup(final Blackhole bh) {
+		bus = EventBus.create();
+		registry = Registries.create();
+		keys = new String[registrations];
+
+		Consumer<Event<Integer>> consumer = new Consumer<Event<Integer>>() {
+			@Override
+			public void accept(Event<Integer> ev) {
+				bh.consume(ev);
+			}
+		};
+
+		for (int i = 0; i < registrations; i++) {
+			if ("uri".equals(selector)) {
+				keys[i] = "/bench/" + i + "/item";
+				bus.on(Selectors.uri("/bench/" + i + "/{id}"), consumer);
+				registry.register(Selectors.uri("/bench/" + i + "/{id}"), consumer);
+			}
+			else {
+				keys[i] = "bench-" + i;
+				bus.on(Selectors.object(keys[i]), consumer);
+				registry.register(Selectors.object(keys[i]), consumer);
+			}
+		}
+		event = Event.wrap(1);
+		next = 0;
+	}
+
+	@Benchmark
+	public void notifyKey() {
+		bus.notify(nextKey(), event);
+	}
+
+	@Benchmark
+	public List<Registration<Object, ? extends Object>> registrySelect() {
+		return registry.select(nextKey());
+	}
+
+	String nextKey() {
+		int i = next;
+		next = i + 1 == keys.length ? 0 : i + 1;
+		return keys[i];
+	}
+}
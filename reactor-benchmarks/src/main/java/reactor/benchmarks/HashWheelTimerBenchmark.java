@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.support.ReactiveState;
+import reactor.core.timer.HashWheelTimer;
+import reactor.fn.Consumer;
+
+/**
+ * Schedule and cancel cost of {@link HashWheelTimer}, parameterized by wheel size and by the number of timeouts
+ * already pending in the wheel, which is what the tick thread has to walk through on every bucket.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashWheelTimerBenchmark {
+
+	static final Consumer<Long> NOOP = new Consumer<Long>() {
+		@Override
+		public void accept(Long aLong) {
+		}
+	};
+
+	@Param({"64", "512", "4096"})
+	public int wheelSize;
+
+	@Param({"0", "10000"})
+	public int pending;
+
+	@Param({"sleeping", "yielding"})
+	public String waitStrategy;
+
+	HashWheelTimer timer;
+
+	@Setup
+	public void setup() {
+		timer = new HashWheelTimer("bench-timer", 10, wheelSize, BenchmarkSupport.waitStrategy(waitStrategy), null);
+		timer.start();
+		for (int i = 0; i < pending; i++) {
+			timer.submit(NOOP, 1 + (i % 3600), TimeUnit.SECONDS);
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		timer.cancel();
+	}
+
+	@Benchmark
+	public void submitAndCancel() {
+		ReactiveState.Pausable p = timer.submit(NOOP, 1, TimeUnit.SECONDS);
+		p.cancel();
+	}
+
+	@Benchmark
+	public void scheduleAndCancel() {
+		ReactiveState.Pausable p = timer.schedule(NOOP, 50, TimeUnit.MILLISECONDS, 100);
+		p.cancel();
+	}
+}
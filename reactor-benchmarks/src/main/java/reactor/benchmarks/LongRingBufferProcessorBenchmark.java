@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.processor.LongRingBufferProcessor;
+import reactor.core.processor.RingBufferProcessor;
+
+/**
+ * Throughput of {@code long} samples broadcast to {@code subscribers} subscribers, comparing the boxed
+ * {@link RingBufferProcessor} to the primitive {@link LongRingBufferProcessor}. Run with {@code -prof gc} to compare
+ * allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LongRingBufferProcessorBenchmark {
+
+	static final int BATCH = 1024;
+
+	@Param({"liteBlocking", "busySpin"})
+	public String waitStrategy;
+
+	@Param({"8192"})
+	public int bufferSize;
+
+	@Param({"1", "4"})
+	public int subscribers;
+
+	RingBufferProcessor<Long>                    boxed;
+	LongRingBufferProcessor                      primitive;
+	BenchmarkSupport.CountingSubscriber<Long>[]  boxedCounters;
+	BenchmarkSupport.LongCountingSubscriber[]    primitiveCounters;
+	long                                         boxedProduced;
+	long                                         primitiveProduced;
+
+	@Setup
+	@SuppressWarnings("unchecked")
+	public void setup() {
+		boxed = RingBufferProcessor.create("bench-boxed", bufferSize, BenchmarkSupport.waitStrategy(waitStrategy));
+		primitive = LongRingBufferProcessor.create("bench-long", bufferSize,
+				BenchmarkSupport.waitStrategy(waitStrategy), true);
+		boxedCounters = new BenchmarkSupport.CountingSubscriber[subscribers];
+		primitiveCounters = new BenchmarkSupport.LongCountingSubscriber[subscribers];
+		for (int i = 0; i < subscribers; i++) {
+			boxedCounters[i] = new BenchmarkSupport.CountingSubscriber<Long>();
+			boxed.subscribe(boxedCounters[i]);
+			primitiveCounters[i] = new BenchmarkSupport.LongCountingSubscriber();
+			primitive.subscribe(primitiveCounters[i]);
+		}
+		boxedProduced = 0L;
+		primitiveProduced = 0L;
+	}
+
+	@TearDown
+	public void tearDown() {
+		boxed.onComplete();
+		boxed.forceShutdown();
+		primitive.onComplete();
+		primitive.forceShutdown();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public void boxedOnNext() {
+		long base = boxedProduced;
+		for (int i = 0; i < BATCH; i++) {
+			boxed.onNext(base + i);
+		}
+		boxedProduced += BATCH;
+		BenchmarkSupport.await(boxedProduced, boxedCounters);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public void primitiveOnNext() {
+		long base = primitiveProduced;
+		for (int i = 0; i < BATCH; i++) {
+			primitive.onNext(base + i);
+		}
+		primitiveProduced += BATCH;
+		BenchmarkSupport.await(primitiveProduced, primitiveCounters);
+	}
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.reactivestreams.Processor;
+import org.reactivestreams.Publisher;
+import reactor.Processors;
+import reactor.Publishers;
+import reactor.core.processor.ProcessorGroup;
+import reactor.core.support.WaitStrategy;
+import reactor.fn.Supplier;
+
+/**
+ * Throughput of {@link ProcessorGroup#dispatchOn()} and {@link ProcessorGroup#publishOn()} pipelines: each
+ * invocation runs {@code subscribers} independent sequences of {@code BATCH} values through a shared async group
+ * and waits for all of them to be consumed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProcessorGroupBenchmark {
+
+	static final int BATCH = 1024;
+
+	@Param({"liteBlocking", "busySpin", "yielding", "phasedOff", "adaptive"})
+	public String waitStrategy;
+
+	@Param({"256", "8192"})
+	public int bufferSize;
+
+	@Param({"1", "4"})
+	public int subscribers;
+
+	ProcessorGroup<Integer> group;
+	Publisher<Integer>      source;
+
+	@Setup
+	public void setup() {
+		final String strategy = waitStrategy;
+		group = Processors.asyncGroup("bench", bufferSize, subscribers, null, null, false,
+				new Supplier<WaitStrategy>() {
+					@Override
+					public WaitStrategy get() {
+						return BenchmarkSupport.waitStrategy(strategy);
+					}
+				});
+
+		List<Integer> values = new ArrayList<Integer>(BATCH);
+		for (int i = 0; i < BATCH; i++) {
+			values.add(i);
+		}
+		source = Publishers.from(values);
+	}
+
+	@TearDown
+	public void tearDown() {
+		group.shutdown();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public void dispatchOn() {
+		run(true);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public void publishOn() {
+		run(false);
+	}
+
+	@SuppressWarnings("unchecked")
+	void run(boolean dispatch) {
+		BenchmarkSupport.CountingSubscriber<Integer>[] counters = new BenchmarkSupport.CountingSubscriber[subscribers];
+		for (int i = 0; i < subscribers; i++) {
+			Processor<Integer, Integer> barrier = dispatch ? group.dispatchOn() : group.publishOn();
+			counters[i] = new BenchmarkSupport.CountingSubscriber<Integer>();
+			barrier.subscribe(counters[i]);
+			source.subscribe(barrier);
+		}
+		BenchmarkSupport.await(BATCH, counters);
+	}
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.benchmarks;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.processor.RingBufferProcessor;
+
+/**
+ * Throughput of {@link RingBufferProcessor} from a single publishing thread to {@code subscribers} broadcast subscribers, parameterized by
+ * {@link reactor.core.support.WaitStrategy} and ring buffer size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RingBufferProcessorBenchmark {
+
+	static final int     BATCH = 1024;
+	static final Integer VALUE = 1;
+
+	static final List<Integer> VALUES = Arrays.asList(new Integer[BATCH]);
+
+	static {
+		for (int i = 0; i < BATCH; i++) {
+			VALUES.set(i, VALUE);
+		}
+	}
+
+	@Param({"liteBlocking", "blocking", "busySpin", "yielding", "phasedOff", "adaptive"})
+	public String waitStrategy;
+
+	@Param({"256", "8192"})
+	public int bufferSize;
+
+	@Param({"1", "4"})
+	public int subscribers;
+
+	RingBufferProcessor<Integer>                   processor;
+	BenchmarkSupport.CountingSubscriber<Integer>[] counters;
+	long                                           produced;
+
+	@Setup
+	@SuppressWarnings("unchecked")
+	public void setup() {
+		processor = RingBufferProcessor.create("bench", bufferSize, BenchmarkSupport.waitStrategy(waitStrategy));
+		counters = new BenchmarkSupport.CountingSubscriber[subscribers];
+		for (int i = 0; i < subscribers; i++) {
+			counters[i] = new BenchmarkSupport.CountingSubscriber<Integer>();
+			processor.subscribe(counters[i]);
+		}
+		produced = 0L;
+	}
+
+	@TearDown
+	public void tearDown() {
+		processor.onComplete();
+		processor.forceShutdown();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public void onNext() {
+		for (int i = 0; i < BATCH; i++) {
+			processor.onNext(VALUE);
+		}
+		produced += BATCH;
+		BenchmarkSupport.await(produced, counters);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public void onNextBatch() {
+		processor.onNextBatch(VALUES);
+		produced += BATCH;
+		BenchmarkSupport.await(produced, counters);
+	}
+}
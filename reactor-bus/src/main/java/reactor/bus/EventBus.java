@@ -20,6 +20,7 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
@@ -37,7 +38,6 @@ import reactor.bus.registry.Registry;
 import reactor.bus.routing.Router;
 import reactor.bus.selector.ClassSelector;
 import reactor.bus.selector.Selector;
-import reactor.bus.selector.Selectors;
 import reactor.bus.spec.EventBusSpec;
 import reactor.core.subscription.SubscriptionWithContext;
 import reactor.core.support.Assert;
@@ -49,6 +49,8 @@ import reactor.fn.BiConsumer;
 import reactor.fn.Consumer;
 import reactor.fn.Function;
 import reactor.fn.Supplier;
+import reactor.rx.Promise;
+import reactor.rx.Promises;
 import reactor.rx.Stream;
 
 /**
@@ -68,6 +70,7 @@ public class EventBus extends AbstractBus<Object, Event<?>> implements Consumer<
                                                                        ReactiveState.FeedbackLoop {
 
 	private final Processor<Event<?>, Event<?>> processor;
+	final ReplyTable                            replies = new ReplyTable();
 
 	/**
 	 * Create a new {@link reactor.bus.spec.EventBusSpec} to configure a Reactor.
@@ -435,9 +438,9 @@ public class EventBus extends AbstractBus<Object, Event<?>> implements Consumer<
 	}
 
 	/**
-	 * Register the given {@link reactor.fn.Consumer} on an anonymous {@link reactor.bus.selector.Selector} and
-	 * set the given event's {@code replyTo} property to the corresponding anonymous key, then register the consumer to
-	 * receive replies from the {@link reactor.fn.Function} assigned to handle the given key.
+	 * Set the given event's {@code replyTo} property to a unique correlation key and notify it, the first reply sent
+	 * to that key by the {@link reactor.fn.Function} assigned to handle the given key is passed to the consumer.
+	 * Replies are matched by this bus reply table and never go through the consumer {@link Registry}.
 	 *
 	 * @param key   The key to be matched by {@link Selector Selectors}
 	 * @param event The event to notify.
@@ -445,17 +448,13 @@ public class EventBus extends AbstractBus<Object, Event<?>> implements Consumer<
 	 * @return {@literal this}
 	 */
 	public <T extends Event<?>> EventBus sendAndReceive(Object key, Event<?> event, Consumer<T> reply) {
-		Selector sel = Selectors.anonymous();
-		on(sel, reply).cancelAfterUse();
-		notify(key, event.setReplyTo(sel.getObject()));
+		notify(key, event.setReplyTo(replies.register(reply, null, 0L, null)));
 		return this;
 	}
 
 	/**
-	 * Register the given {@link reactor.fn.Consumer} on an anonymous {@link reactor.bus.selector.Selector} and
-	 * set the event's {@code replyTo} property to the corresponding anonymous key, then register the consumer to
-	 * receive
-	 * replies from the {@link reactor.fn.Function} assigned to handle the given key.
+	 * Set the supplied event's {@code replyTo} property to a unique correlation key and notify it, the first reply sent
+	 * to that key by the {@link reactor.fn.Function} assigned to handle the given key is passed to the consumer.
 	 *
 	 * @param key      The key to be matched by {@link Selector Selectors}
 	 * @param supplier The supplier to supply the event.
@@ -467,6 +466,31 @@ public class EventBus extends AbstractBus<Object, Event<?>> implements Consumer<
 		return sendAndReceive(key, supplier.get(), reply);
 	}
 
+	/**
+	 * Set the given event's {@code replyTo} property to a unique correlation key and notify it. The returned {@link
+	 * Promise} is fulfilled with the first reply sent to that key by the {@link reactor.fn.Function} assigned to
+	 * handle the given key. It fails with the error raised by that function, or with a {@link
+	 * java.util.concurrent.TimeoutException} if no reply arrives in time, the timeout being driven by the global
+	 * {@link reactor.core.timer.Timer}.
+	 *
+	 * @param key     The key to be matched by {@link Selector Selectors}
+	 * @param event   The event to notify.
+	 * @param timeout The time to wait for a reply, a non-positive value waits indefinitely.
+	 * @param unit    The unit of {@code timeout}.
+	 * @return a {@link Promise} of the reply
+	 * @since 2.1
+	 */
+	public <T extends Event<?>> Promise<T> sendAndReceive(Object key, Event<?> event, long timeout, TimeUnit unit) {
+		final Promise<T> promise = Promises.ready();
+		notify(key, event.setReplyTo(replies.register(promise, new Consumer<Throwable>() {
+			@Override
+			public void accept(Throwable throwable) {
+				promise.onError(throwable);
+			}
+		}, timeout, unit)));
+		return promise;
+	}
+
 	/**
 	 * Create an optimized path for publishing notifications to the given key.
 	 *
@@ -502,7 +526,7 @@ public class EventBus extends AbstractBus<Object, Event<?>> implements Consumer<
 	public void accept(Event<?> event) {
 		if (event.getClass() == ConsumerEvent.class) {
 			((ConsumerEvent) event).run();
-		} else {
+		} else if (!(event.getKey() instanceof ReplyTable.Key) || !((ReplyTable.Key) event.getKey()).reply(event)) {
 			route(event.getKey(), event);
 		}
 	}
@@ -645,6 +669,9 @@ public class EventBus extends AbstractBus<Object, Event<?>> implements Consumer<
 
 				replyToObservable.notify(ev.getReplyTo(), replyEv);
 			} catch (Throwable x) {
+				if (ev.getReplyTo() instanceof ReplyTable.Key) {
+					((ReplyTable.Key) ev.getReplyTo()).fail(x);
+				}
 				replyToObservable.notify(x.getClass(), Event.wrap(x));
 			}
 		}
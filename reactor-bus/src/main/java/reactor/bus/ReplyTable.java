@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.bus;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+import reactor.Timers;
+import reactor.core.support.ReactiveState;
+import reactor.core.timer.Timer;
+import reactor.fn.Consumer;
+import reactor.jarjar.jsr166e.ConcurrentHashMapV8;
+
+/**
+ * The reply path of an {@link EventBus}. Each request is given a unique {@link Key} as its {@code replyTo} and its
+ * callback is kept in a correlation table until the reply, a failure or a timeout removes it. Replies are matched
+ * here and never reach the consumer {@link reactor.bus.registry.Registry}.
+ *
+ * @since 2.1
+ */
+final class ReplyTable {
+
+	private final ConcurrentHashMapV8<Long, Pending> pending = new ConcurrentHashMapV8<Long, Pending>();
+
+	private volatile long nextId;
+	private static final AtomicLongFieldUpdater<ReplyTable> NEXT_ID =
+	  AtomicLongFieldUpdater.newUpdater(ReplyTable.class, "nextId");
+
+	/**
+	 * The timer driving the reply timeouts, or {@code null} to use the {@link Timers#global() global timer} current
+	 * at each registration so a timer unregistered in between is never reused.
+	 */
+	volatile Timer timer;
+
+	/**
+	 * Register a reply callback and return the key to use as the request's {@code replyTo}.
+	 *
+	 * @param onReply the callback for the reply {@link Event}
+	 * @param onError the callback for a failed or timed out request, may be {@code null}
+	 * @param timeout the time to wait for the reply, disabled if not positive
+	 * @param unit    the unit of {@code timeout}
+	 * @return the correlation key
+	 * @throws RuntimeException if the timer rejects the timeout, the callback is not registered then
+	 */
+	Key register(Consumer<? extends Event<?>> onReply, Consumer<Throwable> onError, long timeout, TimeUnit unit) {
+		Key key = new Key(this, NEXT_ID.incrementAndGet(this));
+		Pending p = new Pending(key, onReply, onError);
+		pending.put(key.id, p);
+		if (timeout > 0L) {
+			try {
+				p.timeout = timer().submit(p, timeout, unit);
+			}
+			catch (RuntimeException e) {
+				pending.remove(key.id);
+				throw e;
+			}
+		}
+		return key;
+	}
+
+	/**
+	 * @return the number of requests still waiting for a reply
+	 */
+	int size() {
+		return pending.size();
+	}
+
+	@SuppressWarnings("unchecked")
+	boolean reply(Key key, Event<?> ev) {
+		Pending p = pending.remove(key.id);
+		if (p == null) {
+			return false;
+		}
+		p.cancelTimeout();
+		((Consumer<Event<?>>) p.onReply).accept(ev);
+		return true;
+	}
+
+	boolean fail(Key key, Throwable error) {
+		Pending p = pending.remove(key.id);
+		if (p == null) {
+			return false;
+		}
+		p.cancelTimeout();
+		if (p.onError != null) {
+			p.onError.accept(error);
+		}
+		return true;
+	}
+
+	private Timer timer() {
+		Timer t = timer;
+		return t != null ? t : Timers.global();
+	}
+
+	/**
+	 * The {@code replyTo} key of a pending request.
+	 */
+	static final class Key {
+
+		final ReplyTable table;
+		final long       id;
+
+		Key(ReplyTable table, long id) {
+			this.table = table;
+			this.id = id;
+		}
+
+		boolean reply(Event<?> ev) {
+			return table.reply(this, ev);
+		}
+
+		boolean fail(Throwable error) {
+			return table.fail(this, error);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (o == null || getClass() != o.getClass()) {
+				return false;
+			}
+			Key key = (Key) o;
+			return id == key.id && table == key.table;
+		}
+
+		@Override
+		public int hashCode() {
+			return (int) (id ^ (id >>> 32));
+		}
+
+		@Override
+		public String toString() {
+			return "reply#" + id;
+		}
+	}
+
+	private final class Pending implements Consumer<Long> {
+
+		final Key                          key;
+		final Consumer<? extends Event<?>> onReply;
+		final Consumer<Throwable>          onError;
+
+		volatile ReactiveState.Pausable timeout;
+
+		Pending(Key key, Consumer<? extends Event<?>> onReply, Consumer<Throwable> onError) {
+			this.key = key;
+			this.onReply = onReply;
+			this.onError = onError;
+		}
+
+		void cancelTimeout() {
+			ReactiveState.Pausable t = timeout;
+			if (t != null) {
+				t.cancel();
+			}
+		}
+
+		@Override
+		public void accept(Long now) {
+			fail(key, new TimeoutException("No reply for " + key + " within the given timeout"));
+		}
+	}
+}
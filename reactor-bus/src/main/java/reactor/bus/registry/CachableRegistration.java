@@ -30,9 +30,9 @@ public class CachableRegistration<K, V> implements Registration<K, V>, ReactiveS
                                                    ReactiveState.Inner
                                                    {
 
-	private static final Selector<Void> NO_MATCH = new ObjectSelector<Void, Void>(null) {
+	private static final Selector<Object> NO_MATCH = new ObjectSelector<Object, Void>(null) {
 		@Override
-		public boolean matches(Void key) {
+		public boolean matches(Object key) {
 			return false;
 		}
 	};
@@ -16,23 +16,26 @@
 
 package reactor.bus.registry;
 
-import com.gs.collections.api.block.procedure.Procedure;
-import com.gs.collections.api.list.MutableList;
 import com.gs.collections.impl.list.mutable.FastList;
-import com.gs.collections.impl.list.mutable.MultiReaderFastList;
 import com.gs.collections.impl.map.mutable.UnifiedMap;
 import reactor.bus.selector.ObjectSelector;
 import reactor.bus.selector.Selector;
 import reactor.fn.Consumer;
 import reactor.jarjar.jsr166e.ConcurrentHashMapV8;
 
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.Map;
 
 /**
  * Implementation of {@link Registry} that uses a partitioned cache that partitions on thread
  * id.
+ * <p>
+ * Registrations are held in an immutable snapshot replaced on every change, so selecting never locks. Registrations
+ * of a plain {@link ObjectSelector} are indexed by their object and resolved with a single hash lookup, other
+ * selectors are scanned. A change only evicts the cached keys matched by the selector registered or removed.
  *
  * @author Jon Brisbin
  * @author Stephane Maldini
@@ -41,36 +44,44 @@ public class CachingRegistry<K, V> implements Registry<K, V> {
 
 	private final NewThreadLocalRegsFn newThreadLocalRegsFn = new NewThreadLocalRegsFn();
 
-	private final boolean                                                                           useCache;
-	private final boolean                                                                           cacheNotFound;
-	private final Consumer<K>                                                                       onNotFound;
-	private final MultiReaderFastList<Registration<K, ? extends V>>                                 registrations;
-	private final ConcurrentHashMapV8<Long, UnifiedMap<Object, List<Registration<K, ? extends V>>>> threadLocalCache;
+	private final Comparator<Slot> sequenceOrder = new Comparator<Slot>() {
+		@Override
+		public int compare(Slot o1, Slot o2) {
+			return o1.sequence < o2.sequence ? -1 : (o1.sequence == o2.sequence ? 0 : 1);
+		}
+	};
+
+	private final boolean     useCache;
+	private final boolean     cacheNotFound;
+	private final Consumer<K> onNotFound;
+
+	private final ConcurrentHashMapV8<Long, ConcurrentHashMapV8<Object, List<Registration<K, ? extends V>>>>
+	  threadLocalCache;
+
+	private volatile Snapshot snapshot = new Snapshot(UnifiedMap.<Object, FastList<Slot>>newMap(),
+	                                                  FastList.<Slot>newList(), 0);
+	private long sequence;
 
 	CachingRegistry(boolean useCache, boolean cacheNotFound, Consumer<K> onNotFound) {
 		this.useCache = useCache;
 		this.cacheNotFound = cacheNotFound;
 		this.onNotFound = onNotFound;
-		this.registrations = MultiReaderFastList.newList();
-		this.threadLocalCache = new ConcurrentHashMapV8<Long, UnifiedMap<Object, List<Registration<K, ? extends
-		  V>>>>();
+		this.threadLocalCache = new ConcurrentHashMapV8<Long, ConcurrentHashMapV8<Object, List<Registration<K, ?
+		  extends V>>>>();
 	}
 
 	@Override
 	public Registration<K, V> register(Selector<K> sel, V obj) {
 		RemoveRegistration removeFn = new RemoveRegistration();
 		final Registration<K, V> reg = new CachableRegistration<>(sel, obj, removeFn);
-		removeFn.reg = reg;
 
-		registrations.withWriteLockAndDelegate(new Procedure<MutableList<Registration<K, ? extends V>>>() {
-			@Override
-			public void value(MutableList<Registration<K, ? extends V>> regs) {
-				regs.add(reg);
-			}
-		});
-		if (useCache) {
-			threadLocalCache.clear();
+		Slot slot;
+		synchronized (this) {
+			slot = new Slot(sequence++, reg);
+			removeFn.slot = slot;
+			snapshot = snapshot.add(slot);
 		}
+		invalidate(slot);
 
 		return reg;
 	}
@@ -81,27 +92,22 @@ public class CachingRegistry<K, V> implements Registry<K, V> {
 	}
 
 	@Override
-	@SuppressWarnings("unchecked")
 	public boolean unregister(final K key) {
-		final AtomicBoolean modified = new AtomicBoolean(false);
-		registrations.withWriteLockAndDelegate(new Procedure<MutableList<Registration<K, ? extends V>>>() {
-			@Override
-			public void value(final MutableList<Registration<K, ? extends V>> regs) {
-				Iterator<Registration<K, ? extends V>> registrationIterator = regs.iterator();
-				Registration<K, ? extends V> reg;
-				while (registrationIterator.hasNext()) {
-					reg = registrationIterator.next();
-					if (reg.getSelector().matches(key)) {
-						registrationIterator.remove();
-						modified.compareAndSet(false, true);
-					}
-				}
-				if (useCache && modified.get()) {
-					threadLocalCache.clear();
+		List<Slot> removed = FastList.newList();
+		synchronized (this) {
+			Snapshot s = snapshot;
+			for (Slot slot : s.slots()) {
+				if (slot.reg.getSelector().matches(key)) {
+					s = s.remove(slot);
+					removed.add(slot);
 				}
 			}
-		});
-		return modified.get();
+			snapshot = s;
+		}
+		for (Slot slot : removed) {
+			invalidate(slot);
+		}
+		return !removed.isEmpty();
 	}
 
 	@Override
@@ -111,27 +117,27 @@ public class CachingRegistry<K, V> implements Registry<K, V> {
 
 	@Override
 	public List<Registration<K, ? extends V>> select(K key) {
+		Snapshot s = snapshot;
+
 		// use a thread-local cache
-		UnifiedMap<Object, List<Registration<K, ? extends V>>> allRegs = threadLocalRegs();
+		Map<Object, List<Registration<K, ? extends V>>> allRegs = useCache && null != key ? threadLocalRegs() : null;
 
 		// maybe pull Registrations from cache for this key
 		List<Registration<K, ? extends V>> selectedRegs = null;
-		if (useCache && (null != (selectedRegs = allRegs.get(key)))) {
+		if (null != allRegs && (null != (selectedRegs = allRegs.get(key)))) {
 			return selectedRegs;
 		}
 
 		// cache not used or cache miss
 		cacheMiss(key);
-		selectedRegs = FastList.newList();
+		selectedRegs = s.select(key);
 
-		// find Registrations based on Selector
-		for (Registration<K, ? extends V> reg : this) {
-			if (reg.getSelector().matches(key)) {
-				selectedRegs.add(reg);
-			}
-		}
-		if (useCache && (!selectedRegs.isEmpty() || cacheNotFound)) {
+		if (null != allRegs && (!selectedRegs.isEmpty() || cacheNotFound)) {
 			allRegs.put(key, selectedRegs);
+			// a concurrent change may have missed the entry just cached
+			if (s != snapshot) {
+				allRegs.remove(key);
+			}
 		}
 
 		// nothing found, maybe invoke handler
@@ -145,52 +151,185 @@ public class CachingRegistry<K, V> implements Registry<K, V> {
 
 	@Override
 	public void clear() {
-		registrations.clear();
+		synchronized (this) {
+			snapshot = new Snapshot(UnifiedMap.<Object, FastList<Slot>>newMap(), FastList.<Slot>newList(), 0);
+		}
 		threadLocalCache.clear();
 	}
 
 	@Override
 	public long size() {
-		return registrations.size();
+		return snapshot.size;
 	}
 
 	@Override
 	public Iterator<Registration<K, ? extends V>> iterator() {
-		return FastList.newList(registrations).iterator();
+		List<Registration<K, ? extends V>> regs = FastList.newList();
+		for (Slot slot : snapshot.slots()) {
+			regs.add(slot.reg);
+		}
+		return regs.iterator();
 	}
 
 	protected void cacheMiss(Object key) {
 	}
 
-	private UnifiedMap<Object, List<Registration<K, ? extends V>>> threadLocalRegs() {
+	@SuppressWarnings("unchecked")
+	private void invalidate(Slot slot) {
+		if (!useCache) {
+			return;
+		}
+		Selector<K> selector = slot.reg.getSelector();
+		for (ConcurrentHashMapV8<Object, List<Registration<K, ? extends V>>> regs : threadLocalCache.values()) {
+			if (slot.indexed) {
+				regs.remove(selector.getObject());
+				continue;
+			}
+			for (Object key : regs.keySet()) {
+				boolean matches;
+				try {
+					matches = selector.matches((K) key);
+				}
+				catch (RuntimeException e) {
+					matches = true;
+				}
+				if (matches) {
+					regs.remove(key);
+				}
+			}
+		}
+	}
+
+	private ConcurrentHashMapV8<Object, List<Registration<K, ? extends V>>> threadLocalRegs() {
 		Long threadId = Thread.currentThread().getId();
-		UnifiedMap<Object, List<Registration<K, ? extends V>>> regs;
+		ConcurrentHashMapV8<Object, List<Registration<K, ? extends V>>> regs;
 		if (null == (regs = threadLocalCache.get(threadId))) {
 			regs = threadLocalCache.computeIfAbsent(threadId, newThreadLocalRegsFn);
 		}
 		return regs;
 	}
 
+	private final class Slot {
+		final long                         sequence;
+		final Registration<K, ? extends V> reg;
+		final boolean                      indexed;
+
+		Slot(long sequence, Registration<K, ? extends V> reg) {
+			this.sequence = sequence;
+			this.reg = reg;
+			Selector<K> selector = reg.getSelector();
+			this.indexed = selector.getClass() == ObjectSelector.class && null != selector.getObject();
+		}
+	}
+
+	/**
+	 * An immutable view of the registrations: exact keys are indexed, in registration order for a given key, and the
+	 * other selectors are kept in registration order.
+	 */
+	private final class Snapshot {
+		final UnifiedMap<Object, FastList<Slot>> exact;
+		final FastList<Slot>                     scanned;
+		final int                                size;
+
+		Snapshot(UnifiedMap<Object, FastList<Slot>> exact, FastList<Slot> scanned, int size) {
+			this.exact = exact;
+			this.scanned = scanned;
+			this.size = size;
+		}
+
+		Snapshot add(Slot slot) {
+			if (slot.indexed) {
+				Object key = slot.reg.getSelector().getObject();
+				FastList<Slot> slots = exact.get(key);
+				slots = null == slots ? FastList.<Slot>newList(1) : FastList.newList(slots);
+				slots.add(slot);
+				UnifiedMap<Object, FastList<Slot>> newExact = UnifiedMap.newMap(exact);
+				newExact.put(key, slots);
+				return new Snapshot(newExact, scanned, size + 1);
+			}
+			FastList<Slot> newScanned = FastList.newList(scanned);
+			newScanned.add(slot);
+			return new Snapshot(exact, newScanned, size + 1);
+		}
+
+		Snapshot remove(Slot slot) {
+			if (slot.indexed) {
+				Object key = slot.reg.getSelector().getObject();
+				FastList<Slot> slots = exact.get(key);
+				if (null == slots || !slots.contains(slot)) {
+					return this;
+				}
+				UnifiedMap<Object, FastList<Slot>> newExact = UnifiedMap.newMap(exact);
+				if (slots.size() == 1) {
+					newExact.remove(key);
+				}
+				else {
+					slots = FastList.newList(slots);
+					slots.remove(slot);
+					newExact.put(key, slots);
+				}
+				return new Snapshot(newExact, scanned, size - 1);
+			}
+			if (!scanned.contains(slot)) {
+				return this;
+			}
+			FastList<Slot> newScanned = FastList.newList(scanned);
+			newScanned.remove(slot);
+			return new Snapshot(exact, newScanned, size - 1);
+		}
+
+		List<Registration<K, ? extends V>> select(K key) {
+			FastList<Slot> slots = null != key ? exact.get(key) : null;
+			List<Registration<K, ? extends V>> regs = FastList.newList();
+			int i = 0;
+			for (Slot slot : scanned) {
+				if (!slot.reg.getSelector().matches(key)) {
+					continue;
+				}
+				while (null != slots && i < slots.size() && slots.get(i).sequence < slot.sequence) {
+					regs.add(slots.get(i++).reg);
+				}
+				regs.add(slot.reg);
+			}
+			while (null != slots && i < slots.size()) {
+				regs.add(slots.get(i++).reg);
+			}
+			return regs;
+		}
+
+		List<Slot> slots() {
+			FastList<Slot> slots = FastList.newList(size);
+			for (FastList<Slot> keySlots : exact.values()) {
+				slots.addAll(keySlots);
+			}
+			slots.addAll(scanned);
+			Collections.sort(slots, sequenceOrder);
+			return slots;
+		}
+	}
+
 	private final class RemoveRegistration implements Runnable {
-		Registration<K, ? extends V> reg;
+		Slot slot;
 
 		@Override
 		public void run() {
-			registrations.withWriteLockAndDelegate(new Procedure<MutableList<Registration<K, ? extends V>>>() {
-				@Override
-				public void value(MutableList<Registration<K, ? extends V>> regs) {
-					regs.remove(reg);
-					threadLocalCache.clear();
-				}
-			});
+			boolean removed;
+			synchronized (CachingRegistry.this) {
+				Snapshot s = snapshot;
+				snapshot = s.remove(slot);
+				removed = s != snapshot;
+			}
+			if (removed) {
+				invalidate(slot);
+			}
 		}
 	}
 
 	private final class NewThreadLocalRegsFn
-	  implements ConcurrentHashMapV8.Fun<Long, UnifiedMap<Object, List<Registration<K, ? extends V>>>> {
+	  implements ConcurrentHashMapV8.Fun<Long, ConcurrentHashMapV8<Object, List<Registration<K, ? extends V>>>> {
 		@Override
-		public UnifiedMap<Object, List<Registration<K, ? extends V>>> apply(Long aLong) {
-			return UnifiedMap.newMap();
+		public ConcurrentHashMapV8<Object, List<Registration<K, ? extends V>>> apply(Long aLong) {
+			return new ConcurrentHashMapV8<Object, List<Registration<K, ? extends V>>>();
 		}
 	}
 
@@ -0,0 +1,312 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.bus.registry;
+
+import reactor.bus.selector.ObjectSelector;
+import reactor.bus.selector.Selector;
+import reactor.bus.selector.UriPathSelector;
+import reactor.bus.selector.UriSelector;
+import reactor.fn.Consumer;
+import reactor.jarjar.jsr166e.ConcurrentHashMapV8;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link Registry} indexing {@link UriPathSelector} templates in a trie of path segments and {@link UriSelector} by
+ * path, so a key is resolved in a time proportional to its path depth rather than to the number of registrations.
+ * <p>
+ * A template is indexed when each of its segments is either a literal free of regular expression characters, a whole
+ * segment <code>{var}</code> capture or a trailing <code>**</code> or <code>{var}**</code> splat. Any other template
+ * and any other {@link Selector} is scanned on every {@link #select(Object)}, as in {@link CachingRegistry}. Selected
+ * {@link Registration}s are returned in registration order.
+ *
+ * @since 2.1
+ */
+public class PathTrieRegistry<K, V> implements Registry<K, V> {
+
+	private final Comparator<Entry> sequenceOrder = new Comparator<Entry>() {
+		@Override
+		public int compare(Entry o1, Entry o2) {
+			return o1.sequence < o2.sequence ? -1 : (o1.sequence == o2.sequence ? 0 : 1);
+		}
+	};
+
+	private final Consumer<K>                       onNotFound;
+	private final AtomicLong                        sequence = new AtomicLong();
+	private final ConcurrentSkipListMap<Long, Entry> entries  = new ConcurrentSkipListMap<Long, Entry>();
+
+	private volatile Index index = new Index();
+
+	PathTrieRegistry(Consumer<K> onNotFound) {
+		this.onNotFound = onNotFound;
+	}
+
+	@Override
+	public Registration<K, V> register(Selector<K> sel, V obj) {
+		final Entry entry = new Entry(sequence.getAndIncrement());
+		Registration<K, V> reg = new CachableRegistration<>(sel, obj, new Runnable() {
+			@Override
+			public void run() {
+				remove(entry);
+			}
+		});
+		entry.registration = reg;
+		synchronized (this) {
+			entries.put(entry.sequence, entry);
+			index.add(entry);
+		}
+		return reg;
+	}
+
+	@Override
+	public Registration<K, V> register(K sel, V obj) {
+		return register(new ObjectSelector<K, K>(sel), obj);
+	}
+
+	@Override
+	public synchronized boolean unregister(K key) {
+		boolean found = false;
+		for (Entry entry : entries.values()) {
+			if (entry.registration.getSelector().matches(key)) {
+				remove(entry);
+				found = true;
+			}
+		}
+		return found;
+	}
+
+	@Override
+	public List<Registration<K, ? extends V>> select(K key) {
+		Index index = this.index;
+		List<Entry> selected = new ArrayList<Entry>();
+		index.collect(key, selected);
+		for (Entry entry : index.unindexed) {
+			if (entry.registration.getSelector().matches(key)) {
+				selected.add(entry);
+			}
+		}
+
+		if (selected.size() > 1) {
+			Collections.sort(selected, sequenceOrder);
+		}
+		List<Registration<K, ? extends V>> regs = new ArrayList<Registration<K, ? extends V>>(selected.size());
+		for (Entry entry : selected) {
+			regs.add(entry.registration);
+		}
+
+		if (regs.isEmpty() && null != onNotFound) {
+			onNotFound.accept(key);
+		}
+		return regs;
+	}
+
+	@Override
+	public Iterable<? extends V> selectValues(K key) {
+		return SimpleCachingRegistry.selectValues(this, key);
+	}
+
+	@Override
+	public synchronized void clear() {
+		entries.clear();
+		index = new Index();
+	}
+
+	@Override
+	public long size() {
+		return entries.size();
+	}
+
+	@Override
+	public Iterator<Registration<K, ? extends V>> iterator() {
+		List<Registration<K, ? extends V>> regs = new ArrayList<Registration<K, ? extends V>>(entries.size());
+		for (Entry entry : entries.values()) {
+			regs.add(entry.registration);
+		}
+		return regs.iterator();
+	}
+
+	private synchronized void remove(Entry entry) {
+		if (null != entries.remove(entry.sequence) && null != entry.owner) {
+			entry.owner.remove(entry);
+		}
+	}
+
+	/**
+	 * Split a template into its segments if each of them can be matched without the template regular expression.
+	 *
+	 * @return the segments or null if the template should be scanned
+	 */
+	static String[] indexableSegments(String template) {
+		String[] segments = template.split("/", -1);
+		for (int i = 0; i < segments.length; i++) {
+			String segment = segments[i];
+			if (isSplat(segment)) {
+				if (i != segments.length - 1) {
+					return null;
+				}
+			}
+			else if (!isCapture(segment) && !isLiteral(segment)) {
+				return null;
+			}
+		}
+		return segments;
+	}
+
+	static boolean isSplat(String segment) {
+		return "**".equals(segment) || (segment.endsWith("**") && isCapture(segment.substring(0, segment.length() - 2)));
+	}
+
+	static boolean isCapture(String segment) {
+		return segment.length() > 2
+				&& segment.charAt(0) == '{'
+				&& segment.indexOf('}') == segment.length() - 1
+				&& segment.lastIndexOf('{') == 0;
+	}
+
+	private static boolean isLiteral(String segment) {
+		for (int i = 0; i < segment.length(); i++) {
+			if ("\\.[]{}()*+?^$|".indexOf(segment.charAt(i)) != -1) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private final class Node {
+		final ConcurrentHashMapV8<String, Node> literals = new ConcurrentHashMapV8<String, Node>();
+		final List<Entry>                      exact    = new CopyOnWriteArrayList<Entry>();
+		final List<Entry>                      splats   = new CopyOnWriteArrayList<Entry>();
+
+		volatile Node capture;
+	}
+
+	private final class Entry {
+		final long sequence;
+
+		Registration<K, ? extends V> registration;
+		List<Entry>                  owner;
+
+		Entry(long sequence) {
+			this.sequence = sequence;
+		}
+	}
+
+	private final class Index {
+		final Node                                     root      = new Node();
+		final ConcurrentHashMapV8<String, List<Entry>> uriPaths  = new ConcurrentHashMapV8<String, List<Entry>>();
+		final List<Entry>                              unindexed = new CopyOnWriteArrayList<Entry>();
+
+		void add(Entry entry) {
+			Selector<K> selector = entry.registration.getSelector();
+			if (selector.getClass() == UriPathSelector.class) {
+				String[] segments = indexableSegments(((UriPathSelector) selector).getObject().getPattern());
+				if (null != segments) {
+					addTemplate(entry, segments);
+					return;
+				}
+			}
+			else if (selector.getClass() == UriSelector.class) {
+				String path = ((UriSelector) selector).getObject().getPath();
+				if (null != path && !"/*".equals(path)) {
+					List<Entry> entries = uriPaths.get(path);
+					if (null == entries) {
+						entries = new CopyOnWriteArrayList<Entry>();
+						uriPaths.put(path, entries);
+					}
+					entry.owner = entries;
+					entries.add(entry);
+					return;
+				}
+			}
+			entry.owner = unindexed;
+			unindexed.add(entry);
+		}
+
+		private void addTemplate(Entry entry, String[] segments) {
+			Node node = root;
+			for (String segment : segments) {
+				if (isSplat(segment)) {
+					entry.owner = node.splats;
+					node.splats.add(entry);
+					return;
+				}
+				Node next;
+				if (isCapture(segment)) {
+					if (null == (next = node.capture)) {
+						next = node.capture = new Node();
+					}
+				}
+				else if (null == (next = node.literals.get(segment))) {
+					next = new Node();
+					node.literals.put(segment, next);
+				}
+				node = next;
+			}
+			entry.owner = node.exact;
+			node.exact.add(entry);
+		}
+
+		void collect(K key, List<Entry> selected) {
+			if (!(key instanceof String) && !(key instanceof URI)) {
+				return;
+			}
+			if (key instanceof String) {
+				collect(root, ((String) key).split("/", -1), 0, selected);
+			}
+			if (!uriPaths.isEmpty()) {
+				URI uri = key instanceof URI ? (URI) key : URI.create((String) key);
+				if (null != uri.getPath()) {
+					List<Entry> entries = uriPaths.get(uri.getPath());
+					if (null != entries) {
+						for (Entry entry : entries) {
+							if (entry.registration.getSelector().matches(key)) {
+								selected.add(entry);
+							}
+						}
+					}
+				}
+			}
+		}
+
+		private void collect(Node node, String[] segments, int depth, List<Entry> selected) {
+			if (depth < segments.length) {
+				selected.addAll(node.splats);
+			}
+			else {
+				selected.addAll(node.exact);
+				return;
+			}
+			String segment = segments[depth];
+			Node child = node.literals.get(segment);
+			if (null != child) {
+				collect(child, segments, depth + 1, selected);
+			}
+			child = node.capture;
+			if (null != child && segment.indexOf('.') == -1) {
+				collect(child, segments, depth + 1, selected);
+			}
+		}
+	}
+}
@@ -49,4 +49,18 @@ public abstract class Registries {
 		}
 	}
 
+	/**
+	 * Create a {@link Registry} resolving URI path templates with a trie of path segments instead of matching every
+	 * registration.
+	 *
+	 * @param onNotFound the callback invoked when no registration is selected, or null
+	 * @param <K> the type of objects that can be matched
+	 * @param <V> the type of objects that can be registered
+	 * @return a new {@link PathTrieRegistry}
+	 * @see PathTrieRegistry
+	 */
+	public static <K, V> Registry<K, V> createPathTrie(Consumer<K> onNotFound) {
+		return new PathTrieRegistry<K, V>(onNotFound);
+	}
+
 }
@@ -27,48 +27,57 @@ import java.util.Iterator;
 import java.util.List;
 
 /**
- * A naive caching Registry implementation for use in situations that the default {@code CachingRegistry} can't be used
- * due to its reliance on the gs-collections library. Not designed for high throughput but for use on things like
- * handheld devices, where the synchronized nature of the registry won't affect performance much.
+ * A caching Registry implementation for use in situations that the default {@code CachingRegistry} can't be used
+ * due to its reliance on the gs-collections library.
+ * <p>
+ * Registrations are held in an immutable list replaced on every change and selected keys are cached in a concurrent
+ * map, so selecting never locks. The cache holds at most {@link #DEFAULT_MAX_CACHE_SIZE} keys by default, arbitrary
+ * keys being evicted when it is full, and a change only evicts the cached keys matched by the selector registered or
+ * removed.
  */
 public class SimpleCachingRegistry<K, V> implements Registry<K, V> {
 
-	private final ConcurrentHashMapV8<Object, List<Registration<K, ? extends V>>>      cache         = new
-	  ConcurrentHashMapV8<>();
-	private final ConcurrentHashMapV8<Selector<K>, List<Registration<K, ? extends V>>> registrations = new
+	/**
+	 * The default maximum number of keys cached
+	 */
+	public static final int DEFAULT_MAX_CACHE_SIZE = 2048;
+
+	private final ConcurrentHashMapV8<Object, List<Registration<K, ? extends V>>> cache = new
 	  ConcurrentHashMapV8<>();
 
 	private final boolean     useCache;
 	private final boolean     cacheNotFound;
 	private final Consumer<K> onNotFound;
+	private final int         maxCacheSize;
+
+	private volatile List<Registration<K, ? extends V>> registrations = Collections.emptyList();
 
 	SimpleCachingRegistry(boolean useCache, boolean cacheNotFound, Consumer<K> onNotFound) {
+		this(useCache, cacheNotFound, onNotFound, DEFAULT_MAX_CACHE_SIZE);
+	}
+
+	SimpleCachingRegistry(boolean useCache, boolean cacheNotFound, Consumer<K> onNotFound, int maxCacheSize) {
+		if (maxCacheSize <= 0) {
+			throw new IllegalArgumentException("maxCacheSize must be strictly positive");
+		}
 		this.useCache = useCache;
 		this.cacheNotFound = cacheNotFound;
 		this.onNotFound = onNotFound;
+		this.maxCacheSize = maxCacheSize;
 	}
 
 	@Override
-	public synchronized Registration<K, V> register(final Selector<K> sel, V obj) {
-		List<Registration<K, ? extends V>> regs;
-		if (null == (regs = registrations.get(sel))) {
-			regs = registrations.computeIfAbsent(sel,
-			  new ConcurrentHashMapV8.Fun<Selector<K>, List<Registration<K, ? extends V>>>() {
-				  @Override
-				  public List<Registration<K, ? extends V>> apply(Selector<K> selector) {
-					  return new ArrayList<Registration<K, ? extends V>>();
-				  }
-			  });
+	public Registration<K, V> register(final Selector<K> sel, V obj) {
+		RemoveRegistration removeFn = new RemoveRegistration();
+		Registration<K, V> reg = new CachableRegistration<>(sel, obj, removeFn);
+		removeFn.reg = reg;
+
+		synchronized (this) {
+			List<Registration<K, ? extends V>> regs = new ArrayList<Registration<K, ? extends V>>(registrations);
+			regs.add(reg);
+			registrations = regs;
 		}
-
-		Registration<K, V> reg = new CachableRegistration<>(sel, obj, new Runnable() {
-			@Override
-			public void run() {
-				registrations.remove(sel);
-				cache.clear();
-			}
-		});
-		regs.add(reg);
+		invalidate(sel);
 
 		return reg;
 	}
@@ -79,45 +88,58 @@ public class SimpleCachingRegistry<K, V> implements Registry<K, V> {
 	}
 
 	@Override
-	@SuppressWarnings("unchecked")
-	public synchronized boolean unregister(Object key) {
-		boolean found = false;
-		for (Selector sel : registrations.keySet()) {
-			if (!sel.matches(key)) {
-				continue;
+	public boolean unregister(K key) {
+		List<Registration<K, ? extends V>> removed = new ArrayList<Registration<K, ? extends V>>();
+		synchronized (this) {
+			List<Registration<K, ? extends V>> regs = new ArrayList<Registration<K, ? extends V>>();
+			for (Registration<K, ? extends V> reg : registrations) {
+				if (reg.getSelector().matches(key)) {
+					removed.add(reg);
+				}
+				else {
+					regs.add(reg);
+				}
 			}
-			if (null != registrations.remove(sel) && !found) {
-				found = true;
+			if (removed.isEmpty()) {
+				return false;
 			}
+			registrations = regs;
+		}
+		for (Registration<K, ? extends V> reg : removed) {
+			invalidate(reg.getSelector());
 		}
-		if (useCache)
-			cache.remove(key);
-		return found;
+		return true;
 	}
 
 	@Override
-	@SuppressWarnings("unchecked")
-	public synchronized List<Registration<K, ? extends V>> select(final K key) {
+	public List<Registration<K, ? extends V>> select(final K key) {
+		List<Registration<K, ? extends V>> snapshot = registrations;
+		boolean cacheable = useCache && null != key;
+
 		List<Registration<K, ? extends V>> selectedRegs;
-		if (null != (selectedRegs = cache.get(key))) {
+		if (cacheable && null != (selectedRegs = cache.get(key))) {
 			return selectedRegs;
 		}
 
 		final List<Registration<K, ? extends V>> regs = new ArrayList<Registration<K, ? extends V>>();
-		registrations.forEach(new ConcurrentHashMapV8.BiAction<Selector<K>, List<Registration<K, ? extends V>>>() {
-			@Override
-			public void apply(Selector<K> selector, List<Registration<K, ? extends V>> registrations) {
-				if (selector.matches(key)) {
-					regs.addAll(registrations);
-				}
+		for (Registration<K, ? extends V> reg : snapshot) {
+			if (!reg.isCancelled() && reg.getSelector().matches(key)) {
+				regs.add(reg);
 			}
-		});
+		}
 
 		if (regs.isEmpty() && null != onNotFound) {
 			onNotFound.accept(key);
 		}
-		if (useCache && (!regs.isEmpty() || cacheNotFound)) {
+		if (cacheable && (!regs.isEmpty() || cacheNotFound)) {
+			if (cache.size() >= maxCacheSize) {
+				evict();
+			}
 			cache.put(key, regs);
+			// a concurrent change may have missed the entry just cached
+			if (snapshot != registrations) {
+				cache.remove(key);
+			}
 		}
 
 		return regs;
@@ -155,27 +177,75 @@ public class SimpleCachingRegistry<K, V> implements Registry<K, V> {
 		return registrations.size();
 	}
 
+	/**
+	 * @return the number of keys currently cached
+	 */
+	int cacheSize() {
+		return cache.size();
+	}
+
 	@Override
 	public Iterable<? extends V> selectValues(final K key) {
 		return selectValues(this, key);
 	}
 
 	@Override
-	public synchronized void clear() {
+	public void clear() {
+		synchronized (this) {
+			registrations = Collections.emptyList();
+		}
 		cache.clear();
-		registrations.clear();
 	}
 
 	@Override
-	public synchronized Iterator<Registration<K, ? extends V>> iterator() {
-		final List<Registration<K, ? extends V>> regs = new ArrayList<Registration<K, ? extends V>>();
-		registrations.forEach(new ConcurrentHashMapV8.BiAction<Selector<K>, List<Registration<K, ? extends V>>>() {
-			@Override
-			public void apply(Selector<K> selector, List<Registration<K, ? extends V>> registrations) {
-				regs.addAll(registrations);
+	public Iterator<Registration<K, ? extends V>> iterator() {
+		return Collections.unmodifiableList(registrations).iterator();
+	}
+
+	@SuppressWarnings("unchecked")
+	private void invalidate(Selector<K> selector) {
+		if (!useCache) {
+			return;
+		}
+		for (Object key : cache.keySet()) {
+			boolean matches;
+			try {
+				matches = selector.matches((K) key);
+			}
+			catch (RuntimeException e) {
+				matches = true;
+			}
+			if (matches) {
+				cache.remove(key);
 			}
-		});
-		return regs.iterator();
+		}
+	}
+
+	private void evict() {
+		int excess = cache.size() - maxCacheSize + 1;
+		Iterator<Object> keys = cache.keySet().iterator();
+		while (excess-- > 0 && keys.hasNext()) {
+			keys.next();
+			keys.remove();
+		}
+	}
+
+	private final class RemoveRegistration implements Runnable {
+		Registration<K, ? extends V> reg;
+
+		@Override
+		public void run() {
+			synchronized (SimpleCachingRegistry.this) {
+				int index = registrations.indexOf(reg);
+				if (index == -1) {
+					return;
+				}
+				List<Registration<K, ? extends V>> regs = new ArrayList<Registration<K, ? extends V>>(registrations);
+				regs.remove(index);
+				registrations = regs;
+			}
+			invalidate(reg.getSelector());
+		}
 	}
 
 }
@@ -16,8 +16,11 @@
 
 package reactor.bus.selector;
 
+import reactor.jarjar.jsr166e.ConcurrentHashMapV8;
+
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
@@ -26,6 +29,10 @@ import java.util.regex.Pattern;
 /**
  * Represents a URI template. A URI template is a URI-like String that contains variables enclosed by braces
  * (<code>{</code>, <code>}</code>), which can be expanded to produce an actual URI.
+ * <p>
+ * Templates made of literal segments, whole segment <code>{var}</code> captures and a trailing <code>**</code> or
+ * <code>{var}**</code> splat are matched segment by segment, other templates with a regular expression. The path
+ * parameters of the last matched uris are kept in a bounded cache.
  *
  * @author Arjen Poutsma
  * @author Juergen Hoeller
@@ -34,6 +41,11 @@ import java.util.regex.Pattern;
  */
 public class UriPathTemplate {
 
+	/**
+	 * The default maximum number of uris whose path parameters are cached
+	 */
+	public static final int DEFAULT_CACHE_SIZE = 256;
+
 	private static final Pattern FULL_SPLAT_PATTERN     = Pattern.compile("[\\*][\\*]");
 	private static final String  FULL_SPLAT_REPLACEMENT = ".*";
 
@@ -47,11 +59,20 @@ public class UriPathTemplate {
 	private static final String  NAME_REPLACEMENT = "(?<%NAME%>[^\\/.]*)";
 	//private static final String  NAME_REPLACEMENT = "([^\\/.]*)";
 
-	private final List<String>                         pathVariables = new ArrayList<String>();
-	private final HashMap<String, Matcher>             matchers      = new HashMap<String, Matcher>();
-	private final HashMap<String, Map<String, Object>> vars          = new HashMap<String, Map<String, Object>>();
+	private static final String REGEX_CHARACTERS = "\\.[]{}()*+?^$|";
+
+	private final List<String>                                  pathVariables = new ArrayList<String>();
+	private final ConcurrentHashMapV8<String, Map<String, Object>> vars          =
+	  new ConcurrentHashMapV8<String, Map<String, Object>>();
 
+	private final String  pattern;
 	private final Pattern uriPattern;
+	private final int     maxCacheSize;
+
+	// segment matcher, null segments if the template needs the regular expression
+	private final String[] segments;
+	private final String[] segmentVariables;
+	private final boolean  splat;
 
 	/**
 	 * Creates a new {@code UriPathTemplate} from the given {@code uriPattern}.
@@ -59,6 +80,22 @@ public class UriPathTemplate {
 	 * @param uriPattern The pattern to be used by the template
 	 */
 	public UriPathTemplate(String uriPattern) {
+		this(uriPattern, DEFAULT_CACHE_SIZE);
+	}
+
+	/**
+	 * Creates a new {@code UriPathTemplate} from the given {@code uriPattern}, caching the path parameters of at most
+	 * {@code maxCacheSize} uris.
+	 *
+	 * @param uriPattern   The pattern to be used by the template
+	 * @param maxCacheSize The maximum number of uris whose path parameters are cached
+	 */
+	public UriPathTemplate(String uriPattern, int maxCacheSize) {
+		if (maxCacheSize < 0) {
+			throw new IllegalArgumentException("maxCacheSize must be positive");
+		}
+		this.pattern = uriPattern;
+		this.maxCacheSize = maxCacheSize;
 		String s = "^" + uriPattern;
 
 		Matcher m = NAME_SPLAT_PATTERN.matcher(s);
@@ -88,6 +125,39 @@ public class UriPathTemplate {
 		}
 
 		this.uriPattern = Pattern.compile(s + "$");
+
+		String[] segments = uriPattern.split("/", -1);
+		String[] segmentVariables = new String[segments.length];
+		boolean splat = false;
+		for (int i = 0; null != segments && i < segments.length; i++) {
+			String segment = segments[i];
+			if (i == segments.length - 1 && segment.endsWith("**")) {
+				String name = segment.substring(0, segment.length() - 2);
+				if (name.isEmpty() || isCapture(name)) {
+					splat = true;
+					segmentVariables[i] = name.isEmpty() ? null : name.substring(1, name.length() - 1);
+					continue;
+				}
+			}
+			if (isCapture(segment)) {
+				segmentVariables[i] = segment.substring(1, segment.length() - 1);
+			}
+			else if (!isLiteral(segment)) {
+				segments = null;
+			}
+		}
+		this.segments = segments;
+		this.segmentVariables = segmentVariables;
+		this.splat = splat;
+	}
+
+	/**
+	 * Return the pattern this template was created from.
+	 *
+	 * @return the uri pattern
+	 */
+	public String getPattern() {
+		return pattern;
 	}
 
 	/**
@@ -98,7 +168,10 @@ public class UriPathTemplate {
 	 * @return {@code true} if there's a match, {@code false} otherwise
 	 */
 	public boolean matches(String uri) {
-		return matcher(uri).matches();
+		if (null != segments) {
+			return matchSegments(uri, null);
+		}
+		return uriPattern.matcher(uri).matches();
 	}
 
 	/**
@@ -116,30 +189,101 @@ public class UriPathTemplate {
 		}
 
 		pathParameters = new HashMap<String, Object>();
-		Matcher m = matcher(uri);
-		if (m.matches()) {
-			int i = 1;
-			for (String name : pathVariables) {
-				String val = m.group(i++);
-				pathParameters.put(name, val);
+		if (null != segments) {
+			if (!matchSegments(uri, pathParameters)) {
+				pathParameters.clear();
+			}
+		}
+		else {
+			Matcher m = uriPattern.matcher(uri);
+			if (m.matches()) {
+				for (String name : pathVariables) {
+					pathParameters.put(name, m.group(name));
+				}
 			}
 		}
-		synchronized (vars) {
+
+		if (maxCacheSize > 0) {
+			if (vars.size() >= maxCacheSize) {
+				evict();
+			}
 			vars.put(uri, pathParameters);
 		}
 
 		return pathParameters;
 	}
 
-	private Matcher matcher(String uri) {
-		Matcher m = matchers.get(uri);
-		if (null == m) {
-			m = uriPattern.matcher(uri);
-			synchronized (matchers) {
-				matchers.put(uri, m);
+	/**
+	 * @return the number of uris whose path parameters are currently cached
+	 */
+	int cacheSize() {
+		return vars.size();
+	}
+
+	private boolean matchSegments(String uri, Map<String, Object> pathParameters) {
+		int position = 0;
+		int length = uri.length();
+		for (int i = 0; i < segments.length; i++) {
+			if (i > 0) {
+				if (position == length || uri.charAt(position) != '/') {
+					return false;
+				}
+				position++;
+			}
+			String variable = segmentVariables[i];
+			if (splat && i == segments.length - 1) {
+				if (null != pathParameters && null != variable) {
+					pathParameters.put(variable, uri.substring(position));
+				}
+				return true;
+			}
+			int end = uri.indexOf('/', position);
+			if (end == -1) {
+				end = length;
+			}
+			if (null != variable) {
+				int dot = uri.indexOf('.', position);
+				if (dot != -1 && dot < end) {
+					return false;
+				}
+				if (null != pathParameters) {
+					pathParameters.put(variable, uri.substring(position, end));
+				}
+			}
+			else {
+				String segment = segments[i];
+				if (end - position != segment.length() || !uri.regionMatches(position, segment, 0, segment.length())) {
+					return false;
+				}
+			}
+			position = end;
+		}
+		return position == length;
+	}
+
+	private void evict() {
+		int excess = vars.size() - maxCacheSize + 1;
+		Iterator<String> uris = vars.keySet().iterator();
+		while (excess-- > 0 && uris.hasNext()) {
+			uris.next();
+			uris.remove();
+		}
+	}
+
+	private static boolean isCapture(String segment) {
+		return segment.length() > 2
+				&& segment.charAt(0) == '{'
+				&& segment.indexOf('}') == segment.length() - 1
+				&& segment.lastIndexOf('{') == 0;
+	}
+
+	private static boolean isLiteral(String segment) {
+		for (int i = 0; i < segment.length(); i++) {
+			if (REGEX_CHARACTERS.indexOf(segment.charAt(i)) != -1) {
+				return false;
 			}
 		}
-		return m;
+		return true;
 	}
 
 }
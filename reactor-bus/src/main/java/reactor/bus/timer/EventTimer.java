@@ -27,6 +27,7 @@ import reactor.core.support.NamedDaemonThreadFactory;
 import reactor.core.error.ReactorFatalException;
 import reactor.fn.Consumer;
 import reactor.fn.Function;
+import reactor.core.timer.LatenessHistogram;
 import reactor.core.timer.Timer;
 
 import java.util.Map;
@@ -78,7 +79,10 @@ public class EventTimer extends Timer {
 	private final Registry<Long, Consumer<Long>> tasks = Registries.create(true, false, null);
 	private final Thread loop;
 	private final AtomicBoolean started = new AtomicBoolean();
+	private final LatenessHistogram lateness = new LatenessHistogram();
 
+	/* only written by the loop thread */
+	private volatile long tickOverruns;
 
 	/**
 	 * Create a new {@code SimpleHashWheelTimer} using the default resolution of 50ms.
@@ -120,6 +124,7 @@ public class EventTimer extends Timer {
 							  if (reg.isCancelled() || reg.isPaused()) {
 								  continue;
 							  }
+							  lateness.record(System.currentTimeMillis() - now);
 							  reg.getObject().accept(now);
 						  } catch (CancelException cce) {
 							  reg.cancel();
@@ -131,6 +136,9 @@ public class EventTimer extends Timer {
 							  }
 						  }
 					  }
+					  if (System.currentTimeMillis() - now >= resolution) {
+						  tickOverruns++;
+					  }
 					  try {
 						  Thread.sleep(resolution);
 					  } catch (InterruptedException e) {
@@ -148,6 +156,21 @@ public class EventTimer extends Timer {
 		return resolution;
 	}
 
+	@Override
+	public long scheduled() {
+		return tasks.size();
+	}
+
+	@Override
+	public long tickOverruns() {
+		return tickOverruns;
+	}
+
+	@Override
+	public long[] lateness() {
+		return lateness.counts();
+	}
+
 	@Override
 	public Registration<Long, ? extends Consumer<Long>> schedule(Consumer<Long> consumer,
 	                                                             long period,
@@ -2,12 +2,22 @@ package reactor.bus;
 
 import org.junit.Test;
 import reactor.Processors;
+import reactor.Timers;
 import reactor.bus.selector.Selectors;
 import reactor.core.support.Assert;
+import reactor.core.support.ReactiveState;
+import reactor.core.timer.Timer;
 import reactor.fn.Consumer;
+import reactor.rx.Promise;
 
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
 
 public class EventBusTests {
 
@@ -45,4 +55,142 @@ public class EventBusTests {
 		reactor.getProcessor().onComplete();
 	}
 
+	@Test
+	public void sendAndReceiveDoesNotRegisterReplyConsumers() throws InterruptedException {
+		EventBus bus = EventBus.create();
+		bus.receive(Selectors.$("double"), (Event<Integer> ev) -> ev.getData() * 2);
+		long registered = bus.getConsumerRegistry().size();
+
+		AtomicInteger sum = new AtomicInteger();
+		for (int i = 0; i < 100; i++) {
+			bus.sendAndReceive("double", Event.wrap(i), (Event<Integer> ev) -> sum.addAndGet(ev.getData()));
+		}
+
+		assertThat(sum.get(), is(9900));
+		assertThat(bus.getConsumerRegistry().size(), is(registered));
+	}
+
+	@Test
+	public void sendAndReceiveCanReturnAPromise() throws InterruptedException {
+		EventBus bus = EventBus.create(Processors.queue(), 1);
+		bus.receive(Selectors.$("double"), (Event<Integer> ev) -> ev.getData() * 2);
+
+		Promise<Event<Integer>> reply = bus.sendAndReceive("double", Event.wrap(21), 5, TimeUnit.SECONDS);
+
+		assertThat(reply.await(5, TimeUnit.SECONDS).getData(), is(42));
+
+		bus.getProcessor().onComplete();
+	}
+
+	@Test
+	public void sendAndReceivePromiseFailsWhenNoReplyArrives() {
+		EventBus bus = EventBus.create();
+		ManualTimer timer = new ManualTimer();
+		bus.replies.timer = timer;
+
+		Promise<Event<Integer>> reply = bus.sendAndReceive("nobody", Event.wrap(1), 100, TimeUnit.MILLISECONDS);
+
+		assertThat(reply.isPending(), is(true));
+		assertThat(timer.delay, is(100L));
+		timer.fire();
+
+		assertThat(reply.reason(), instanceOf(TimeoutException.class));
+		assertThat(bus.replies.size(), is(0));
+	}
+
+	@Test
+	public void sendAndReceiveIsNotRegisteredWhenTheTimerRejectsTheTimeout() {
+		EventBus bus = EventBus.create();
+		ManualTimer timer = new ManualTimer();
+		timer.cancel();
+		bus.replies.timer = timer;
+
+		try {
+			bus.sendAndReceive("nobody", Event.wrap(1), 100, TimeUnit.MILLISECONDS);
+			Assert.isTrue(false, "the rejected timeout should be reported");
+		}
+		catch (IllegalStateException expected) {
+		}
+		assertThat(bus.replies.size(), is(0));
+	}
+
+	@Test
+	public void sendAndReceiveUsesTheCurrentGlobalTimer() {
+		EventBus bus = EventBus.create();
+		bus.receive(Selectors.$("echo"), (Event<Integer> ev) -> ev.getData());
+
+		Promise<Event<Integer>> first = bus.sendAndReceive("echo", Event.wrap(1), 5, TimeUnit.SECONDS);
+		Timers.unregisterGlobal();
+		Promise<Event<Integer>> second = bus.sendAndReceive("echo", Event.wrap(2), 5, TimeUnit.SECONDS);
+
+		assertThat(first.isSuccess(), is(true));
+		assertThat(second.isSuccess(), is(true));
+		assertThat(second.get().getData(), is(2));
+		assertThat(bus.replies.size(), is(0));
+	}
+
+	@Test
+	public void sendAndReceivePromiseFailsWithTheFunctionError() throws InterruptedException {
+		EventBus bus = EventBus.create();
+		bus.receive(Selectors.$("fail"), (Event<Integer> ev) -> {
+			throw new IllegalStateException("boom");
+		});
+
+		Promise<Event<Integer>> reply = bus.sendAndReceive("fail", Event.wrap(1), 0, TimeUnit.SECONDS);
+
+		assertThat(reply.isError(), is(true));
+		assertThat(reply.reason(), instanceOf(IllegalStateException.class));
+	}
+
+	private static final class ManualTimer extends Timer {
+
+		Consumer<Long> task;
+		long           delay;
+		boolean        cancelled;
+
+		ManualTimer() {
+			super(1);
+		}
+
+		@Override
+		public ReactiveState.Pausable submit(Consumer<Long> consumer, long delay, TimeUnit timeUnit) {
+			if (cancelled) {
+				throw new IllegalStateException("Timer is cancelled");
+			}
+			this.task = consumer;
+			this.delay = timeUnit.toMillis(delay);
+			return new ReactiveState.Pausable() {
+				@Override
+				public ReactiveState.Pausable cancel() {
+					task = null;
+					return this;
+				}
+
+				@Override
+				public ReactiveState.Pausable pause() {
+					return this;
+				}
+
+				@Override
+				public ReactiveState.Pausable resume() {
+					return this;
+				}
+			};
+		}
+
+		void fire() {
+			task.accept(System.currentTimeMillis());
+		}
+
+		@Override
+		public void cancel() {
+			cancelled = true;
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return cancelled;
+		}
+	}
+
 }
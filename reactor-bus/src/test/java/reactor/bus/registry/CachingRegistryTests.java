@@ -27,6 +27,7 @@ import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public final class CachingRegistryTests {
 
@@ -130,6 +131,54 @@ public final class CachingRegistryTests {
 	}
 
 
+	@Test
+	public void cacheIsKeptWhenAnUnrelatedRegistrationIsMadeOrCancelled() {
+		this.cachingRegistry.register(Selectors.$("selector"), "alpha");
+
+		this.cachingRegistry.select("selector");
+		this.cachingRegistry.select("selector");
+
+		Registration<Object, Object> other = this.cachingRegistry.register(Selectors.$("selector2"), "bravo");
+		this.cachingRegistry.select("selector");
+		other.cancel();
+		this.cachingRegistry.select("selector");
+
+		assertEquals(1, this.cacheMisses.get());
+
+		this.cachingRegistry.register(Selectors.predicate(key -> "selector".equals(key)), "charlie");
+		this.cachingRegistry.select("selector");
+
+		assertEquals(2, this.cacheMisses.get());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void exactAndScannedRegistrationsAreSelectedInInsertionOrder() {
+		this.cachingRegistry.register(Selectors.$("/users/1"), "alpha");
+		this.cachingRegistry.register(Selectors.uri("/users/{id}"), "bravo");
+		Registration<Object, Object> charlie = this.cachingRegistry.register(Selectors.$("/users/1"), "charlie");
+		this.cachingRegistry.register(Selectors.uri("/users/**"), "delta");
+
+		List<Object> selected = objects(this.cachingRegistry.select("/users/1"));
+		assertEquals(Arrays.asList("alpha", "bravo", "charlie", "delta"), selected);
+
+		charlie.cancel();
+		assertEquals(Arrays.asList("alpha", "bravo", "delta"), objects(this.cachingRegistry.select("/users/1")));
+		assertEquals(3, this.cachingRegistry.size());
+
+		assertTrue(this.cachingRegistry.unregister("/users/1"));
+		assertTrue(this.cachingRegistry.select("/users/1").isEmpty());
+		assertEquals(0, this.cachingRegistry.size());
+	}
+
+	private static List<Object> objects(List<Registration<Object, ?>> registrations) {
+		List<Object> objects = new ArrayList<Object>();
+		for (Registration<Object, ?> registration : registrations) {
+			objects.add(registration.getObject());
+		}
+		return objects;
+	}
+
 	//Issue : https://github.com/eventBus/eventBus/issues/237
 	@Test
 	public void invokeConsumersWithCustomSelector() {
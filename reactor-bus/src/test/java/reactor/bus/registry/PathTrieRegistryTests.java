@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.bus.registry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import reactor.bus.selector.Selector;
+import reactor.bus.selector.Selectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PathTrieRegistryTests {
+
+	private static final List<String> TEMPLATES = Arrays.asList(
+			"/users",
+			"/users/{id}",
+			"/users/{id}/orders/{order}",
+			"/users/me",
+			"/files/**",
+			"/files/{path}**",
+			"/**",
+			"/a.b/{id}",
+			"/users/{id}.json",
+			"/**/orders",
+			"/",
+			"http://localhost:8080/users",
+			"tcp://*:3000/users/me",
+			"tcp://localhost/*"
+	);
+
+	private static final List<String> KEYS = Arrays.asList(
+			"/users",
+			"/users/",
+			"/users/42",
+			"/users/me",
+			"/users/4.2",
+			"/users/42.json",
+			"/users/42/orders/7",
+			"/users/42/orders",
+			"/files",
+			"/files/",
+			"/files/a/b/c",
+			"/axb/1",
+			"/a.b/1",
+			"/",
+			"",
+			"http://localhost:8080/users",
+			"tcp://localhost:3000/users/me",
+			"tcp://localhost/anything"
+	);
+
+	@Test
+	public void selectsTheSameRegistrationsAsAScanInRegistrationOrder() {
+		Registry<Object, Object> scanned = Registries.create(false, false, null);
+		Registry<Object, Object> indexed = Registries.createPathTrie(null);
+		for (String template : TEMPLATES) {
+			register(scanned, template);
+			register(indexed, template);
+		}
+		indexed.register(Selectors.$("/users/42"), "object");
+		scanned.register(Selectors.$("/users/42"), "object");
+
+		for (String key : KEYS) {
+			assertEquals(key, objects(scanned.select(key)), objects(indexed.select(key)));
+		}
+		assertEquals(objects(scanned.select(42)), objects(indexed.select(42)));
+	}
+
+	@Test
+	public void templatesAreIndexedOnlyWhenRegexFree() {
+		assertNotNull(PathTrieRegistry.indexableSegments("/users/{id}/orders"));
+		assertNotNull(PathTrieRegistry.indexableSegments("/files/{path}**"));
+		assertNull(PathTrieRegistry.indexableSegments("/**/orders"));
+		assertNull(PathTrieRegistry.indexableSegments("/users/{id}.json"));
+		assertNull(PathTrieRegistry.indexableSegments("/users/a*"));
+	}
+
+	@Test
+	public void cancelledAndUnregisteredRoutesAreNoLongerSelected() {
+		Registry<Object, Object> registry = Registries.createPathTrie(null);
+		Registration<Object, Object> first = register(registry, "/users/{id}");
+		register(registry, "/users/me");
+		register(registry, "/orders/{id}");
+
+		first.cancel();
+		assertEquals(Arrays.asList("/users/me"), objects(registry.select("/users/me")));
+
+		assertTrue(registry.unregister("/orders/1"));
+		assertFalse(registry.unregister("/orders/1"));
+		assertTrue(registry.select("/orders/1").isEmpty());
+		assertEquals(1L, registry.size());
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Registration<Object, Object> register(Registry<Object, Object> registry, String template) {
+		return registry.register((Selector<Object>) Selectors.uri(template), template);
+	}
+
+	private static List<Object> objects(List<Registration<Object, ?>> registrations) {
+		List<Object> objects = new ArrayList<>();
+		for (Registration<Object, ?> registration : registrations) {
+			objects.add(registration.getObject());
+		}
+		return objects;
+	}
+}
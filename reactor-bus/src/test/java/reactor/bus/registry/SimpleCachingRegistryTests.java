@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.bus.registry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import reactor.bus.selector.Selectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SimpleCachingRegistryTests {
+
+	@Test
+	public void cacheIsBoundedAndInvalidatedPerKey() {
+		AtomicInteger notFound = new AtomicInteger();
+		SimpleCachingRegistry<Object, Object> registry =
+				new SimpleCachingRegistry<>(true, true, key -> notFound.incrementAndGet(), 4);
+
+		registry.register(Selectors.$("a"), "alpha");
+		for (int i = 0; i < 10; i++) {
+			registry.select("missing-" + i);
+		}
+		assertEquals(10, notFound.get());
+		assertEquals(4, registry.cacheSize());
+
+		List<Registration<Object, ?>> first = registry.select("a");
+		assertTrue(first == registry.select("a"));
+
+		registry.register(Selectors.$("b"), "bravo");
+		assertTrue(first == registry.select("a"));
+
+		Registration<Object, Object> other = registry.register(Selectors.$("a"), "charlie");
+		assertEquals(2, registry.select("a").size());
+
+		other.cancel();
+		assertEquals(1, registry.select("a").size());
+		assertEquals(2L, registry.size());
+
+		for (int i = 0; i < 10; i++) {
+			registry.select("missing-" + i);
+			assertTrue(registry.cacheSize() <= 4);
+		}
+	}
+
+	@Test
+	public void selectNeverMissesARouteWhileRegistering() throws Exception {
+		SimpleCachingRegistry<Object, Object> registry = new SimpleCachingRegistry<>(true, false, null);
+		registry.register(Selectors.$("key"), "alpha");
+
+		int threads = 4;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch done = new CountDownLatch(threads);
+		List<Throwable> errors = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			executor.execute(() -> {
+				try {
+					for (int i = 0; i < 10_000; i++) {
+						if (registry.select("key").isEmpty()) {
+							throw new AssertionError("route lost");
+						}
+					}
+				}
+				catch (Throwable e) {
+					synchronized (errors) {
+						errors.add(e);
+					}
+				}
+				finally {
+					done.countDown();
+				}
+			});
+		}
+		for (int i = 0; i < 1_000; i++) {
+			registry.register(Selectors.$("key"), i).cancel();
+		}
+
+		assertTrue(done.await(10, TimeUnit.SECONDS));
+		executor.shutdown();
+		assertTrue(errors.toString(), errors.isEmpty());
+		assertEquals(1, registry.select("key").size());
+	}
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.bus.selector;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class UriPathTemplateTests {
+
+	@Test
+	public void segmentTemplatesMatchLikeTheirRegularExpression() {
+		UriPathTemplate template = new UriPathTemplate("/users/{id}/orders/{order}");
+		assertTrue(template.matches("/users/42/orders/7"));
+		assertTrue(template.matches("/users//orders/"));
+		assertFalse(template.matches("/users/4.2/orders/7"));
+		assertFalse(template.matches("/users/42/orders"));
+		assertFalse(template.matches("/users/42/orders/7/"));
+		assertEquals(vars("id", "42", "order", "7"), template.match("/users/42/orders/7"));
+		assertTrue(template.match("/users/42").isEmpty());
+
+		UriPathTemplate splat = new UriPathTemplate("/files/{path}**");
+		assertTrue(splat.matches("/files/"));
+		assertFalse(splat.matches("/files"));
+		assertEquals(vars("path", "a/b.txt"), splat.match("/files/a/b.txt"));
+
+		assertTrue(new UriPathTemplate("/**").matches("/"));
+		assertFalse(new UriPathTemplate("/**").matches(""));
+	}
+
+	@Test
+	public void otherTemplatesFallBackToTheRegularExpression() {
+		UriPathTemplate template = new UriPathTemplate("/{first}/{rest}**/{last}.json");
+		assertEquals(vars("first", "a", "rest", "b/c", "last", "d"), template.match("/a/b/c/d.json"));
+
+		assertTrue(new UriPathTemplate("/a.b").matches("/axb"));
+		assertTrue(new UriPathTemplate("/path/**/{resource}").matches("/path/to/some/resourceId"));
+	}
+
+	@Test
+	public void matchedPathParametersAreCachedWithinBounds() {
+		UriPathTemplate template = new UriPathTemplate("/users/{id}", 8);
+		Map<String, Object> first = template.match("/users/0");
+		assertSame(first, template.match("/users/0"));
+
+		for (int i = 1; i < 100; i++) {
+			assertEquals(vars("id", String.valueOf(i)), template.match("/users/" + i));
+			assertTrue(template.cacheSize() <= 8);
+		}
+		assertEquals(8, template.cacheSize());
+		assertEquals(vars("id", "0"), template.match("/users/0"));
+		assertEquals(8, template.cacheSize());
+	}
+
+	private static Map<String, Object> vars(String... keyValues) {
+		Map<String, Object> vars = new HashMap<>();
+		for (int i = 0; i < keyValues.length; i += 2) {
+			vars.put(keyValues[i], keyValues[i + 1]);
+		}
+		return vars;
+	}
+}
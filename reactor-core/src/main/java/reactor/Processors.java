@@ -16,6 +16,7 @@
 
 package reactor;
 
+import java.io.File;
 import java.util.Queue;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
@@ -27,16 +28,20 @@ import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 import reactor.core.processor.BaseProcessor;
+import reactor.core.processor.DurableRingBufferWorkProcessor;
 import reactor.core.processor.EmitterProcessor;
 import reactor.core.processor.ExecutorProcessor;
+import reactor.core.processor.LongRingBufferProcessor;
 import reactor.core.processor.ProcessorGroup;
 import reactor.core.processor.RingBufferProcessor;
 import reactor.core.processor.RingBufferWorkProcessor;
+import reactor.core.processor.WorkStealingProcessor;
 import reactor.core.publisher.PublisherLog;
 import reactor.core.subscriber.BlockingQueueSubscriber;
 import reactor.core.support.Assert;
 import reactor.core.support.ReactiveState;
 import reactor.core.support.WaitStrategy;
+import reactor.core.support.rb.MappedJournal;
 import reactor.fn.Consumer;
 import reactor.fn.Function;
 import reactor.fn.Supplier;
@@ -302,6 +307,74 @@ public final class Processors {
 		return RingBufferWorkProcessor.create(name, bufferSize, autoCancel);
 	}
 
+	/**
+	 * Create a new {@link DurableRingBufferWorkProcessor} journaling values to the given memory-mapped file, so that
+	 * values left unconsumed are replayed to the first subscribers after a restart. <p> A new Cached
+	 * ThreadExecutorPool will be implicitely created and will use the passed name to qualify the created threads.
+	 * @param name Use a new Cached ExecutorService and assign this name to the created threads
+	 * @param file the journal file, created if missing
+	 * @param bufferSize A Backlog Size to mitigate slow subscribers, must be a power of 2
+	 * @param slotSize the maximum serialized size of a value, including a 4 bytes length prefix
+	 * @param codec the codec serializing values to the journal
+	 * @param <E> Type of processed signals
+	 * @return a fresh processor
+	 */
+	public static <E> DurableRingBufferWorkProcessor<E> durableQueue(String name, File file, int bufferSize,
+			int slotSize, MappedJournal.Codec<E> codec) {
+		return DurableRingBufferWorkProcessor.create(name, file, bufferSize, slotSize, codec);
+	}
+
+	/**
+	 *
+	 * Non-Blocking "Asynchronous" primitive Topic and Work Queue, storing long values in place without boxing
+	 *
+	 *
+	 */
+
+	/**
+	 * Create a new {@link LongRingBufferProcessor} broadcasting every value to every subscriber, using {@link
+	 * BaseProcessor#SMALL_BUFFER_SIZE} backlog size and auto-cancel. <p> A new Cached ThreadExecutorPool will be
+	 * implicitely created.
+	 * @return a fresh processor
+	 */
+	public static LongRingBufferProcessor longTopic() {
+		return longTopic("async", BaseProcessor.SMALL_BUFFER_SIZE);
+	}
+
+	/**
+	 * Create a new {@link LongRingBufferProcessor} broadcasting every value to every subscriber, using the passed
+	 * backlog size and auto-cancel. <p> A new Cached ThreadExecutorPool will be implicitely created and will use the
+	 * passed name to qualify the created threads.
+	 * @param name Use a new Cached ExecutorService and assign this name to the created threads
+	 * @param bufferSize A Backlog Size to mitigate slow subscribers, must be a power of 2
+	 * @return a fresh processor
+	 */
+	public static LongRingBufferProcessor longTopic(String name, int bufferSize) {
+		return LongRingBufferProcessor.create(name, bufferSize);
+	}
+
+	/**
+	 * Create a new {@link LongRingBufferProcessor} delivering each value to a single subscriber, using {@link
+	 * BaseProcessor#SMALL_BUFFER_SIZE} backlog size and auto-cancel. <p> A new Cached ThreadExecutorPool will be
+	 * implicitely created.
+	 * @return a fresh processor
+	 */
+	public static LongRingBufferProcessor longQueue() {
+		return longQueue("worker", BaseProcessor.SMALL_BUFFER_SIZE);
+	}
+
+	/**
+	 * Create a new {@link LongRingBufferProcessor} delivering each value to a single subscriber, using the passed
+	 * backlog size and auto-cancel. <p> A new Cached ThreadExecutorPool will be implicitely created and will use the
+	 * passed name to qualify the created threads.
+	 * @param name Use a new Cached ExecutorService and assign this name to the created threads
+	 * @param bufferSize A Backlog Size to mitigate slow subscribers, must be a power of 2
+	 * @return a fresh processor
+	 */
+	public static LongRingBufferProcessor longQueue(String name, int bufferSize) {
+		return LongRingBufferProcessor.createWork(name, bufferSize);
+	}
+
 	/**
 	 *
 	 * Non-Blocking "Asynchronous" Pooled Processors or "ProcessorGroup" : reuse resources with virtual processor
@@ -644,6 +717,82 @@ public final class Processors {
 				concurrency, uncaughtExceptionHandler, shutdownHandler, autoShutdown);
 	}
 
+	/**
+	 * @param <E>
+	 * @return
+	 */
+	public static <E> ProcessorGroup<E> workStealingGroup() {
+		return workStealingGroup("work-stealing", BaseProcessor.MEDIUM_BUFFER_SIZE);
+	}
+
+	/**
+	 * @param name
+	 * @param <E>
+	 * @return
+	 */
+	public static <E> ProcessorGroup<E> workStealingGroup(String name) {
+		return workStealingGroup(name, BaseProcessor.MEDIUM_BUFFER_SIZE);
+	}
+
+	/**
+	 * @param name
+	 * @param bufferSize
+	 * @param <E>
+	 * @return
+	 */
+	public static <E> ProcessorGroup<E> workStealingGroup(String name, int bufferSize) {
+		return workStealingGroup(name, bufferSize, DEFAULT_POOL_SIZE);
+	}
+
+	/**
+	 * @param name
+	 * @param bufferSize
+	 * @param concurrency
+	 * @param <E>
+	 * @return
+	 */
+	public static <E> ProcessorGroup<E> workStealingGroup(String name, int bufferSize, int concurrency) {
+		return workStealingGroup(name, bufferSize, concurrency, null, null, true);
+	}
+
+	/**
+	 * @param name
+	 * @param bufferSize
+	 * @param concurrency
+	 * @param uncaughtExceptionHandler
+	 * @param <E>
+	 * @return
+	 */
+	public static <E> ProcessorGroup<E> workStealingGroup(String name,
+			int bufferSize,
+			int concurrency,
+			Consumer<Throwable> uncaughtExceptionHandler) {
+		return workStealingGroup(name, bufferSize, concurrency, uncaughtExceptionHandler, null, true);
+	}
+
+	/**
+	 * Create a {@link ProcessorGroup} whose workers each own a ring buffer and steal from each other when idle,
+	 * suited to task-style dispatch where ordering is not required.
+	 *
+	 * @param name
+	 * @param bufferSize
+	 * @param concurrency
+	 * @param uncaughtExceptionHandler
+	 * @param shutdownHandler
+	 * @param autoShutdown
+	 * @param <E>
+	 * @return
+	 */
+	public static <E> ProcessorGroup<E> workStealingGroup(final String name,
+			final int bufferSize,
+			int concurrency,
+			Consumer<Throwable> uncaughtExceptionHandler,
+			Consumer<Void> shutdownHandler,
+			boolean autoShutdown) {
+		return ProcessorGroup.create(WorkStealingProcessor.<Runnable>create(name, bufferSize, false),
+				concurrency, uncaughtExceptionHandler, shutdownHandler, autoShutdown);
+	}
+
 	/**
 	 *
 	 *
@@ -15,6 +15,7 @@
  */
 package reactor;
 
+import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
@@ -23,9 +24,12 @@ import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 import reactor.core.error.ReactorFatalException;
 import reactor.core.processor.BaseProcessor;
+import reactor.core.subscriber.BatchListSubscriber;
+import reactor.core.subscriber.BatchSubscriber;
 import reactor.core.subscriber.BlockingQueueSubscriber;
 import reactor.core.subscriber.SubscriberFactory;
 import reactor.core.support.SignalType;
+import reactor.fn.Consumer;
 
 /**
  * @author Stephane Maldini
@@ -69,6 +73,31 @@ public final class Subscribers extends SubscriberFactory {
 	}
 
 
+	/**
+	 * Create an unbounded {@link BatchSubscriber} handing a {@link List} of values to the given consumer every time
+	 * the upstream signals the end of a batch, e.g. once per drained range of a ring buffer processor.
+	 *
+	 * @param batchConsumer the consumer receiving each batch
+	 * @param <IN>          the received type
+	 * @return a new {@link BatchSubscriber}
+	 */
+	public static <IN> BatchSubscriber<IN> batch(Consumer<? super List<IN>> batchConsumer) {
+		return batch(batchConsumer, BaseProcessor.SMALL_BUFFER_SIZE);
+	}
+
+	/**
+	 * Create an unbounded {@link BatchSubscriber} handing a {@link List} of values to the given consumer every time
+	 * the upstream signals the end of a batch or when {@code maxBatchSize} values have been collected.
+	 *
+	 * @param batchConsumer the consumer receiving each batch
+	 * @param maxBatchSize  the maximum size of a batch
+	 * @param <IN>          the received type
+	 * @return a new {@link BatchSubscriber}
+	 */
+	public static <IN> BatchSubscriber<IN> batch(Consumer<? super List<IN>> batchConsumer, int maxBatchSize) {
+		return new BatchListSubscriber<>(batchConsumer, null, null, maxBatchSize);
+	}
+
 	/**
 	 *
 	 * @param subscriber
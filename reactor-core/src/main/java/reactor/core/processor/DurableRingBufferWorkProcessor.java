@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.processor;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.core.subscriber.BatchSubscriber;
+import reactor.core.support.Logger;
+import reactor.core.support.ReactiveState;
+import reactor.core.support.WaitStrategy;
+import reactor.core.support.rb.MappedJournal;
+import reactor.core.support.rb.MutableSignal;
+import reactor.core.support.rb.RingBufferSubscriberUtils;
+import reactor.core.support.rb.disruptor.RingBuffer;
+
+/**
+ * A {@link RingBufferWorkProcessor} whose ring is mirrored to a memory-mapped {@link MappedJournal} so that values
+ * published but not yet consumed survive a restart. Each value is serialized into the journal slot matching its ring
+ * sequence before being published in memory, subscribers keep reading the in-memory value and the journal consumed
+ * sequence is advanced at the end of each drained batch. A journal slot is never reused before the consumed sequence
+ * has moved past its previous value, so at most {@code bufferSize} values are left to replay. When a processor is
+ * created over an existing journal, the unconsumed values are published again before any subscriber attaches and are
+ * delivered to the first subscribers.
+ * <p>
+ * Journal writes are plain page-cache writes, they are not forced to disk per value. Replay is at-least-once: values
+ * being processed when the JVM stops are delivered again. Values rescheduled to the in-memory retry buffer after a
+ * subscriber cancelled or failed are not journaled: their ring sequence is already released, so they are lost if the
+ * JVM stops before they are redelivered. The processor must be signalled by a single producer at a time as mandated
+ * by the Reactive Streams contract.
+ *
+ * @param <E> Type of dispatched signal
+ * @since 2.1
+ */
+public final class DurableRingBufferWorkProcessor<E> extends BaseProcessor<E, E>
+		implements ReactiveState.Buffering, ReactiveState.Named {
+
+	/**
+	 * Create a new DurableRingBufferWorkProcessor using the given journal file, the default wait strategy and
+	 * auto-cancel. Unconsumed values left in an existing journal are replayed to the first subscribers.
+	 * @param name Use a new Cached ExecutorService and assign this name to the created threads
+	 * @param file the journal file, created if missing
+	 * @param bufferSize A Backlog Size to mitigate slow subscribers, must be a power of 2
+	 * @param slotSize the maximum serialized size of a value, including a 4 bytes length prefix
+	 * @param codec the codec serializing values to the journal
+	 * @param <E> Type of processed signals
+	 * @return a fresh processor
+	 */
+	public static <E> DurableRingBufferWorkProcessor<E> create(String name, File file, int bufferSize, int slotSize,
+			MappedJournal.Codec<E> codec) {
+		return create(name, file, bufferSize, slotSize, codec, null, true);
+	}
+
+	/**
+	 * Create a new DurableRingBufferWorkProcessor using the given journal file, wait strategy and auto-cancel
+	 * settings. Unconsumed values left in an existing journal are replayed to the first subscribers.
+	 * @param name Use a new Cached ExecutorService and assign this name to the created threads
+	 * @param file the journal file, created if missing
+	 * @param bufferSize A Backlog Size to mitigate slow subscribers, must be a power of 2
+	 * @param slotSize the maximum serialized size of a value, including a 4 bytes length prefix
+	 * @param codec the codec serializing values to the journal
+	 * @param strategy A WaitStrategy to trade off cpu cycle for latency, null for the default lite blocking strategy
+	 * @param autoCancel Should this propagate cancellation when unregistered by all subscribers ?
+	 * @param <E> Type of processed signals
+	 * @return a fresh processor
+	 */
+	public static <E> DurableRingBufferWorkProcessor<E> create(String name, File file, int bufferSize, int slotSize,
+			MappedJournal.Codec<E> codec, WaitStrategy strategy, boolean autoCancel) {
+		return new DurableRingBufferWorkProcessor<E>(RingBufferWorkProcessor.<E>create(name, bufferSize, strategy,
+				autoCancel), MappedJournal.open(file, bufferSize, slotSize, codec), autoCancel);
+	}
+
+	private static final Logger log = Logger.getLogger(DurableRingBufferWorkProcessor.class);
+
+	private final RingBufferWorkProcessor<E> delegate;
+	private final RingBuffer<MutableSignal<E>> ringBuffer;
+	private final MappedJournal<E> journal;
+	private final int bufferSize;
+
+	/**
+	 * Distance between journal sequences, which survive restarts, and sequences of the in-memory ring, which start
+	 * over.
+	 */
+	private final long offset;
+
+	private DurableRingBufferWorkProcessor(RingBufferWorkProcessor<E> delegate, MappedJournal<E> journal,
+			boolean autoCancel) {
+		super(autoCancel);
+		this.delegate = delegate;
+		this.ringBuffer = delegate.ringBuffer();
+		this.journal = journal;
+		this.bufferSize = ringBuffer.getBufferSize();
+
+		long consumed = journal.getConsumed();
+		long published = journal.getPublished();
+		if (published - consumed > bufferSize) {
+			//slots of the oldest values have been reused, only the last bufferSize values are left to replay
+			log.warn("Journal {} lags by {} values for {} slots, replaying the last {} values", journal,
+					published - consumed, bufferSize, bufferSize);
+			consumed = published - bufferSize;
+			journal.consumed(consumed);
+		}
+		this.offset = consumed + 1L;
+
+		//replay values already sitting in the journal slots, the ring is still empty and gated by the work sequence
+		for (long sequence = consumed + 1L; sequence <= published; sequence++) {
+			MutableSignal<E> signal = RingBufferSubscriberUtils.next(ringBuffer);
+			signal.value = journal.read(sequence);
+			RingBufferSubscriberUtils.publish(ringBuffer, signal);
+		}
+	}
+
+	@Override
+	public void subscribe(Subscriber<? super E> subscriber) {
+		super.subscribe(subscriber);
+		delegate.subscribe(new ConsumedMarker<E>(this, subscriber));
+	}
+
+	@Override
+	protected void doOnSubscribe(Subscription s) {
+		delegate.onSubscribe(s);
+	}
+
+	@Override
+	public void onNext(E o) {
+		super.onNext(o);
+		journal.encode(o);
+
+		MutableSignal<E> signal = RingBufferSubscriberUtils.next(ringBuffer);
+		signal.value = o;
+		long sequence = signal.seqId + offset;
+		//the ring released the slot, its previous value must also be recorded as consumed before it is overwritten
+		while (sequence - bufferSize > journal.getConsumed()) {
+			markConsumed();
+			if (sequence - bufferSize > journal.getConsumed()) {
+				LockSupport.parkNanos(1L);
+			}
+		}
+		journal.write(sequence);
+		RingBufferSubscriberUtils.publish(ringBuffer, signal);
+		journal.published(sequence);
+	}
+
+	@Override
+	public void onError(Throwable t) {
+		super.onError(t);
+		delegate.onError(t);
+	}
+
+	@Override
+	public void onComplete() {
+		delegate.onComplete();
+	}
+
+	/**
+	 * Block until all submitted tasks have completed, record the consumed sequence and force the journal to disk.
+	 * @param timeout the maximum time to wait
+	 * @param timeUnit the time unit of the timeout argument
+	 * @return true if the delegate executor terminated
+	 */
+	public boolean awaitAndShutdown(long timeout, TimeUnit timeUnit) {
+		boolean terminated = delegate.awaitAndShutdown(timeout, timeUnit);
+		markConsumed();
+		journal.force();
+		return terminated;
+	}
+
+	/**
+	 * Shutdown this {@code Processor} such that it can no longer be used, values left in the journal will be
+	 * replayed on the next start.
+	 */
+	public void shutdown() {
+		delegate.shutdown();
+	}
+
+	/**
+	 * Shutdown this {@code Processor}, forcibly halting any work currently executing, values left in the journal will
+	 * be replayed on the next start.
+	 */
+	public void forceShutdown() {
+		delegate.forceShutdown();
+	}
+
+	/**
+	 * Determine whether this {@code Processor} can be used.
+	 * @return {@literal true} if this {@code Resource} is alive and can be used, {@literal false} otherwise.
+	 */
+	public boolean alive() {
+		return delegate.alive();
+	}
+
+	/**
+	 * @return the journal backing this processor
+	 */
+	public MappedJournal<E> journal() {
+		return journal;
+	}
+
+	void markConsumed() {
+		journal.consumed(Math.min(ringBuffer.getMinimumGatingSequence() + offset, journal.getPublished()));
+	}
+
+	@Override
+	public long getCapacity() {
+		return delegate.getCapacity();
+	}
+
+	@Override
+	public long getAvailableCapacity() {
+		return delegate.getAvailableCapacity();
+	}
+
+	@Override
+	public long pending() {
+		return delegate.pending();
+	}
+
+	@Override
+	public String getName() {
+		return delegate.getName();
+	}
+
+	@Override
+	public String toString() {
+		return "DurableRingBufferWorkProcessor{" +
+				"journal=" + journal +
+				", delegate=" + delegate +
+				'}';
+	}
+
+	/**
+	 * Forward signals to the actual subscriber and advance the journal consumed sequence once a batch has been
+	 * processed.
+	 */
+	private static final class ConsumedMarker<E> implements BatchSubscriber<E>, Downstream, Upstream {
+
+		private final DurableRingBufferWorkProcessor<E> processor;
+		private final Subscriber<? super E>             subscriber;
+		private final BatchSubscriber<? super E>        batchSubscriber;
+
+		@SuppressWarnings("unchecked")
+		ConsumedMarker(DurableRingBufferWorkProcessor<E> processor, Subscriber<? super E> subscriber) {
+			this.processor = processor;
+			this.subscriber = subscriber;
+			this.batchSubscriber =
+					subscriber instanceof BatchSubscriber ? (BatchSubscriber<? super E>) subscriber : null;
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			subscriber.onSubscribe(s);
+		}
+
+		@Override
+		public void onNext(E t) {
+			onNext(t, true);
+		}
+
+		@Override
+		public void onNext(E t, boolean endOfBatch) {
+			if (batchSubscriber != null) {
+				batchSubscriber.onNext(t, endOfBatch);
+			}
+			else {
+				subscriber.onNext(t);
+			}
+			if (endOfBatch) {
+				processor.markConsumed();
+			}
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			subscriber.onError(t);
+		}
+
+		@Override
+		public void onComplete() {
+			subscriber.onComplete();
+		}
+
+		@Override
+		public Object downstream() {
+			return subscriber;
+		}
+
+		@Override
+		public Object upstream() {
+			return processor;
+		}
+	}
+}
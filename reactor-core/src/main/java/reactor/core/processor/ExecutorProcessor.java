@@ -15,6 +15,7 @@
  */
 package reactor.core.processor;
 
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
@@ -77,6 +78,19 @@ public abstract class ExecutorProcessor<IN, OUT> extends BaseProcessor<IN, OUT>
 		//implementation might run a specific request task for the given subscription
 	}
 
+	/**
+	 * Signal a burst of values in order, as if {@link #onNext(Object)} was called for each of them. Implementations
+	 * backed by a ring buffer claim and publish contiguous slot ranges so a burst costs a single sequencer claim and
+	 * a single consumer wakeup per range instead of one per element.
+	 *
+	 * @param values the values to signal, none of them can be null
+	 */
+	public void onNextBatch(List<? extends IN> values) {
+		for (int i = 0; i < values.size(); i++) {
+			onNext(values.get(i));
+		}
+	}
+
 	protected void doComplete() {
 
 	}
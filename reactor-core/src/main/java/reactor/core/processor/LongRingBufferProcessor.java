@@ -0,0 +1,714 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.processor;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.core.error.AlertException;
+import reactor.core.error.CancelException;
+import reactor.core.error.Exceptions;
+import reactor.core.error.InsufficientCapacityException;
+import reactor.core.publisher.PublisherFactory;
+import reactor.core.subscriber.LongSubscriber;
+import reactor.core.subscriber.SubscriberWithContext;
+import reactor.core.support.BackpressureUtils;
+import reactor.core.support.NamedDaemonThreadFactory;
+import reactor.core.support.ReactiveState;
+import reactor.core.support.SignalType;
+import reactor.core.support.WaitStrategy;
+import reactor.core.support.rb.RequestTask;
+import reactor.core.support.rb.disruptor.LongRingBuffer;
+import reactor.core.support.rb.disruptor.Sequence;
+import reactor.core.support.rb.disruptor.SequenceBarrier;
+import reactor.core.support.rb.disruptor.Sequencer;
+import reactor.fn.Consumer;
+import reactor.fn.Function;
+import reactor.fn.LongSupplier;
+
+/**
+ * A RingBuffer backed message-passing Processor specialized for primitive {@literal long} payloads. Values are
+ * written in place into a {@link LongRingBuffer} and read back by each subscriber thread without boxing: {@link
+ * LongSubscriber} subscribers receive {@link LongSubscriber#onNext(long)}, other subscribers get the boxed value.
+ * Producers should call {@link #onNext(long)} to keep the hot path free of any allocation.
+ * <p>
+ * Created with {@link #create(String, int)} the processor behaves like {@link RingBufferProcessor}: every
+ * subscriber receives every value. Created with {@link #createWork(String, int)} it behaves like {@link
+ * RingBufferWorkProcessor}: subscribers share the values, each one being delivered to a single subscriber.
+ * <p>
+ * Complete and Error are delivered in order after the values published before them. Since slots only carry the
+ * value, the terminal sequence and error are kept by the processor itself. A work subscriber cancelling while
+ * waiting for a value it already claimed drops that value.
+ *
+ * @since 2.1
+ */
+public final class LongRingBufferProcessor extends ExecutorProcessor<Long, Long>
+		implements ReactiveState.Buffering, ReactiveState.LinkedDownstreams {
+
+	/**
+	 * Create a new topic LongRingBufferProcessor using the passed backlog size, the default wait strategy and
+	 * auto-cancel. Every subscriber receives every value.
+	 * @param name Use a new Cached ExecutorService and assign this name to the created threads
+	 * @param bufferSize A Backlog Size to mitigate slow subscribers, must be a power of 2
+	 * @return a fresh processor
+	 */
+	public static LongRingBufferProcessor create(String name, int bufferSize) {
+		return create(name, bufferSize, null, true);
+	}
+
+	/**
+	 * Create a new topic LongRingBufferProcessor using the passed backlog size, wait strategy and auto-cancel
+	 * settings. Every subscriber receives every value.
+	 * @param name Use a new Cached ExecutorService and assign this name to the created threads
+	 * @param bufferSize A Backlog Size to mitigate slow subscribers, must be a power of 2
+	 * @param strategy A WaitStrategy to trade off cpu cycle for latency, null for the default phased off strategy
+	 * @param autoCancel Should this propagate cancellation when unregistered by all subscribers ?
+	 * @return a fresh processor
+	 */
+	public static LongRingBufferProcessor create(String name, int bufferSize, WaitStrategy strategy,
+			boolean autoCancel) {
+		return new LongRingBufferProcessor(name, null, bufferSize, strategy, false, false, autoCancel);
+	}
+
+	/**
+	 * Create a new topic LongRingBufferProcessor authorizing concurrent {@link #onNext(long)} calls, using the
+	 * passed backlog size, wait strategy and auto-cancel settings.
+	 * @param name Use a new Cached ExecutorService and assign this name to the created threads
+	 * @param bufferSize A Backlog Size to mitigate slow subscribers, must be a power of 2
+	 * @param strategy A WaitStrategy to trade off cpu cycle for latency, null for the default phased off strategy
+	 * @param autoCancel Should this propagate cancellation when unregistered by all subscribers ?
+	 * @return a fresh processor
+	 */
+	public static LongRingBufferProcessor share(String name, int bufferSize, WaitStrategy strategy,
+			boolean autoCancel) {
+		return new LongRingBufferProcessor(name, null, bufferSize, strategy, true, false, autoCancel);
+	}
+
+	/**
+	 * Create a new work LongRingBufferProcessor using the passed backlog size, the default wait strategy and
+	 * auto-cancel. Each value is delivered to a single subscriber.
+	 * @param name Use a new Cached ExecutorService and assign this name to the created threads
+	 * @param bufferSize A Backlog Size to mitigate slow subscribers, must be a power of 2
+	 * @return a fresh processor
+	 */
+	public static LongRingBufferProcessor createWork(String name, int bufferSize) {
+		return createWork(name, bufferSize, null, true);
+	}
+
+	/**
+	 * Create a new work LongRingBufferProcessor using the passed backlog size, wait strategy and auto-cancel
+	 * settings. Each value is delivered to a single subscriber.
+	 * @param name Use a new Cached ExecutorService and assign this name to the created threads
+	 * @param bufferSize A Backlog Size to mitigate slow subscribers, must be a power of 2
+	 * @param strategy A WaitStrategy to trade off cpu cycle for latency, null for the default lite blocking strategy
+	 * @param autoCancel Should this propagate cancellation when unregistered by all subscribers ?
+	 * @return a fresh processor
+	 */
+	public static LongRingBufferProcessor createWork(String name, int bufferSize, WaitStrategy strategy,
+			boolean autoCancel) {
+		return new LongRingBufferProcessor(name, null, bufferSize, strategy, false, true, autoCancel);
+	}
+
+	/**
+	 * Create a new work LongRingBufferProcessor authorizing concurrent {@link #onNext(long)} calls, using the passed
+	 * backlog size, wait strategy and auto-cancel settings.
+	 * @param name Use a new Cached ExecutorService and assign this name to the created threads
+	 * @param bufferSize A Backlog Size to mitigate slow subscribers, must be a power of 2
+	 * @param strategy A WaitStrategy to trade off cpu cycle for latency, null for the default lite blocking strategy
+	 * @param autoCancel Should this propagate cancellation when unregistered by all subscribers ?
+	 * @return a fresh processor
+	 */
+	public static LongRingBufferProcessor shareWork(String name, int bufferSize, WaitStrategy strategy,
+			boolean autoCancel) {
+		return new LongRingBufferProcessor(name, null, bufferSize, strategy, true, true, autoCancel);
+	}
+
+	private final LongRingBuffer ringBuffer;
+
+	private final boolean work;
+
+	private final Sequence minimum;
+
+	private final Sequence workSequence = Sequencer.newSequence(Sequencer.INITIAL_CURSOR_VALUE);
+
+	private final WaitStrategy readWait = new WaitStrategy.LiteBlocking();
+
+	/**
+	 * The sequence claimed by the terminal signal, written before that sequence is published so any consumer
+	 * observing it as available also observes the terminal sequence and {@link #error}.
+	 */
+	private volatile long terminalSequence = Long.MAX_VALUE;
+
+	private Throwable error;
+
+	private LongRingBufferProcessor(String name, ExecutorService executor, int bufferSize,
+			WaitStrategy waitStrategy, boolean shared, boolean work, boolean autoCancel) {
+		super(name, executor, autoCancel);
+		this.work = work;
+
+		Consumer<Void> spinObserver = new Consumer<Void>() {
+			@Override
+			public void accept(Void aVoid) {
+				if (!alive() && SUBSCRIBER_COUNT.get(LongRingBufferProcessor.this) == 0) {
+					throw AlertException.INSTANCE;
+				}
+			}
+		};
+
+		WaitStrategy strategy = waitStrategy != null ? waitStrategy :
+				(work ? new WaitStrategy.LiteBlocking() :
+						WaitStrategy.PhasedOff.withLiteLock(200, 100, TimeUnit.MILLISECONDS));
+
+		if (shared) {
+			this.ringBuffer = LongRingBuffer.createMultiProducer(bufferSize, strategy, spinObserver);
+		}
+		else {
+			this.ringBuffer = LongRingBuffer.createSingleProducer(bufferSize, strategy, spinObserver);
+		}
+
+		this.minimum = Sequencer.newSequence(-1);
+		if (work) {
+			ringBuffer.addGatingSequence(workSequence);
+		}
+	}
+
+	@Override
+	public void subscribe(final Subscriber<? super Long> subscriber) {
+		super.subscribe(subscriber);
+
+		if (!alive()) {
+			coldSource().subscribe(subscriber);
+			return;
+		}
+
+		final LongInner inner = new LongInner(this, subscriber);
+
+		if (work) {
+			incrementSubscribers();
+			inner.sequence.set(workSequence.get());
+		}
+		//if only active subscriber, replay missed data, otherwise only listen to new data
+		else if (incrementSubscribers()) {
+			inner.sequence.set(minimum.get());
+		}
+		else {
+			inner.sequence.set(ringBuffer.getCursor());
+		}
+		ringBuffer.addGatingSequence(inner.sequence);
+
+		try {
+			executor.execute(inner);
+		}
+		catch (Throwable t) {
+			ringBuffer.removeGatingSequence(inner.sequence);
+			decrementSubscribers();
+			if (!alive() && RejectedExecutionException.class.isAssignableFrom(t.getClass())) {
+				coldSource().subscribe(subscriber);
+			}
+			else {
+				Exceptions.<Long>publisher(t).subscribe(subscriber);
+			}
+		}
+	}
+
+	@Override
+	public void onNext(Long o) {
+		super.onNext(o);
+		ringBuffer.put(o);
+	}
+
+	/**
+	 * Publish a primitive value without boxing it.
+	 * @param value the value to signal
+	 */
+	public void onNext(long value) {
+		ringBuffer.put(value);
+	}
+
+	@Override
+	protected void doError(Throwable t) {
+		error = t;
+		publishTerminal();
+	}
+
+	@Override
+	protected void doComplete() {
+		publishTerminal();
+	}
+
+	private void publishTerminal() {
+		try {
+			long seqId = isInContext() ? ringBuffer.tryNext() : ringBuffer.next();
+			terminalSequence = seqId;
+			ringBuffer.publish(seqId);
+		}
+		catch (AlertException | InsufficientCapacityException ce) {
+			//ignore
+		}
+		readWait.signalAllWhenBlocking();
+	}
+
+	/**
+	 * @return a publisher replaying the values left in the ring, from the work sequence or the replay minimum, then
+	 * the terminal signal
+	 */
+	protected Publisher<Long> coldSource() {
+		ColdSource source = new ColdSource(this, work ? workSequence.get() : minimum.get());
+		return PublisherFactory.create(source, source);
+	}
+
+	@Override
+	public boolean isWork() {
+		return work;
+	}
+
+	@Override
+	public long pending() {
+		return ringBuffer.pending();
+	}
+
+	@Override
+	protected void requestTask(Subscription s) {
+		if (!work) {
+			minimum.set(ringBuffer.getCursor());
+			ringBuffer.addGatingSequence(minimum);
+		}
+		new NamedDaemonThreadFactory(name + "[request-task]", null, null, false)
+				.newThread(new RequestTask(s, new Consumer<Void>() {
+					@Override
+					public void accept(Void aVoid) {
+						if (!alive()) {
+							if (cancelled) {
+								throw CancelException.INSTANCE;
+							}
+							else {
+								throw AlertException.INSTANCE;
+							}
+						}
+					}
+				}, work ? null : new Consumer<Long>() {
+					@Override
+					public void accept(Long newMin) {
+						minimum.set(newMin);
+					}
+				}, new LongSupplier() {
+					@Override
+					public long get() {
+						if (work) {
+							return ringBuffer.getMinimumGatingSequence(null);
+						}
+						return SUBSCRIBER_COUNT.get(LongRingBufferProcessor.this) == 0 ?
+								minimum.get() :
+								ringBuffer.getMinimumGatingSequence(minimum);
+					}
+				}, readWait, this, ringBuffer.getBufferSize())).start();
+	}
+
+	@Override
+	protected void cancel(Subscription subscription) {
+		super.cancel(subscription);
+		readWait.signalAllWhenBlocking();
+	}
+
+	@Override
+	public String toString() {
+		return "LongRingBufferProcessor{" +
+				"work=" + work +
+				", ringBuffer=" + ringBuffer +
+				'}';
+	}
+
+	@Override
+	public long getAvailableCapacity() {
+		return ringBuffer.remainingCapacity();
+	}
+
+	@Override
+	public long getCapacity() {
+		return ringBuffer.getBufferSize();
+	}
+
+	@Override
+	public boolean isStarted() {
+		return super.isStarted() || ringBuffer.get() != -1;
+	}
+
+	@Override
+	public Iterator<?> downstreams() {
+		return Arrays.asList(ringBuffer.getSequencer().getGatingSequences()).iterator();
+	}
+
+	@Override
+	public long downstreamsCount() {
+		return ringBuffer.getSequencer().getGatingSequences().length - (work || isStarted() ? 1 : 0);
+	}
+
+	/**
+	 * Read the values left in the ring after the processor terminated.
+	 */
+	private final static class ColdSource
+			implements Consumer<SubscriberWithContext<Long, Sequence>>, Function<Subscriber<? super Long>, Sequence> {
+
+		private final LongRingBufferProcessor processor;
+		private final long                    startSequence;
+
+		ColdSource(LongRingBufferProcessor processor, long startSequence) {
+			this.processor = processor;
+			this.startSequence = startSequence;
+		}
+
+		@Override
+		public void accept(SubscriberWithContext<Long, Sequence> subscriber) {
+			final long cursor = subscriber.context().get() + 1L;
+
+			if (cursor >= processor.terminalSequence || cursor > processor.ringBuffer.getCursor()) {
+				Throwable e = processor.error;
+				if (e != null) {
+					subscriber.onError(e);
+				}
+				else {
+					subscriber.onComplete();
+				}
+			}
+			else {
+				subscriber.onNext(processor.ringBuffer.get(cursor));
+			}
+			subscriber.context().set(cursor);
+		}
+
+		@Override
+		public Sequence apply(Subscriber<? super Long> subscriber) {
+			return Sequencer.newSequence(startSequence);
+		}
+	}
+
+	/**
+	 * Subscriber event loop reading primitive values from the ring, either every value (topic) or values claimed
+	 * from the shared work sequence (work).
+	 */
+	private final static class LongInner
+			implements Runnable, Consumer<Void>, Downstream, Buffering, ActiveUpstream, ActiveDownstream, Inner,
+			           DownstreamDemand, Subscription, Upstream {
+
+		private final AtomicBoolean running = new AtomicBoolean(false);
+
+		private final Sequence sequence = Sequencer.wrap(Sequencer.INITIAL_CURSOR_VALUE, this);
+
+		private final Sequence pendingRequest = Sequencer.newSequence(0);
+
+		private final LongRingBufferProcessor processor;
+
+		private final SequenceBarrier barrier;
+
+		private final Subscriber<? super Long> subscriber;
+
+		private final LongSubscriber longSubscriber;
+
+		private boolean unbounded;
+
+		public LongInner(LongRingBufferProcessor processor, Subscriber<? super Long> subscriber) {
+			this.processor = processor;
+			this.subscriber = subscriber;
+			this.longSubscriber = subscriber instanceof LongSubscriber ? (LongSubscriber) subscriber : null;
+			this.barrier = processor.ringBuffer.newBarrier();
+		}
+
+		public void halt() {
+			running.set(false);
+			barrier.alert();
+		}
+
+		public boolean isRunning() {
+			return running.get();
+		}
+
+		@Override
+		public void accept(Void aVoid) {
+			if (barrier.isAlerted() || !isRunning()) {
+				throw AlertException.INSTANCE;
+			}
+		}
+
+		/**
+		 * It is ok to have another thread rerun this method after a halt().
+		 */
+		@Override
+		public void run() {
+			try {
+				if (!running.compareAndSet(false, true)) {
+					Exceptions.<Long>publisher(new IllegalStateException("Thread is already running"))
+					          .subscribe(subscriber);
+					return;
+				}
+
+				if (!processor.startSubscriber(subscriber, this)) {
+					return;
+				}
+
+				if (processor.work) {
+					runWork();
+				}
+				else {
+					runTopic();
+				}
+			}
+			catch (InterruptedException ie) {
+				Thread.currentThread()
+				      .interrupt();
+			}
+			finally {
+				processor.ringBuffer.removeGatingSequence(sequence);
+				processor.decrementSubscribers();
+				running.set(false);
+				processor.readWait.signalAllWhenBlocking();
+			}
+		}
+
+		private void runTopic() throws InterruptedException {
+			final LongRingBuffer ringBuffer = processor.ringBuffer;
+			long nextSequence = sequence.get() + 1L;
+
+			while (true) {
+				try {
+					final long availableSequence = barrier.waitFor(nextSequence, this);
+					final long terminal = processor.terminalSequence;
+					final long limit = Math.min(availableSequence, terminal - 1L);
+
+					while (nextSequence <= limit) {
+						if (!awaitDemand(nextSequence - 1L)) {
+							terminate();
+							return;
+						}
+						deliver(ringBuffer.get(nextSequence));
+						nextSequence++;
+					}
+					sequence.set(nextSequence - 1L);
+
+					if (nextSequence >= terminal && availableSequence >= terminal) {
+						terminate();
+						return;
+					}
+					if (SignalType.NOOP_SUBSCRIPTION != processor.upstreamSubscription) {
+						processor.readWait.signalAllWhenBlocking();
+					}
+				}
+				catch (final AlertException | CancelException ex) {
+					if (!running.get()) {
+						return;
+					}
+					barrier.clearAlert();
+				}
+				catch (final InterruptedException ie) {
+					throw ie;
+				}
+				catch (final Throwable ex) {
+					Exceptions.throwIfFatal(ex);
+					subscriber.onError(ex);
+					sequence.set(nextSequence);
+					nextSequence++;
+				}
+			}
+		}
+
+		private void runWork() throws InterruptedException {
+			final LongRingBuffer ringBuffer = processor.ringBuffer;
+			final Sequence workSequence = processor.workSequence;
+			boolean processedSequence = true;
+			long cachedAvailableSequence = Long.MIN_VALUE;
+			long nextSequence = sequence.get();
+
+			while (true) {
+				try {
+					if (processedSequence) {
+						//only claim a value once there is demand for it
+						if (!awaitDemand(nextSequence)) {
+							terminate();
+							return;
+						}
+						processedSequence = false;
+						do {
+							nextSequence = workSequence.get() + 1L;
+							if (nextSequence >= processor.terminalSequence) {
+								break;
+							}
+							sequence.set(nextSequence - 1L);
+						}
+						while (!workSequence.compareAndSet(nextSequence - 1L, nextSequence));
+					}
+
+					final long terminal = processor.terminalSequence;
+					if (nextSequence >= terminal) {
+						//every work subscriber shares the terminal slot rather than claiming it
+						barrier.waitFor(terminal, this);
+						sequence.set(nextSequence - 1L);
+						terminate();
+						return;
+					}
+
+					if (cachedAvailableSequence >= nextSequence) {
+						deliver(ringBuffer.get(nextSequence));
+						processedSequence = true;
+					}
+					else {
+						cachedAvailableSequence = barrier.waitFor(nextSequence, this);
+					}
+				}
+				catch (final AlertException | CancelException ex) {
+					if (!running.get()) {
+						return;
+					}
+					barrier.clearAlert();
+				}
+				catch (final InterruptedException ie) {
+					throw ie;
+				}
+				catch (final Throwable ex) {
+					Exceptions.throwIfFatal(ex);
+					subscriber.onError(ex);
+					processedSequence = true;
+				}
+			}
+		}
+
+		/**
+		 * Consume one unit of demand, parking until the subscriber requests more if needed. The consumer sequence
+		 * is published before parking so a bounded subscriber does not hold the producer back while it waits.
+		 *
+		 * @return false if a terminal signal can be delivered instead of waiting any longer
+		 */
+		private boolean awaitDemand(long consumed) {
+			if (unbounded) {
+				return true;
+			}
+			long r = BackpressureUtils.getAndSub(pendingRequest, 1L);
+			if (r == Long.MAX_VALUE) {
+				unbounded = true;
+				return true;
+			}
+			if (r != 0L) {
+				return true;
+			}
+			sequence.set(consumed);
+			processor.readWait.signalAllWhenBlocking();
+			do {
+				accept(null);
+				if (isTerminalAvailable()) {
+					return false;
+				}
+				LockSupport.parkNanos(1L);
+			}
+			while (BackpressureUtils.getAndSub(pendingRequest, 1L) == 0L);
+			return true;
+		}
+
+		/**
+		 * @return true if the terminal signal is published and either is an error, delivered without draining, or
+		 * no value is left to share between work subscribers
+		 */
+		private boolean isTerminalAvailable() {
+			final long terminal = processor.terminalSequence;
+			if (terminal == Long.MAX_VALUE || !processor.ringBuffer.getSequencer().isAvailable(terminal)) {
+				return false;
+			}
+			return processor.error != null || (processor.work && processor.workSequence.get() + 1L >= terminal);
+		}
+
+		private void deliver(long value) {
+			if (longSubscriber != null) {
+				longSubscriber.onNext(value);
+			}
+			else {
+				subscriber.onNext(value);
+			}
+		}
+
+		private void terminate() {
+			running.set(false);
+			Throwable e = processor.error;
+			if (e != null) {
+				subscriber.onError(e);
+			}
+			else {
+				subscriber.onComplete();
+			}
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return !running.get();
+		}
+
+		@Override
+		public boolean isStarted() {
+			return sequence.get() != -1L;
+		}
+
+		@Override
+		public boolean isTerminated() {
+			return !running.get();
+		}
+
+		@Override
+		public long requestedFromDownstream() {
+			return pendingRequest.get();
+		}
+
+		@Override
+		public long pending() {
+			return processor.ringBuffer.getCursor() - sequence.get();
+		}
+
+		@Override
+		public long getCapacity() {
+			return processor.getCapacity();
+		}
+
+		@Override
+		public Object downstream() {
+			return subscriber;
+		}
+
+		@Override
+		public Object upstream() {
+			return processor;
+		}
+
+		@Override
+		public void request(long n) {
+			if (BackpressureUtils.checkRequest(n, subscriber)) {
+				if (!isRunning()) {
+					return;
+				}
+
+				BackpressureUtils.getAndAdd(pendingRequest, n);
+			}
+		}
+
+		@Override
+		public void cancel() {
+			halt();
+		}
+	}
+
+}
@@ -41,6 +41,7 @@ import reactor.core.support.ReactiveState;
 import reactor.core.support.SignalType;
 import reactor.fn.BiConsumer;
 import reactor.fn.Consumer;
+import reactor.fn.Function;
 import reactor.fn.Supplier;
 
 /**
@@ -197,6 +198,10 @@ public class ProcessorGroup<T> implements Supplier<Processor<T, T>>, ReactiveSta
 			if (sharedProcessorReference != null && ProcessorBarrier.class.isAssignableFrom(sharedProcessorReference.getClass())) {
 				((ProcessorBarrier) sharedProcessorReference).cancel();
 			}
+			else if (sharedProcessorReference != null && PartitionedDispatcher.class.isAssignableFrom(
+					sharedProcessorReference.getClass())) {
+				release((Object[]) ((PartitionedDispatcher) sharedProcessorReference).dispatchers);
+			}
 		}
 	}
 
@@ -304,6 +309,46 @@ public class ProcessorGroup<T> implements Supplier<Processor<T, T>>, ReactiveSta
 		return createBarrier(false);
 	}
 
+	/**
+	 * Return the group signals for the given key should be dispatched on. A key always resolves to the same
+	 * underlying processor, signals for that key are then delivered in order by a single thread at a time while
+	 * distinct keys still spread over every processor of a pooled group.
+	 *
+	 * <p>
+	 * Only groups running their signals on a single worker or pooling one processor per worker can bind a key to a
+	 * thread: the workers of a group sharing one processor, such as a work queue or work-stealing group with a
+	 * concurrency above 1, pick signals in any order and reject partitioning.
+	 *
+	 * @param key the affinity key, {@code null} keys share a single partition
+	 * @return the {@link ProcessorGroup} bound to this key
+	 * @throws UnsupportedOperationException if several workers share the processor of this group
+	 */
+	public ProcessorGroup<T> partition(Object key) {
+		checkPartitionable();
+		return this;
+	}
+
+	/**
+	 * Create a data dispatcher routing each datum to the {@link #partition(Object)} of the key extracted by the given
+	 * function. Data sharing a key are consumed in dispatch order on the same thread, which allows lock-free per-key
+	 * state in the consumers.
+	 *
+	 * @param keyFunction the key extractor applied to each dispatched datum
+	 * @return a dispatcher to release with {@link ProcessorGroup#release(Object...)}
+	 * @throws UnsupportedOperationException if several workers share the processor of this group
+	 */
+	public BiConsumer<T, Consumer<? super T>> partitioned(Function<? super T, ?> keyFunction) {
+		checkPartitionable();
+		return dataDispatcher();
+	}
+
+	private void checkPartitionable() {
+		if (processor != null && concurrency > 1) {
+			throw new UnsupportedOperationException("Cannot partition a group of " + concurrency +
+					" workers sharing the same processor, use a pooled group such as Processors.asyncGroup instead");
+		}
+	}
+
 	public boolean awaitAndShutdown() {
 		return awaitAndShutdown(-1, TimeUnit.SECONDS);
 	}
@@ -1195,6 +1240,43 @@ public class ProcessorGroup<T> implements Supplier<Processor<T, T>>, ReactiveSta
 
 	}
 
+	static int partitionIndex(Object key, int partitions) {
+		if (key == null) {
+			return 0;
+		}
+		int h = key.hashCode();
+		h ^= h >>> 16;
+		return (h & Integer.MAX_VALUE) % partitions;
+	}
+
+	private static final class PartitionedDispatcher<T> implements BiConsumer<T, Consumer<? super T>>,
+	                                                               LinkedDownstreams {
+
+		private final Function<? super T, ?>               keyFunction;
+		private final BiConsumer<T, Consumer<? super T>>[] dispatchers;
+
+		public PartitionedDispatcher(Function<? super T, ?> keyFunction,
+				BiConsumer<T, Consumer<? super T>>[] dispatchers) {
+			this.keyFunction = keyFunction;
+			this.dispatchers = dispatchers;
+		}
+
+		@Override
+		public void accept(T data, Consumer<? super T> consumer) {
+			dispatchers[partitionIndex(keyFunction.apply(data), dispatchers.length)].accept(data, consumer);
+		}
+
+		@Override
+		public Iterator<?> downstreams() {
+			return Arrays.asList(dispatchers).iterator();
+		}
+
+		@Override
+		public long downstreamsCount() {
+			return dispatchers.length;
+		}
+	}
+
 	final static class SingleProcessorGroup<T> extends ProcessorGroup<T> {
 
 		public SingleProcessorGroup(Supplier<? extends Processor<Runnable, Runnable>> processor,
@@ -1315,6 +1397,22 @@ public class ProcessorGroup<T> implements Supplier<Processor<T, T>>, ReactiveSta
 			return next().get();
 		}
 
+		@Override
+		@SuppressWarnings("unchecked")
+		public ProcessorGroup<T> partition(Object key) {
+			return (ProcessorGroup<T>) processorGroups[partitionIndex(key, concurrency)];
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public BiConsumer<T, Consumer<? super T>> partitioned(Function<? super T, ?> keyFunction) {
+			BiConsumer<T, Consumer<? super T>>[] dispatchers = new BiConsumer[concurrency];
+			for (int i = 0; i < concurrency; i++) {
+				dispatchers[i] = processorGroups[i].dataDispatcher();
+			}
+			return new PartitionedDispatcher<>(keyFunction, dispatchers);
+		}
+
 		private class InnerProcessorGroup extends ProcessorGroup<T> implements Inner {
 
 			public InnerProcessorGroup(Supplier<? extends Processor<Runnable, Runnable>> processor,
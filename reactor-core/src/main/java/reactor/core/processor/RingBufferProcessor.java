@@ -18,6 +18,7 @@ package reactor.core.processor;
 
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -40,9 +41,11 @@ import reactor.core.support.rb.disruptor.Sequence;
 import reactor.core.support.rb.disruptor.SequenceBarrier;
 import reactor.core.support.rb.disruptor.Sequencer;
 import reactor.core.publisher.PublisherFactory;
+import reactor.core.subscriber.BatchSubscriber;
 import reactor.core.support.BackpressureUtils;
 import reactor.core.support.NamedDaemonThreadFactory;
 import reactor.core.support.ReactiveState;
+import reactor.core.support.ReactiveStateUtils;
 import reactor.core.support.SignalType;
 import reactor.core.support.WaitStrategy;
 import reactor.fn.Consumer;
@@ -73,7 +76,7 @@ import reactor.fn.Supplier;
  * @author Anatoly Kadyshev
  */
 public final class RingBufferProcessor<E> extends ExecutorProcessor<E, E>
-		implements ReactiveState.Buffering, ReactiveState.LinkedDownstreams{
+		implements ReactiveState.Buffering, ReactiveState.LinkedDownstreams, ReactiveState.Phased{
 
 	/**
 	 * Create a new RingBufferProcessor using {@link #SMALL_BUFFER_SIZE} backlog size,
@@ -546,6 +549,8 @@ public final class RingBufferProcessor<E> extends ExecutorProcessor<E, E>
 
 	private final RingBuffer<MutableSignal<E>> ringBuffer;
 
+	private final WaitStrategy strategy;
+
 	private final Sequence minimum;
 
 	private final WaitStrategy readWait = new WaitStrategy.LiteBlocking();
@@ -578,6 +583,7 @@ public final class RingBufferProcessor<E> extends ExecutorProcessor<E, E>
 		WaitStrategy strategy = waitStrategy == null ?
 				WaitStrategy.PhasedOff.withLiteLock(200, 100, TimeUnit.MILLISECONDS) :
 				waitStrategy;
+		this.strategy = strategy;
 		if (shared) {
 			this.ringBuffer = RingBuffer
 					.createMultiProducer(factory, bufferSize, strategy, spinObserver);
@@ -648,6 +654,20 @@ public final class RingBufferProcessor<E> extends ExecutorProcessor<E, E>
 		RingBufferSubscriberUtils.onNext(o, ringBuffer);
 	}
 
+	/**
+	 * Claim contiguous slot ranges for the given values and publish each range at once, saving a sequencer claim and
+	 * a consumer wakeup per element compared to successive {@link #onNext(Object)} calls.
+	 *
+	 * @param values the values to signal, none of them can be null
+	 */
+	@Override
+	public void onNextBatch(List<? extends E> values) {
+		for (int i = 0; i < values.size(); i++) {
+			super.onNext(values.get(i));
+		}
+		RingBufferSubscriberUtils.onNextBatch(values, ringBuffer);
+	}
+
 	@Override
 	protected void doError(Throwable t) {
 		RingBufferSubscriberUtils.onError(t, ringBuffer);
@@ -751,6 +771,14 @@ public final class RingBufferProcessor<E> extends ExecutorProcessor<E, E>
 		return ringBuffer.getBufferSize();
 	}
 
+	/**
+	 * @return the phase of the wait strategy used by the subscribers when it adapts at runtime, {@code null} otherwise
+	 */
+	@Override
+	public String currentPhase() {
+		return ReactiveStateUtils.getPhase(strategy);
+	}
+
 	@Override
 	public boolean isStarted() {
 		return super.isStarted() || ringBuffer.get() != -1;
@@ -847,6 +875,8 @@ public final class RingBufferProcessor<E> extends ExecutorProcessor<E, E>
 				MutableSignal<T> event = null;
 				long nextSequence = sequence.get() + 1L;
 				final boolean unbounded = pendingRequest.get() == Long.MAX_VALUE;
+				final BatchSubscriber<? super T> batchSubscriber =
+						subscriber instanceof BatchSubscriber ? (BatchSubscriber<? super T>) subscriber : null;
 
 				while (true) {
 					try {
@@ -868,7 +898,15 @@ public final class RingBufferProcessor<E> extends ExecutorProcessor<E, E>
 								}
 
 								//It's an unbounded subscriber or there is enough capacity to process the signal
-								RingBufferSubscriberUtils.route(event, subscriber);
+								if (batchSubscriber != null) {
+									//the range ends here if nothing else is available or no more is requested
+									RingBufferSubscriberUtils.route(event, batchSubscriber,
+											nextSequence == availableSequence ||
+													(!unbounded && pendingRequest.get() == 0L));
+								}
+								else {
+									RingBufferSubscriberUtils.route(event, subscriber);
+								}
 								nextSequence++;
 							}
 							else {
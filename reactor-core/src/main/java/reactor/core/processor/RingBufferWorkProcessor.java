@@ -18,6 +18,7 @@ package reactor.core.processor;
 
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -41,9 +42,11 @@ import reactor.core.support.rb.disruptor.Sequence;
 import reactor.core.support.rb.disruptor.SequenceBarrier;
 import reactor.core.support.rb.disruptor.Sequencer;
 import reactor.core.publisher.PublisherFactory;
+import reactor.core.subscriber.BatchSubscriber;
 import reactor.core.support.BackpressureUtils;
 import reactor.core.support.NamedDaemonThreadFactory;
 import reactor.core.support.ReactiveState;
+import reactor.core.support.ReactiveStateUtils;
 import reactor.core.support.SignalType;
 import reactor.core.support.internal.PlatformDependent;
 import reactor.core.support.WaitStrategy;
@@ -65,7 +68,7 @@ import reactor.fn.Supplier;
  * @author Stephane Maldini
  */
 public final class RingBufferWorkProcessor<E> extends ExecutorProcessor<E, E>
-		implements ReactiveState.Buffering, ReactiveState.LinkedDownstreams {
+		implements ReactiveState.Buffering, ReactiveState.LinkedDownstreams, ReactiveState.Phased {
 
 	/**
 	 * Create a new RingBufferWorkProcessor using {@link #SMALL_BUFFER_SIZE} backlog size,
@@ -498,6 +501,8 @@ public final class RingBufferWorkProcessor<E> extends ExecutorProcessor<E, E>
 
 	private final RingBuffer<MutableSignal<E>> ringBuffer;
 
+	private final WaitStrategy strategy;
+
 	private volatile RingBuffer<MutableSignal<E>> retryBuffer;
 
 	private final static AtomicReferenceFieldUpdater<RingBufferWorkProcessor, RingBuffer>
@@ -532,6 +537,7 @@ public final class RingBufferWorkProcessor<E> extends ExecutorProcessor<E, E>
 		WaitStrategy strategy = waitStrategy == null ?
 				new WaitStrategy.LiteBlocking() :
 				waitStrategy;
+		this.strategy = strategy;
 
 		if (share) {
 			this.ringBuffer = RingBuffer
@@ -589,6 +595,20 @@ public final class RingBufferWorkProcessor<E> extends ExecutorProcessor<E, E>
 		RingBufferSubscriberUtils.onNext(o, ringBuffer);
 	}
 
+	/**
+	 * Claim contiguous slot ranges for the given values and publish each range at once, saving a sequencer claim and
+	 * a consumer wakeup per element compared to successive {@link #onNext(Object)} calls.
+	 *
+	 * @param values the values to signal, none of them can be null
+	 */
+	@Override
+	public void onNextBatch(List<? extends E> values) {
+		for (int i = 0; i < values.size(); i++) {
+			super.onNext(values.get(i));
+		}
+		RingBufferSubscriberUtils.onNextBatch(values, ringBuffer);
+	}
+
 	@Override
 	protected void doError(Throwable t) {
 		RingBufferSubscriberUtils.onError(t, ringBuffer);
@@ -680,11 +700,23 @@ public final class RingBufferWorkProcessor<E> extends ExecutorProcessor<E, E>
 		return ringBuffer.getBufferSize();
 	}
 
+	/**
+	 * @return the phase of the wait strategy used by the subscribers when it adapts at runtime, {@code null} otherwise
+	 */
+	@Override
+	public String currentPhase() {
+		return ReactiveStateUtils.getPhase(strategy);
+	}
+
 	@Override
 	public boolean isWork() {
 		return true;
 	}
 
+	RingBuffer<MutableSignal<E>> ringBuffer() {
+		return ringBuffer;
+	}
+
 	@Override
 	public long pending() {
 		return ringBuffer.pending() + (retryBuffer != null ? retryBuffer.pending() : 0L);
@@ -739,6 +771,8 @@ public final class RingBufferWorkProcessor<E> extends ExecutorProcessor<E, E>
 
 		private final Subscriber<? super T> subscriber;
 
+		private long claimedAhead = Long.MIN_VALUE;
+
 		/**
 		 * Construct a ringbuffer consumer that will automatically track the progress by
 		 * updating its sequence
@@ -794,6 +828,8 @@ public final class RingBufferWorkProcessor<E> extends ExecutorProcessor<E, E>
 				long cachedAvailableSequence = Long.MIN_VALUE;
 				long nextSequence = sequence.get();
 				MutableSignal<T> event = null;
+				final BatchSubscriber<? super T> batchSubscriber =
+						subscriber instanceof BatchSubscriber ? (BatchSubscriber<? super T>) subscriber : null;
 
 				if (!RingBufferSubscriberUtils.waitRequestOrTerminalEvent(pendingRequest, processor.ringBuffer, barrier, subscriber, running, processor.workSequence, this)) {
 					return;
@@ -815,7 +851,13 @@ public final class RingBufferWorkProcessor<E> extends ExecutorProcessor<E, E>
 						// is thrown from the WorkHandler
 						if (processedSequence) {
 							processedSequence = false;
-							do {
+							if (claimedAhead != Long.MIN_VALUE) {
+								//a batch subscriber already owns the next sequence
+								nextSequence = claimedAhead;
+								claimedAhead = Long.MIN_VALUE;
+								sequence.set(nextSequence - 1L);
+							}
+							else do {
 								nextSequence = processor.workSequence.get() + 1L;
 
 								if (!unbounded) {
@@ -839,7 +881,14 @@ public final class RingBufferWorkProcessor<E> extends ExecutorProcessor<E, E>
 								throw CancelException.INSTANCE;
 							}
 
-							RingBufferSubscriberUtils.route(event, subscriber);
+							if (batchSubscriber != null) {
+								claimedAhead = claimAhead(cachedAvailableSequence, unbounded);
+								RingBufferSubscriberUtils.route(event, batchSubscriber,
+										claimedAhead == Long.MIN_VALUE);
+							}
+							else {
+								RingBufferSubscriberUtils.route(event, subscriber);
+							}
 
 							processedSequence = true;
 
@@ -903,6 +952,10 @@ public final class RingBufferWorkProcessor<E> extends ExecutorProcessor<E, E>
 				}
 			}
 			finally {
+				if (claimedAhead != Long.MIN_VALUE) {
+					reschedule(processor.ringBuffer.get(claimedAhead));
+					claimedAhead = Long.MIN_VALUE;
+				}
 				processor.decrementSubscribers();
 				processor.ringBuffer.removeGatingSequence(sequence);
 				/*if(processor.decrementSubscribers() == 0){
@@ -917,6 +970,29 @@ public final class RingBufferWorkProcessor<E> extends ExecutorProcessor<E, E>
 			}
 		}
 
+		/**
+		 * Try to claim the next work sequence while it is known to be available so a {@link BatchSubscriber} can be
+		 * told whether the value it is about to receive ends the batch. Only data signals are claimed ahead and
+		 * bounded subscribers must have pending demand left for it.
+		 *
+		 * @return the claimed sequence or {@link Long#MIN_VALUE} if the batch ends
+		 */
+		private long claimAhead(long availableSequence, boolean unbounded) {
+			if (!unbounded && pendingRequest.get() <= 0L) {
+				return Long.MIN_VALUE;
+			}
+			long current;
+			while ((current = processor.workSequence.get()) < availableSequence) {
+				if (processor.ringBuffer.get(current + 1L).type != SignalType.NEXT) {
+					return Long.MIN_VALUE;
+				}
+				if (processor.workSequence.compareAndSet(current, current + 1L)) {
+					return current + 1L;
+				}
+			}
+			return Long.MIN_VALUE;
+		}
+
 		private boolean replay(final boolean unbounded) {
 
 			if (REPLAYING.compareAndSet(processor, 0, 1)) {
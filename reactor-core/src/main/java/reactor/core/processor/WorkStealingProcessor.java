@@ -0,0 +1,649 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.processor;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.core.error.AlertException;
+import reactor.core.error.CancelException;
+import reactor.core.error.Exceptions;
+import reactor.core.error.InsufficientCapacityException;
+import reactor.core.support.BackpressureUtils;
+import reactor.core.support.ReactiveState;
+import reactor.core.support.WaitStrategy;
+import reactor.core.support.rb.RequestTask;
+import reactor.core.support.NamedDaemonThreadFactory;
+import reactor.core.support.rb.disruptor.RingBuffer;
+import reactor.core.support.rb.disruptor.Sequence;
+import reactor.core.support.rb.disruptor.Sequencer;
+import reactor.fn.Consumer;
+import reactor.fn.LongSupplier;
+
+/**
+ * A work-stealing implementation of a message-passing WorkProcessor. <p> Like {@link RingBufferWorkProcessor} each
+ * signal is delivered to only one of the subscribers, but every subscriber is backed by a worker owning a single
+ * producer ring buffer. Signals published from outside the workers land in a shared submission ring buffer that
+ * workers drain in batches into their own ring buffer, signals published from a worker thread go straight to the
+ * worker ring buffer. Workers running out of signals steal half of the backlog of the busiest worker, keeping every
+ * thread busy under skewed workloads. <p> There is no ordering guarantee between signals, the processor is meant for
+ * task-style dispatch such as {@link ProcessorGroup} executors.
+ * @param <E> Type of dispatched signal
+ * @since 2.1
+ */
+public final class WorkStealingProcessor<E> extends ExecutorProcessor<E, E>
+		implements ReactiveState.Buffering, ReactiveState.LinkedDownstreams {
+
+	/**
+	 * Create a new WorkStealingProcessor using {@link #SMALL_BUFFER_SIZE} backlog size and auto-cancel. <p> A new
+	 * Cached ThreadExecutorPool will be implicitely created and will run one worker per subscriber.
+	 * @param <E> Type of processed signals
+	 * @return a fresh processor
+	 */
+	public static <E> WorkStealingProcessor<E> create() {
+		return create(WorkStealingProcessor.class.getSimpleName(), SMALL_BUFFER_SIZE, true);
+	}
+
+	/**
+	 * Create a new WorkStealingProcessor using the passed buffer size and auto-cancel. <p> The buffer size applies
+	 * to both the shared submission ring buffer and each worker ring buffer.
+	 * @param name Use a new Cached ExecutorService and assign this name to the created threads
+	 * @param bufferSize A Backlog Size to mitigate slow subscribers
+	 * @param <E> Type of processed signals
+	 * @return a fresh processor
+	 */
+	public static <E> WorkStealingProcessor<E> create(String name, int bufferSize) {
+		return create(name, bufferSize, true);
+	}
+
+	/**
+	 * Create a new WorkStealingProcessor using the passed buffer size and auto-cancel settings.
+	 * @param name Use a new Cached ExecutorService and assign this name to the created threads
+	 * @param bufferSize A Backlog Size to mitigate slow subscribers
+	 * @param autoCancel Should this propagate cancellation when unregistered by all subscribers ?
+	 * @param <E> Type of processed signals
+	 * @return a fresh processor
+	 */
+	public static <E> WorkStealingProcessor<E> create(String name, int bufferSize, boolean autoCancel) {
+		return new WorkStealingProcessor<E>(name, null, bufferSize, autoCancel);
+	}
+
+	/**
+	 * Create a new WorkStealingProcessor using the passed executor, buffer size and auto-cancel settings.
+	 * @param executor A provided ExecutorService to manage threading infrastructure
+	 * @param bufferSize A Backlog Size to mitigate slow subscribers
+	 * @param autoCancel Should this propagate cancellation when unregistered by all subscribers ?
+	 * @param <E> Type of processed signals
+	 * @return a fresh processor
+	 */
+	public static <E> WorkStealingProcessor<E> create(ExecutorService executor, int bufferSize,
+			boolean autoCancel) {
+		return new WorkStealingProcessor<E>(null, executor, bufferSize, autoCancel);
+	}
+
+	private static final int  IDLE_SPINS      = 64;
+	private static final long IDLE_PARK_NANOS = 1000000L;
+
+	@SuppressWarnings("rawtypes")
+	private static final Worker[] EMPTY = new Worker[0];
+
+	/**
+	 * Instance
+	 */
+
+	private final RingBuffer<RingBuffer.Slot<E>> submissions;
+
+	private final Sequence submitSequence = Sequencer.newSequence(Sequencer.INITIAL_CURSOR_VALUE);
+
+	private final int bufferSize;
+
+	private final WaitStrategy readWait = new WaitStrategy.LiteBlocking();
+
+	private final ThreadLocal<Worker<E>> currentWorker = new ThreadLocal<>();
+
+	@SuppressWarnings("unchecked")
+	private volatile Worker<E>[] workers = EMPTY;
+
+	private volatile Throwable error;
+
+	private WorkStealingProcessor(String name, ExecutorService executor, int bufferSize, boolean autoCancel) {
+		super(name, executor, autoCancel);
+		this.bufferSize = bufferSize;
+		this.submissions = RingBuffer.createMultiProducer(bufferSize);
+		this.submissions.addGatingSequence(submitSequence);
+	}
+
+	@Override
+	public void subscribe(final Subscriber<? super E> subscriber) {
+		super.subscribe(subscriber);
+
+		if (!alive()) {
+			Throwable e = error;
+			Exceptions.<E>publisher(e != null ? e : CancelException.get()).subscribe(subscriber);
+			return;
+		}
+
+		final Worker<E> worker = new Worker<>(subscriber, this);
+		try {
+			incrementSubscribers();
+			addWorker(worker);
+			executor.execute(worker);
+		}
+		catch (Throwable t) {
+			removeWorker(worker);
+			decrementSubscribers();
+			if (!RejectedExecutionException.class.isAssignableFrom(t.getClass())) {
+				Exceptions.throwIfFatal(t);
+			}
+			Exceptions.<E>publisher(t).subscribe(subscriber);
+		}
+	}
+
+	@Override
+	public void onNext(E o) {
+		super.onNext(o);
+		Worker<E> worker = currentWorker.get();
+		if (worker != null && worker.processor == this && worker.push(o)) {
+			if (worker.backlog() > 1L) {
+				wakeIdle(worker);
+			}
+			return;
+		}
+		long seq = submissions.next();
+		submissions.get(seq).value = o;
+		submissions.publish(seq);
+		wakeIdle(null);
+	}
+
+	@Override
+	protected void doError(Throwable t) {
+		error = t;
+		wakeAll();
+		readWait.signalAllWhenBlocking();
+	}
+
+	@Override
+	protected void doComplete() {
+		wakeAll();
+		readWait.signalAllWhenBlocking();
+	}
+
+	@Override
+	protected void requestTask(Subscription s) {
+		new NamedDaemonThreadFactory(name + "[request-task]", null, null, false).newThread(new RequestTask(s,
+				new Consumer<Void>() {
+					@Override
+					public void accept(Void aVoid) {
+						if (!alive()) {
+							if (cancelled) {
+								throw CancelException.INSTANCE;
+							}
+							else {
+								throw AlertException.INSTANCE;
+							}
+						}
+					}
+				}, null, new LongSupplier() {
+			@Override
+			public long get() {
+				return submitSequence.get();
+			}
+		}, readWait, this, bufferSize)).start();
+	}
+
+	@Override
+	protected void cancel(Subscription subscription) {
+		super.cancel(subscription);
+		wakeAll();
+		readWait.signalAllWhenBlocking();
+	}
+
+	@Override
+	public long getCapacity() {
+		return bufferSize;
+	}
+
+	@Override
+	public long getAvailableCapacity() {
+		return submissions.remainingCapacity();
+	}
+
+	@Override
+	public long pending() {
+		long pending = submissions.getCursor() - submitSequence.get();
+		for (Worker<E> worker : workers) {
+			pending += worker.backlog();
+		}
+		return pending;
+	}
+
+	@Override
+	public boolean isWork() {
+		return true;
+	}
+
+	@Override
+	public Iterator<?> downstreams() {
+		return Arrays.asList(workers).iterator();
+	}
+
+	@Override
+	public long downstreamsCount() {
+		return workers.length;
+	}
+
+	@Override
+	public String toString() {
+		return "WorkStealingProcessor{" +
+				"submissions=" + submissions +
+				", workers=" + workers.length +
+				", executor=" + executor +
+				'}';
+	}
+
+	private synchronized void addWorker(Worker<E> worker) {
+		Worker<E>[] current = workers;
+		Worker<E>[] next = Arrays.copyOf(current, current.length + 1);
+		next[current.length] = worker;
+		workers = next;
+	}
+
+	@SuppressWarnings("unchecked")
+	private synchronized void removeWorker(Worker<E> worker) {
+		Worker<E>[] current = workers;
+		int n = current.length;
+		for (int i = 0; i < n; i++) {
+			if (current[i] == worker) {
+				Worker<E>[] next = n == 1 ? EMPTY : new Worker[n - 1];
+				System.arraycopy(current, 0, next, 0, i);
+				System.arraycopy(current, i + 1, next, i, n - i - 1);
+				workers = next;
+				return;
+			}
+		}
+	}
+
+	private void wakeIdle(Worker<E> except) {
+		for (Worker<E> worker : workers) {
+			if (worker != except && worker.parked) {
+				worker.unpark();
+				return;
+			}
+		}
+	}
+
+	private void wakeAll() {
+		for (Worker<E> worker : workers) {
+			worker.unpark();
+		}
+	}
+
+	/**
+	 * Drain a batch of submissions into the given worker ring buffer.
+	 *
+	 * @return the number of signals transferred
+	 */
+	private int drainSubmissions(Worker<E> worker) {
+		for (; ; ) {
+			long consumed = submitSequence.get();
+			long cursor = submissions.getCursor();
+			if (cursor <= consumed) {
+				return 0;
+			}
+			long available = submissions.getSequencer()
+			                            .getHighestPublishedSequence(consumed + 1L, cursor) - consumed;
+			if (available <= 0L) {
+				return 0;
+			}
+			int n = (int) Math.min(Math.max(1L, available / Math.max(1, workers.length)), bufferSize);
+			for (int i = 0; i < n; i++) {
+				worker.scratch[i] = submissions.get(consumed + 1L + i).value;
+			}
+			if (submitSequence.compareAndSet(consumed, consumed + n)) {
+				readWait.signalAllWhenBlocking();
+				worker.pushAll(n);
+				return n;
+			}
+		}
+	}
+
+	/**
+	 * Steal half of the backlog of the busiest other worker into the given worker ring buffer.
+	 *
+	 * @return the number of signals transferred
+	 */
+	private int steal(Worker<E> thief) {
+		Worker<E> victim = null;
+		long max = 0L;
+		for (Worker<E> worker : workers) {
+			long backlog;
+			if (worker != thief && (backlog = worker.backlog()) > max) {
+				max = backlog;
+				victim = worker;
+			}
+		}
+		if (victim == null) {
+			return 0;
+		}
+		int n = victim.takeInto(thief.scratch, (int) Math.max(1L, max >> 1));
+		if (n > 0) {
+			thief.pushAll(n);
+		}
+		return n;
+	}
+
+	/**
+	 * A subscriber bound worker owning a single producer ring buffer. Only the worker thread publishes into that ring
+	 * buffer while the worker itself and the thieves claim signals by moving the shared head sequence forward.
+	 */
+	private final static class Worker<T>
+			implements Runnable, Subscription, Downstream, Upstream, Buffering, ActiveUpstream, ActiveDownstream,
+			           DownstreamDemand, Inner {
+
+		private final WorkStealingProcessor<T> processor;
+		private final Subscriber<? super T>    subscriber;
+		private final RingBuffer<RingBuffer.Slot<T>> ring;
+		private final Sequence head = Sequencer.newSequence(Sequencer.INITIAL_CURSOR_VALUE);
+		private final Sequence pendingRequest = Sequencer.newSequence(0L);
+		private final AtomicBoolean running = new AtomicBoolean(false);
+		private final Object[] scratch;
+		private final Object[] single = new Object[1];
+
+		private volatile Thread  thread;
+		private volatile boolean parked;
+
+		Worker(Subscriber<? super T> subscriber, WorkStealingProcessor<T> processor) {
+			this.subscriber = subscriber;
+			this.processor = processor;
+			this.ring = RingBuffer.createSingleProducer(processor.bufferSize);
+			this.ring.addGatingSequence(head);
+			this.scratch = new Object[processor.bufferSize];
+		}
+
+		@Override
+		public void run() {
+			try {
+				if (!running.compareAndSet(false, true)) {
+					Exceptions.<T>publisher(new IllegalStateException("Thread is already running"))
+					          .subscribe(subscriber);
+					return;
+				}
+				thread = Thread.currentThread();
+				processor.currentWorker.set(this);
+
+				if (!processor.startSubscriber(subscriber, this)) {
+					return;
+				}
+
+				int idle = 0;
+				while (running.get()) {
+					if (pendingRequest.get() == 0L) {
+						if (!processor.alive()) {
+							terminate();
+							return;
+						}
+						idle = idle(idle);
+						continue;
+					}
+
+					if (poll()) {
+						idle = 0;
+						@SuppressWarnings("unchecked")
+						T value = (T) single[0];
+						single[0] = null;
+						if (pendingRequest.get() != Long.MAX_VALUE) {
+							pendingRequest.addAndGet(-1L);
+						}
+						try {
+							subscriber.onNext(value);
+						}
+						catch (CancelException ce) {
+							break;
+						}
+						catch (Throwable t) {
+							Exceptions.throwIfFatal(t);
+							subscriber.onError(t);
+							break;
+						}
+					}
+					else if (!processor.alive() && isDrained()) {
+						terminate();
+						return;
+					}
+					else {
+						idle = idle(idle);
+					}
+				}
+			}
+			finally {
+				running.set(false);
+				processor.currentWorker.remove();
+				processor.removeWorker(this);
+				resubmit();
+				processor.decrementSubscribers();
+			}
+		}
+
+		@Override
+		public void request(long n) {
+			if (BackpressureUtils.checkRequest(n, subscriber)) {
+				BackpressureUtils.getAndAdd(pendingRequest, n);
+				unpark();
+			}
+		}
+
+		@Override
+		public void cancel() {
+			running.set(false);
+			unpark();
+		}
+
+		long backlog() {
+			return ring.getCursor() - head.get();
+		}
+
+		/**
+		 * Publish into this worker ring buffer, must be called from the worker thread.
+		 */
+		boolean push(T value) {
+			long seq;
+			try {
+				seq = ring.tryNext();
+			}
+			catch (InsufficientCapacityException ice) {
+				return false;
+			}
+			ring.get(seq).value = value;
+			ring.publish(seq);
+			return true;
+		}
+
+		/**
+		 * Publish the first {@code n} scratch values into this worker ring buffer, must be called from the worker
+		 * thread while its ring buffer is empty.
+		 */
+		@SuppressWarnings("unchecked")
+		void pushAll(int n) {
+			long hi = ring.next(n);
+			long lo = hi - n + 1L;
+			for (int i = 0; i < n; i++) {
+				ring.get(lo + i).value = (T) scratch[i];
+				scratch[i] = null;
+			}
+			ring.publish(lo, hi);
+		}
+
+		/**
+		 * Claim up to {@code max} signals from this worker ring buffer. Values are read before the head is moved so
+		 * a successful claim guarantees the producer did not reuse their slots in between.
+		 *
+		 * @return the number of claimed signals copied into the target array
+		 */
+		int takeInto(Object[] target, int max) {
+			for (; ; ) {
+				long consumed = head.get();
+				long available = ring.getCursor() - consumed;
+				if (available <= 0L) {
+					return 0;
+				}
+				int n = (int) Math.min(available, max);
+				for (int i = 0; i < n; i++) {
+					target[i] = ring.get(consumed + 1L + i).value;
+				}
+				if (head.compareAndSet(consumed, consumed + n)) {
+					return n;
+				}
+			}
+		}
+
+		void unpark() {
+			Thread t = thread;
+			if (t != null) {
+				LockSupport.unpark(t);
+			}
+		}
+
+		/**
+		 * Claim the next signal from this worker ring buffer, refilling it from the submissions or from another worker
+		 * when empty.
+		 */
+		private boolean poll() {
+			return takeInto(single, 1) == 1 ||
+					(processor.drainSubmissions(this) > 0 || processor.steal(this) > 0) && takeInto(single, 1) == 1;
+		}
+
+		private int idle(int idle) {
+			if (idle < IDLE_SPINS) {
+				Thread.yield();
+				return idle + 1;
+			}
+			parked = true;
+			try {
+				if (running.get()) {
+					LockSupport.parkNanos(IDLE_PARK_NANOS);
+				}
+			}
+			finally {
+				parked = false;
+			}
+			return idle;
+		}
+
+		private boolean isDrained() {
+			if (processor.submissions.getCursor() > processor.submitSequence.get() || backlog() > 0L) {
+				return false;
+			}
+			for (Worker<T> worker : processor.workers) {
+				if (worker.backlog() > 0L) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private void terminate() {
+			running.set(false);
+			Throwable e = processor.error;
+			if (e != null) {
+				subscriber.onError(e);
+			}
+			else {
+				subscriber.onComplete();
+			}
+		}
+
+		/**
+		 * Hand the backlog of this exiting worker back to the submissions. The submissions are never claimed with a
+		 * blocking call: while they are full the remaining workers are woken up and given time to drain them, and if
+		 * no worker is left to do so the remaining signals are dropped.
+		 */
+		private void resubmit() {
+			RingBuffer<RingBuffer.Slot<T>> submissions = processor.submissions;
+			int n;
+			while ((n = takeInto(scratch, scratch.length)) > 0) {
+				for (int i = 0; i < n; i++) {
+					long seq;
+					for (; ; ) {
+						try {
+							seq = submissions.tryNext();
+							break;
+						}
+						catch (InsufficientCapacityException ice) {
+							if (processor.workers.length == 0) {
+								Arrays.fill(scratch, null);
+								return;
+							}
+							processor.wakeIdle(this);
+							LockSupport.parkNanos(IDLE_PARK_NANOS);
+						}
+					}
+					@SuppressWarnings("unchecked")
+					T value = (T) scratch[i];
+					submissions.get(seq).value = value;
+					submissions.publish(seq);
+					scratch[i] = null;
+				}
+			}
+			processor.wakeIdle(this);
+		}
+
+		@Override
+		public long requestedFromDownstream() {
+			return pendingRequest.get();
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return !running.get();
+		}
+
+		@Override
+		public boolean isStarted() {
+			return thread != null;
+		}
+
+		@Override
+		public boolean isTerminated() {
+			return !running.get();
+		}
+
+		@Override
+		public long pending() {
+			return backlog();
+		}
+
+		@Override
+		public long getCapacity() {
+			return ring.getBufferSize();
+		}
+
+		@Override
+		public Object downstream() {
+			return subscriber;
+		}
+
+		@Override
+		public Object upstream() {
+			return processor;
+		}
+	}
+}
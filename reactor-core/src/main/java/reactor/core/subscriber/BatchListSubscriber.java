@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.subscriber;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.reactivestreams.Subscription;
+import reactor.core.error.Exceptions;
+import reactor.core.error.ReactorFatalException;
+import reactor.core.error.SpecificationExceptions;
+import reactor.core.support.BackpressureUtils;
+import reactor.core.support.ReactiveState;
+import reactor.fn.Consumer;
+
+/**
+ * A {@link BatchSubscriber} collecting values into a {@link List} handed to a {@link Consumer} at the end of every
+ * batch, or as soon as {@code maxBatchSize} values are collected. A fresh list is created for each batch so the
+ * consumer is free to retain it. The pending values are handed over before the terminal signal is processed.
+ *
+ * @param <T> the received type
+ * @since 2.1
+ */
+public class BatchListSubscriber<T> implements BatchSubscriber<T>, ReactiveState.Upstream,
+                                               ReactiveState.ActiveUpstream, ReactiveState.Buffering {
+
+	private final Consumer<? super List<T>>   batchConsumer;
+	private final Consumer<? super Throwable> errorConsumer;
+	private final Consumer<Void>              completeConsumer;
+	private final int                         maxBatchSize;
+
+	private Subscription subscription;
+	private List<T>      batch;
+	private boolean      terminated;
+
+	/**
+	 * @param batchConsumer    the consumer receiving each batch
+	 * @param errorConsumer    the consumer receiving the error if any, or {@code null} to rethrow it
+	 * @param completeConsumer the consumer invoked on completion, can be {@code null}
+	 * @param maxBatchSize     the maximum number of values collected before flushing a batch
+	 */
+	public BatchListSubscriber(Consumer<? super List<T>> batchConsumer,
+			Consumer<? super Throwable> errorConsumer,
+			Consumer<Void> completeConsumer,
+			int maxBatchSize) {
+		if (maxBatchSize < 1) {
+			throw new IllegalArgumentException("maxBatchSize must be strictly positive");
+		}
+		this.batchConsumer = batchConsumer;
+		this.errorConsumer = errorConsumer;
+		this.completeConsumer = completeConsumer;
+		this.maxBatchSize = maxBatchSize;
+	}
+
+	@Override
+	public void onSubscribe(Subscription s) {
+		if (BackpressureUtils.checkSubscription(subscription, s)) {
+			subscription = s;
+			s.request(Long.MAX_VALUE);
+		}
+	}
+
+	@Override
+	public void onNext(T t) {
+		onNext(t, true);
+	}
+
+	@Override
+	public void onNext(T t, boolean endOfBatch) {
+		if (t == null) {
+			throw SpecificationExceptions.spec_2_13_exception();
+		}
+		List<T> batch = this.batch;
+		if (batch == null) {
+			batch = new ArrayList<T>(Math.min(maxBatchSize, 64));
+			this.batch = batch;
+		}
+		batch.add(t);
+		if (endOfBatch || batch.size() >= maxBatchSize) {
+			try {
+				flush();
+			}
+			catch (Throwable e) {
+				Exceptions.throwIfFatal(e);
+				Subscription s = subscription;
+				if (s != null) {
+					subscription = null;
+					s.cancel();
+				}
+				onError(Exceptions.addValueAsLastCause(e, t));
+			}
+		}
+	}
+
+	@Override
+	public void onError(Throwable t) {
+		if (t == null) {
+			throw SpecificationExceptions.spec_2_13_exception();
+		}
+		if (terminated) {
+			return;
+		}
+		terminated = true;
+		subscription = null;
+		batch = null;
+		if (errorConsumer != null) {
+			errorConsumer.accept(t);
+		}
+		else {
+			throw ReactorFatalException.create(t);
+		}
+	}
+
+	@Override
+	public void onComplete() {
+		if (terminated) {
+			return;
+		}
+		try {
+			flush();
+		}
+		catch (Throwable e) {
+			Exceptions.throwIfFatal(e);
+			onError(e);
+			return;
+		}
+		terminated = true;
+		subscription = null;
+		if (completeConsumer != null) {
+			completeConsumer.accept(null);
+		}
+	}
+
+	@Override
+	public Object upstream() {
+		return subscription;
+	}
+
+	@Override
+	public boolean isStarted() {
+		return subscription != null;
+	}
+
+	@Override
+	public boolean isTerminated() {
+		return terminated;
+	}
+
+	@Override
+	public long pending() {
+		List<T> batch = this.batch;
+		return batch == null ? 0L : batch.size();
+	}
+
+	@Override
+	public long getCapacity() {
+		return maxBatchSize;
+	}
+
+	private void flush() {
+		List<T> batch = this.batch;
+		if (batch != null && !batch.isEmpty()) {
+			this.batch = null;
+			batchConsumer.accept(batch);
+		}
+	}
+}
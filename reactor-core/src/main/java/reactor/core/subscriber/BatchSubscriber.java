@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.subscriber;
+
+import org.reactivestreams.Subscriber;
+
+/**
+ * A {@link Subscriber} that can be told when a value closes a batch, i.e. when the publisher has no further value
+ * immediately available for it. Ring buffer backed processors such as {@link reactor.core.processor
+ * .RingBufferProcessor} and {@link reactor.core.processor.RingBufferWorkProcessor} detect this contract and call
+ * {@link #onNext(Object, boolean)} with the end of each drained range, allowing sinks writing to disk or sockets to
+ * flush once per range rather than once per value.
+ * <p>
+ * Other publishers use the plain {@link #onNext(Object)} which implementations should treat as a single value batch.
+ * Terminal signals also end any pending batch.
+ *
+ * @param <T> the received type
+ * @since 2.1
+ */
+public interface BatchSubscriber<T> extends Subscriber<T> {
+
+	/**
+	 * Receive the next value along with an end of batch marker.
+	 *
+	 * @param t          the received value
+	 * @param endOfBatch {@literal true} if no other value is immediately available after this one
+	 */
+	void onNext(T t, boolean endOfBatch);
+}
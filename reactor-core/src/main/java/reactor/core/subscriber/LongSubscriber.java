@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.subscriber;
+
+import org.reactivestreams.Subscriber;
+
+/**
+ * A {@link Subscriber} of primitive {@literal long} values. Primitive processors such as {@link
+ * reactor.core.processor.LongRingBufferProcessor} detect this contract and call {@link #onNext(long)} straight from
+ * their backing {@literal long[]}, so that neither side boxes the value.
+ * <p>
+ * Other publishers use the boxed {@link #onNext(Object)} which implementations should route to {@link
+ * #onNext(long)}.
+ *
+ * @since 2.1
+ */
+public interface LongSubscriber extends Subscriber<Long> {
+
+	/**
+	 * Receive the next primitive value.
+	 *
+	 * @param value the received value
+	 */
+	void onNext(long value);
+}
@@ -279,6 +279,44 @@ public interface ReactiveState {
 		long period();
 	}
 
+	/**
+	 * A timed component that tracks how far behind its deadlines it runs
+	 */
+	interface Lagging extends Timed {
+
+		/**
+		 * Return the number of tasks currently scheduled
+		 */
+		long scheduled();
+
+		/**
+		 * Return the number of ticks that started later than one period after their deadline
+		 */
+		long tickOverruns();
+
+		/**
+		 * Return the number of fired tasks waiting for execution or -1 if unknown
+		 */
+		long pendingExecutions();
+
+		/**
+		 * Return the count of executed tasks per lateness bucket, bucket {@code i > 0} counting tasks that ran
+		 * at least {@code 2^(i-1)} milliseconds late, or null if not tracked
+		 */
+		long[] lateness();
+	}
+
+	/**
+	 * A component that switches between operating phases at runtime, e.g. an adaptive wait strategy
+	 */
+	interface Phased extends ReactiveState {
+
+		/**
+		 * Return the name of the phase currently in use
+		 */
+		String currentPhase();
+	}
+
 	/**
 	 * A component that is delegating to a sub-flow (processor, or publisher/subscriber chain)
 	 */
@@ -16,10 +16,12 @@
 
 package reactor.core.support;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.WeakHashMap;
@@ -266,6 +268,66 @@ public final class ReactiveStateUtils implements ReactiveState {
 		return -1;
 	}
 
+	/**
+	 *
+	 * @param o
+	 * @return
+	 */
+	public static long getScheduled(Object o) {
+		if (reactiveStateCheck(o, Lagging.class)) {
+			return ((Lagging) o).scheduled();
+		}
+		return -1L;
+	}
+
+	/**
+	 *
+	 * @param o
+	 * @return
+	 */
+	public static long getTickOverruns(Object o) {
+		if (reactiveStateCheck(o, Lagging.class)) {
+			return ((Lagging) o).tickOverruns();
+		}
+		return -1L;
+	}
+
+	/**
+	 *
+	 * @param o
+	 * @return
+	 */
+	public static long getPendingExecutions(Object o) {
+		if (reactiveStateCheck(o, Lagging.class)) {
+			return ((Lagging) o).pendingExecutions();
+		}
+		return -1L;
+	}
+
+	/**
+	 *
+	 * @param o
+	 * @return
+	 */
+	public static long[] getLateness(Object o) {
+		if (reactiveStateCheck(o, Lagging.class)) {
+			return ((Lagging) o).lateness();
+		}
+		return null;
+	}
+
+	/**
+	 *
+	 * @param o
+	 * @return
+	 */
+	public static String getPhase(Object o) {
+		if (reactiveStateCheck(o, Phased.class)) {
+			return ((Phased) o).currentPhase();
+		}
+		return null;
+	}
+
 	/**
 	 *
 	 * @param o
@@ -774,6 +836,34 @@ public final class ReactiveStateUtils implements ReactiveState {
 			return ReactiveStateUtils.getTimedPeriod(object);
 		}
 
+		public final String getPhase() {
+			return ReactiveStateUtils.getPhase(object);
+		}
+
+		public final long getScheduled() {
+			return ReactiveStateUtils.getScheduled(object);
+		}
+
+		public final long getTickOverruns() {
+			return ReactiveStateUtils.getTickOverruns(object);
+		}
+
+		public final long getPendingExecutions() {
+			return ReactiveStateUtils.getPendingExecutions(object);
+		}
+
+		public final List<Long> getLateness() {
+			long[] lateness = ReactiveStateUtils.getLateness(object);
+			if (lateness == null) {
+				return null;
+			}
+			List<Long> buckets = new ArrayList<>(lateness.length);
+			for (long count : lateness) {
+				buckets.add(count);
+			}
+			return buckets;
+		}
+
 		public final Throwable getFailedState() {
 			return ReactiveStateUtils.getFailedState(object);
 		}
@@ -871,6 +961,11 @@ public final class ReactiveStateUtils implements ReactiveState {
 				}
 
 				indent(property("period", getPeriod()), res, i, true);
+				indent(property("phase", getPhase()), res, i, true);
+				indent(property("scheduled", getScheduled()), res, i, true);
+				indent(property("tickOverruns", getTickOverruns()), res, i, true);
+				indent(property("pendingExecutions", getPendingExecutions()), res, i, true);
+				indent(property("lateness", getLateness()), res, i, true);
 				indent(property("capacity", getCapacity()), res, i, true);
 				indent(property("group", getGroup()), res, i, true);
 				//indent(property("type", object.getClass().getName()), res, i, true);
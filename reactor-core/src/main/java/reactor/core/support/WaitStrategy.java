@@ -55,6 +55,251 @@ public interface WaitStrategy
      */
     void signalAllWhenBlocking();
 
+    /**
+     * <p>Adaptive wait strategy that moves between spinning, yielding and parking from what it observes at
+     * runtime.</p>
+     *
+     * <p>Two moving averages drive the decision: how long consumers end up waiting for the cursor to advance and
+     * how long a parked consumer takes to wake up after {@link #signalAllWhenBlocking()}. Spinning for longer than a
+     * park/unpark round trip never pays off, so the wake-up latency bounds the spin phase and a multiple of it bounds
+     * the yield phase. Consumers that usually wait longer than both go straight to parking. The averages are updated
+     * without coordination between consumers, a lost sample only delays convergence.</p>
+     *
+     * <p>The phase currently selected is exposed through {@link ReactiveState.Phased}.</p>
+     */
+    final class Adaptive implements WaitStrategy, ReactiveState.Phased
+    {
+        public enum Phase
+        {
+            SPIN, YIELD, PARK
+        }
+
+        private static final int  SPIN_TRIES           = 100;
+        private static final int  YIELD_FACTOR         = 8;
+        private static final int  SMOOTHING_SHIFT      = 3;
+        private static final long MIN_SPIN_NANOS       = 1000L;
+        private static final long MAX_SPIN_NANOS       = 1000000L;
+        private static final long DEFAULT_WAKEUP_NANOS = 50000L;
+
+        private static final LongSupplier NANO_CLOCK = new LongSupplier()
+        {
+            @Override
+            public long get()
+            {
+                return System.nanoTime();
+            }
+        };
+
+        private final Lock          lock                     = new ReentrantLock();
+        private final Condition     processorNotifyCondition = lock.newCondition();
+        private final AtomicBoolean signalNeeded             = new AtomicBoolean(false);
+        private final LongSupplier  clock;
+
+        private volatile Phase phase = Phase.SPIN;
+        private volatile long  averageWaitNanos;
+        private volatile long  averageWakeupNanos;
+        private volatile long  lastSignalNanos;
+
+        public Adaptive()
+        {
+            this(DEFAULT_WAKEUP_NANOS, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * @param initialWakeupLatency wake-up latency assumed until the first park has been measured
+         * @param units unit of the initial wake-up latency
+         */
+        public Adaptive(long initialWakeupLatency, TimeUnit units)
+        {
+            this(initialWakeupLatency, units, NANO_CLOCK);
+        }
+
+        /**
+         * @param initialWakeupLatency wake-up latency assumed until the first park has been measured
+         * @param units unit of the initial wake-up latency
+         * @param clock the nanosecond time source used to measure waits and wake-ups
+         */
+        Adaptive(long initialWakeupLatency, TimeUnit units, LongSupplier clock)
+        {
+            this.averageWakeupNanos = units.toNanos(initialWakeupLatency);
+            this.clock = clock;
+        }
+
+        @Override
+        public long waitFor(long sequence, LongSupplier cursor, Consumer<Void> barrier)
+            throws AlertException, InterruptedException
+        {
+            long availableSequence;
+            if ((availableSequence = cursor.get()) >= sequence)
+            {
+                long expectedWait = averageWaitNanos;
+                if (expectedWait != 0L)
+                {
+                    expectedWait = smooth(expectedWait, 0L);
+                    averageWaitNanos = expectedWait;
+                    select(expectedWait, spinBudget());
+                }
+                return availableSequence;
+            }
+
+            long spinBudget = spinBudget();
+            long yieldBudget = spinBudget * YIELD_FACTOR;
+            Phase current = select(averageWaitNanos, spinBudget);
+
+            long startTime = clock.get();
+            int counter = SPIN_TRIES;
+
+            while (current != Phase.PARK && (availableSequence = cursor.get()) < sequence)
+            {
+                barrier.accept(null);
+                if (current == Phase.YIELD)
+                {
+                    Thread.yield();
+                }
+                if (0 == --counter)
+                {
+                    counter = SPIN_TRIES;
+                    long timeDelta = clock.get() - startTime;
+                    if (timeDelta > yieldBudget)
+                    {
+                        current = Phase.PARK;
+                    }
+                    else if (timeDelta > spinBudget)
+                    {
+                        current = Phase.YIELD;
+                    }
+                }
+            }
+
+            if (current == Phase.PARK)
+            {
+                availableSequence = park(sequence, cursor, barrier);
+            }
+
+            averageWaitNanos = smooth(averageWaitNanos, clock.get() - startTime);
+            return availableSequence;
+        }
+
+        @Override
+        public void signalAllWhenBlocking()
+        {
+            if (signalNeeded.getAndSet(false))
+            {
+                lastSignalNanos = clock.get();
+                lock.lock();
+                try
+                {
+                    processorNotifyCondition.signalAll();
+                }
+                finally
+                {
+                    lock.unlock();
+                }
+            }
+        }
+
+        /**
+         * @return the phase selected by the last consumer that had to wait
+         */
+        public Phase phase()
+        {
+            return phase;
+        }
+
+        @Override
+        public String currentPhase()
+        {
+            return phase.name();
+        }
+
+        /**
+         * @return the smoothed time consumers waited for the cursor to advance, in nanoseconds
+         */
+        public long averageWaitNanos()
+        {
+            return averageWaitNanos;
+        }
+
+        /**
+         * @return the smoothed latency between a signal and a parked consumer waking up, in nanoseconds
+         */
+        public long averageWakeupNanos()
+        {
+            return averageWakeupNanos;
+        }
+
+        @Override
+        public String toString()
+        {
+            return "Adaptive{phase=" + phase +
+                    ", averageWaitNanos=" + averageWaitNanos +
+                    ", averageWakeupNanos=" + averageWakeupNanos +
+                    '}';
+        }
+
+        private long park(long sequence, LongSupplier cursor, Consumer<Void> barrier)
+            throws AlertException, InterruptedException
+        {
+            long availableSequence;
+            lock.lock();
+            try
+            {
+                do
+                {
+                    signalNeeded.getAndSet(true);
+
+                    if ((availableSequence = cursor.get()) >= sequence)
+                    {
+                        break;
+                    }
+
+                    barrier.accept(null);
+                    long parkTime = clock.get();
+                    processorNotifyCondition.await();
+
+                    long signalTime = lastSignalNanos;
+                    if (signalTime - parkTime >= 0L)
+                    {
+                        averageWakeupNanos = smooth(averageWakeupNanos, clock.get() - signalTime);
+                    }
+                }
+                while ((availableSequence = cursor.get()) < sequence);
+            }
+            finally
+            {
+                lock.unlock();
+            }
+
+            while ((availableSequence = cursor.get()) < sequence)
+            {
+                barrier.accept(null);
+            }
+
+            return availableSequence;
+        }
+
+        private long spinBudget()
+        {
+            return Math.min(MAX_SPIN_NANOS, Math.max(MIN_SPIN_NANOS, averageWakeupNanos));
+        }
+
+        private Phase select(long expectedWait, long spinBudget)
+        {
+            Phase selected = expectedWait <= spinBudget ? Phase.SPIN :
+                    (expectedWait <= spinBudget * YIELD_FACTOR ? Phase.YIELD : Phase.PARK);
+            if (phase != selected)
+            {
+                phase = selected;
+            }
+            return selected;
+        }
+
+        private static long smooth(long average, long sample)
+        {
+            return average + ((sample - average) >> SMOOTHING_SHIFT);
+        }
+    }
+
     /**
      * Blocking strategy that uses a lock and condition variable for ringbuffer consumer waiting on a barrier.
      *
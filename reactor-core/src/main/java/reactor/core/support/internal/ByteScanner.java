@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.support.internal;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Word-at-a-time byte searches over absolute ranges of a {@link ByteBuffer}, shared by {@code reactor.io.buffer.Buffer}
+ * and the {@code reactor.io} frame decoders.
+ *
+ * INTERNAL ONLY, can change on minor version.
+ *
+ * @since 2.1
+ */
+public final class ByteScanner {
+
+	private ByteScanner() {
+	}
+
+	/**
+	 * Find the index of the first occurrence of {@code b} in the given range of a {@link ByteBuffer}, 8 bytes at a
+	 * time: each word is xor-ed with the byte repeated 8 times and the zero bytes of the result are flagged exactly
+	 * with {@code ~(((x & 0x7f..) + 0x7f..) | x | 0x7f..)}, then located by counting the leading or trailing zero bits
+	 * depending on the buffer byte order. The tail shorter than a word is scanned byte by byte.
+	 *
+	 * @param bb   the buffer to scan with absolute reads
+	 * @param b    the byte to search for
+	 * @param from the index to start searching from
+	 * @param to   the index at which to stop searching, exclusive
+	 * @return the index of the byte or {@code -1} if not found
+	 */
+	public static int scan(ByteBuffer bb, byte b, int from, int to) {
+		int i = from;
+		if (to - from >= 8) {
+			long pattern = (b & 0xFFL) * 0x0101010101010101L;
+			boolean bigEndian = bb.order() == ByteOrder.BIG_ENDIAN;
+			for (int max = to - 8; i <= max; i += 8) {
+				long x = bb.getLong(i) ^ pattern;
+				long t = ~(((x & 0x7F7F7F7F7F7F7F7FL) + 0x7F7F7F7F7F7F7F7FL) | x | 0x7F7F7F7F7F7F7F7FL);
+				if (t != 0L) {
+					return i + ((bigEndian ? Long.numberOfLeadingZeros(t) : Long.numberOfTrailingZeros(t)) >>> 3);
+				}
+			}
+		}
+		for (; i < to; i++) {
+			if (bb.get(i) == b) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Find the index of the first complete occurrence of a multi-byte {@code delimiter} in the given range of a {@link
+	 * ByteBuffer}, locating candidates with the word-at-a-time search of its first byte.
+	 *
+	 * @param bb        the buffer to scan with absolute reads
+	 * @param delimiter the non-empty bytes to search for
+	 * @param from      the index to start searching from
+	 * @param to        the index at which to stop searching, exclusive
+	 * @return the index of the first byte of the delimiter or {@code -1} if not found
+	 */
+	public static int scan(ByteBuffer bb, byte[] delimiter, int from, int to) {
+		int last = to - delimiter.length;
+		int i = from;
+		while (i <= last) {
+			int found = scan(bb, delimiter[0], i, last + 1);
+			if (found == -1) {
+				return -1;
+			}
+			int k = 1;
+			while (k < delimiter.length && bb.get(found + k) == delimiter[k]) {
+				k++;
+			}
+			if (k == delimiter.length) {
+				return found;
+			}
+			i = found + 1;
+		}
+		return -1;
+	}
+}
@@ -0,0 +1,292 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.support.rb;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+
+import reactor.core.error.ReactorFatalException;
+import reactor.core.support.rb.disruptor.Sequencer;
+
+/**
+ * A fixed size, memory-mapped copy of a ring buffer. Each ring sequence owns the slot at {@code sequence & (bufferSize
+ * - 1)}, holding the value serialized with a {@link Codec}, and the file header tracks the last published and the last
+ * consumed sequences. Values between the two are the ones to replay after a restart.
+ * <p>
+ * Writes go to the page cache through the mapping and are not forced to disk per value: the data survives a JVM
+ * crash but not an OS crash unless {@link #force()} is called. The consumed sequence is written after values are
+ * processed, so replay is at-least-once, and it never moves backwards. Writers must not reuse the slot of a sequence
+ * before the consumed sequence has moved past it.
+ * <p>
+ * File layout: a 4096 bytes header ({@literal magic, bufferSize, slotSize}, then the published and consumed sequences
+ * on their own cache line), followed by {@code bufferSize} slots of {@code slotSize} bytes, each starting with the
+ * encoded length.
+ *
+ * @param <E> the journaled type
+ * @since 2.1
+ */
+public final class MappedJournal<E> {
+
+	/**
+	 * Serialize values into and out of journal slots.
+	 *
+	 * @param <E> the serialized type
+	 */
+	public interface Codec<E> {
+
+		/**
+		 * Write the value into the target buffer, from its current position up to its limit.
+		 *
+		 * @param value  the value to write
+		 * @param target the buffer to write to
+		 * @throws BufferOverflowException if the value does not fit
+		 */
+		void encode(E value, ByteBuffer target);
+
+		/**
+		 * Read a value from the source buffer, positioned on the bytes written by {@link #encode(Object,
+		 * ByteBuffer)} and limited to them.
+		 *
+		 * @param source the buffer to read from
+		 * @return the decoded value
+		 */
+		E decode(ByteBuffer source);
+	}
+
+	/**
+	 * @param charset the charset to encode with
+	 * @return a codec writing {@link String} values as bytes of the given charset
+	 */
+	public static Codec<String> stringCodec(Charset charset) {
+		return new StringCodec(charset);
+	}
+
+	static final int MAGIC              = 0x52424a31;
+	static final int HEADER_SIZE        = 4096;
+	static final int BUFFER_SIZE_OFFSET = 4;
+	static final int SLOT_SIZE_OFFSET   = 8;
+	static final int PUBLISHED_OFFSET   = 64;
+	static final int CONSUMED_OFFSET    = 128;
+	static final int LENGTH_SIZE        = 4;
+
+	/**
+	 * Open or create the journal file. An existing journal must have been created with the same buffer and slot
+	 * sizes.
+	 *
+	 * @param file       the journal file
+	 * @param bufferSize the number of slots, a power of 2
+	 * @param slotSize   the maximum size of a serialized value including its 4 bytes length prefix
+	 * @param codec      the codec serializing values
+	 * @param <E>        the journaled type
+	 * @return a new mapped journal
+	 * @throws IllegalArgumentException if the existing file does not match the given sizes
+	 */
+	public static <E> MappedJournal<E> open(File file, int bufferSize, int slotSize, Codec<E> codec) {
+		if (bufferSize < 1 || !Sequencer.isPowerOfTwo(bufferSize)) {
+			throw new IllegalArgumentException("bufferSize must be a power of 2 greater than 0");
+		}
+		if (slotSize <= LENGTH_SIZE) {
+			throw new IllegalArgumentException("slotSize must be greater than " + LENGTH_SIZE);
+		}
+		long size = HEADER_SIZE + (long) bufferSize * slotSize;
+		if (size > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("bufferSize * slotSize must fit in a single mapping");
+		}
+
+		try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+			boolean fresh = raf.length() == 0L;
+			if (!fresh && raf.length() != size) {
+				throw new IllegalArgumentException("Journal " + file + " has " + raf.length() + " bytes, expected " +
+						size);
+			}
+			MappedByteBuffer mapped = raf.getChannel()
+			                             .map(FileChannel.MapMode.READ_WRITE, 0, size);
+			return new MappedJournal<>(file, mapped, bufferSize, slotSize, codec, fresh);
+		}
+		catch (IOException e) {
+			throw ReactorFatalException.create(e);
+		}
+	}
+
+	private final File             file;
+	private final MappedByteBuffer mapped;
+	private final ByteBuffer[]     slots;
+	private final ByteBuffer       scratch;
+	private final int              slotSize;
+	private final long             indexMask;
+	private final Codec<E>         codec;
+
+	private final Object consumedLock = new Object();
+
+	private volatile long consumed;
+
+	MappedJournal(File file, MappedByteBuffer mapped, int bufferSize, int slotSize, Codec<E> codec, boolean fresh) {
+		this.file = file;
+		this.mapped = mapped;
+		this.slotSize = slotSize;
+		this.indexMask = bufferSize - 1;
+		this.codec = codec;
+
+		if (fresh) {
+			mapped.putInt(0, MAGIC);
+			mapped.putInt(BUFFER_SIZE_OFFSET, bufferSize);
+			mapped.putInt(SLOT_SIZE_OFFSET, slotSize);
+			mapped.putLong(PUBLISHED_OFFSET, Sequencer.INITIAL_CURSOR_VALUE);
+			mapped.putLong(CONSUMED_OFFSET, Sequencer.INITIAL_CURSOR_VALUE);
+		}
+		else if (mapped.getInt(0) != MAGIC ||
+				mapped.getInt(BUFFER_SIZE_OFFSET) != bufferSize ||
+				mapped.getInt(SLOT_SIZE_OFFSET) != slotSize) {
+			throw new IllegalArgumentException("Journal " + file + " was not created with bufferSize=" + bufferSize +
+					" and slotSize=" + slotSize);
+		}
+		this.consumed = mapped.getLong(CONSUMED_OFFSET);
+
+		this.slots = new ByteBuffer[bufferSize];
+		for (int i = 0; i < bufferSize; i++) {
+			ByteBuffer slot = mapped.duplicate();
+			slot.position(HEADER_SIZE + i * slotSize);
+			slot.limit(HEADER_SIZE + (i + 1) * slotSize);
+			slots[i] = slot.slice();
+		}
+		this.scratch = ByteBuffer.allocate(slotSize - LENGTH_SIZE);
+	}
+
+	/**
+	 * Serialize a value ahead of {@link #write(long)}, so that a value too large for a slot fails before a ring
+	 * sequence is claimed. Must be called by a single producer at a time.
+	 *
+	 * @param value the value to serialize
+	 * @throws IllegalArgumentException if the serialized value does not fit in a slot
+	 */
+	public void encode(E value) {
+		scratch.clear();
+		try {
+			codec.encode(value, scratch);
+		}
+		catch (BufferOverflowException boe) {
+			throw new IllegalArgumentException("Value does not fit in a " + slotSize + " bytes journal slot");
+		}
+		scratch.flip();
+	}
+
+	/**
+	 * Copy the value last serialized with {@link #encode(Object)} to the slot of the given sequence.
+	 *
+	 * @param sequence the claimed sequence
+	 */
+	public void write(long sequence) {
+		ByteBuffer slot = slots[(int) (sequence & indexMask)];
+		slot.clear();
+		slot.putInt(scratch.remaining());
+		slot.put(scratch);
+	}
+
+	/**
+	 * Record the given sequence as the last published one.
+	 *
+	 * @param sequence the published sequence
+	 */
+	public void published(long sequence) {
+		mapped.putLong(PUBLISHED_OFFSET, sequence);
+	}
+
+	/**
+	 * Record the given sequence as consumed if it is beyond the current consumed sequence. The value is written to the
+	 * mapping before {@link #getConsumed()} returns it, and concurrent callers are serialized so the written sequence
+	 * only moves forward.
+	 *
+	 * @param sequence the sequence up to which every value has been processed
+	 */
+	public void consumed(long sequence) {
+		if (sequence <= consumed) {
+			return;
+		}
+		synchronized (consumedLock) {
+			if (sequence > consumed) {
+				mapped.putLong(CONSUMED_OFFSET, sequence);
+				consumed = sequence;
+			}
+		}
+	}
+
+	/**
+	 * Deserialize the value stored for the given sequence.
+	 *
+	 * @param sequence the sequence to read
+	 * @return the decoded value
+	 */
+	public E read(long sequence) {
+		ByteBuffer slot = slots[(int) (sequence & indexMask)].duplicate();
+		slot.clear();
+		int length = slot.getInt();
+		slot.limit(LENGTH_SIZE + length);
+		return codec.decode(slot.slice());
+	}
+
+	/**
+	 * @return the last published sequence
+	 */
+	public long getPublished() {
+		return mapped.getLong(PUBLISHED_OFFSET);
+	}
+
+	/**
+	 * @return the last consumed sequence
+	 */
+	public long getConsumed() {
+		return consumed;
+	}
+
+	/**
+	 * Force the mapped content to the storage device.
+	 */
+	public void force() {
+		mapped.force();
+	}
+
+	@Override
+	public String toString() {
+		return "MappedJournal{file=" + file + ", published=" + getPublished() + ", consumed=" + consumed + "}";
+	}
+
+	private static final class StringCodec implements Codec<String> {
+
+		private final Charset charset;
+
+		StringCodec(Charset charset) {
+			this.charset = charset;
+		}
+
+		@Override
+		public void encode(String value, ByteBuffer target) {
+			target.put(value.getBytes(charset));
+		}
+
+		@Override
+		public String decode(ByteBuffer source) {
+			byte[] bytes = new byte[source.remaining()];
+			source.get(bytes);
+			return new String(bytes, charset);
+		}
+	}
+}
@@ -44,23 +44,29 @@ public final class RequestTask implements Runnable {
 
 	final Subscriber<?> errorSubscriber;
 
-	final RingBuffer<?> ringBuffer;
+	final int bufferSize;
 
 	public RequestTask(Subscription upstream, Consumer<Void> stopCondition,
 			Consumer<Long> postWaitCallback, LongSupplier readCount,
 			WaitStrategy waitStrategy, Subscriber<?> errorSubscriber, RingBuffer r) {
+		this(upstream, stopCondition, postWaitCallback, readCount, waitStrategy, errorSubscriber, r.getBufferSize());
+	}
+
+	public RequestTask(Subscription upstream, Consumer<Void> stopCondition,
+			Consumer<Long> postWaitCallback, LongSupplier readCount,
+			WaitStrategy waitStrategy, Subscriber<?> errorSubscriber, int bufferSize) {
 		this.waitStrategy = waitStrategy;
 		this.readCount = readCount;
 		this.postWaitCallback = postWaitCallback;
 		this.errorSubscriber = errorSubscriber;
 		this.upstream = upstream;
 		this.spinObserver = stopCondition;
-		this.ringBuffer = r;
+		this.bufferSize = bufferSize;
 	}
 
 	@Override
 	public void run() {
-		final long bufferSize = ringBuffer.getBufferSize();
+		final long bufferSize = this.bufferSize;
 		final long limit = bufferSize - Math.max(bufferSize >> 2, 1);
 		long cursor = -1;
 		try {
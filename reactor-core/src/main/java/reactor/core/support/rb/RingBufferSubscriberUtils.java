@@ -15,6 +15,7 @@
  */
 package reactor.core.support.rb;
 
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.LockSupport;
 
@@ -24,6 +25,7 @@ import org.reactivestreams.Subscription;
 import reactor.core.error.AlertException;
 import reactor.core.error.CancelException;
 import reactor.core.error.Exceptions;
+import reactor.core.subscriber.BatchSubscriber;
 import reactor.core.support.rb.disruptor.RingBuffer;
 import reactor.core.support.rb.disruptor.Sequence;
 import reactor.core.support.rb.disruptor.SequenceBarrier;
@@ -68,6 +70,33 @@ public final class RingBufferSubscriberUtils {
 		ringBuffer.publish(seqId);
 	}
 
+	/**
+	 * Publish the given values as {@link SignalType#NEXT} signals, claiming contiguous ranges of at most
+	 * {@link RingBuffer#getBufferSize()} slots with {@link RingBuffer#next(int)} and releasing each range with a single
+	 * {@link RingBuffer#publish(long, long)}.
+	 *
+	 * @param values     the values to publish in order, none of them can be null
+	 * @param ringBuffer the target ring buffer
+	 * @param <E>        the value type
+	 */
+	public static <E> void onNextBatch(List<? extends E> values, RingBuffer<MutableSignal<E>> ringBuffer) {
+		final int size = values.size();
+		final int bufferSize = ringBuffer.getBufferSize();
+		int index = 0;
+		while (index < size) {
+			final int n = Math.min(size - index, bufferSize);
+			final long hi = ringBuffer.next(n);
+			final long lo = hi - (n - 1);
+			MutableSignal<E> signal;
+			for (long seqId = lo; seqId <= hi; seqId++) {
+				signal = ringBuffer.get(seqId);
+				signal.type = SignalType.NEXT;
+				signal.value = values.get(index++);
+			}
+			ringBuffer.publish(lo, hi);
+		}
+	}
+
 	public static <E> MutableSignal<E> next(RingBuffer<MutableSignal<E>> ringBuffer) {
 		long seqId = ringBuffer.next();
 		MutableSignal<E> signal = ringBuffer.get(seqId);
@@ -132,6 +161,27 @@ public final class RingBufferSubscriberUtils {
 
 	}
 
+	/**
+	 * Route a signal to a {@link BatchSubscriber}, passing along whether it closes the currently drained range.
+	 *
+	 * @param task       the signal to route
+	 * @param subscriber the target subscriber
+	 * @param endOfBatch {@literal true} if no other signal is immediately available
+	 * @param <E>        the value type
+	 */
+	public static <E> void route(MutableSignal<E> task,
+			BatchSubscriber<? super E> subscriber, boolean endOfBatch) {
+		if (task.type == SignalType.NEXT && null != task.value) {
+			subscriber.onNext(task.value, endOfBatch);
+		}
+		else if (task.type == SignalType.COMPLETE) {
+			subscriber.onComplete();
+		}
+		else if (task.type == SignalType.ERROR) {
+			subscriber.onError(task.error);
+		}
+	}
+
 	public static final Object CLEANED = new Object();
 
 	@SuppressWarnings("unchecked")
@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.support.rb.disruptor;
+
+import reactor.core.error.InsufficientCapacityException;
+import reactor.core.support.internal.PlatformDependent;
+import reactor.core.support.WaitStrategy;
+import reactor.fn.Consumer;
+import reactor.fn.LongSupplier;
+
+/**
+ * A ring buffer storing primitive {@literal long} payloads directly in a {@literal long[]}, coordinated by the same
+ * {@link Sequencer} and {@link SequenceBarrier} as {@link RingBuffer}. Where a {@link RingBuffer.Slot} based ring
+ * boxes each value and makes consumers chase a reference per slot, this ring writes and reads values in place so
+ * neither side allocates. {@literal double} payloads are stored as their raw long bits via {@link #setDouble(long,
+ * double)} and {@link #getDouble(long)}.
+ * <p>
+ * Publishing follows the usual claim, write, publish sequence:
+ * <pre>
+ * long sequence = ringBuffer.next();
+ * ringBuffer.set(sequence, value);
+ * ringBuffer.publish(sequence);
+ * </pre>
+ *
+ * @since 2.1
+ */
+public final class LongRingBuffer implements LongSupplier {
+
+	/**
+	 * Padding on each side of the entries to keep neighbour allocations off the first and last cache lines.
+	 */
+	static final int BUFFER_PAD = 16;
+
+	/**
+	 * Create a new single producer LongRingBuffer with the specified wait strategy.
+	 * @param bufferSize number of elements to create within the ring buffer, must be a power of 2.
+	 * @param waitStrategy used to determine how to wait for new elements to become available.
+	 * @param spinObserver called each time the next claim is spinning and waiting for a slot
+	 * @return a new single producer ring
+	 * @throws IllegalArgumentException if <tt>bufferSize</tt> is less than 1 or not a power of 2
+	 * @see SingleProducerSequencer
+	 */
+	public static LongRingBuffer createSingleProducer(int bufferSize,
+			WaitStrategy waitStrategy,
+			Consumer<Void> spinObserver) {
+		checkPowerOfTwo(bufferSize);
+		return new LongRingBuffer(new SingleProducerSequencer(bufferSize, waitStrategy, spinObserver));
+	}
+
+	/**
+	 * Create a new multiple producer LongRingBuffer with the specified wait strategy.
+	 * @param bufferSize number of elements to create within the ring buffer, must be a power of 2.
+	 * @param waitStrategy used to determine how to wait for new elements to become available.
+	 * @param spinObserver called each time the next claim is spinning and waiting for a slot
+	 * @return a new multiple producer ring
+	 * @throws IllegalArgumentException if <tt>bufferSize</tt> is less than 1 or not a power of 2
+	 * @see MultiProducerSequencer
+	 */
+	public static LongRingBuffer createMultiProducer(int bufferSize,
+			WaitStrategy waitStrategy,
+			Consumer<Void> spinObserver) {
+		checkPowerOfTwo(bufferSize);
+		if (PlatformDependent.hasUnsafe()) {
+			return new LongRingBuffer(new MultiProducerSequencer(bufferSize, waitStrategy, spinObserver));
+		}
+		else {
+			return new LongRingBuffer(new NotFunMultiProducerSequencer(bufferSize, waitStrategy, spinObserver));
+		}
+	}
+
+	static void checkPowerOfTwo(int bufferSize) {
+		if (bufferSize < 1 || !Sequencer.isPowerOfTwo(bufferSize)) {
+			throw new IllegalArgumentException("bufferSize must be a power of 2 greater than 0");
+		}
+	}
+
+	private final long      indexMask;
+	private final long[]    entries;
+	private final Sequencer sequencer;
+
+	LongRingBuffer(Sequencer sequencer) {
+		this.sequencer = sequencer;
+		this.indexMask = sequencer.getBufferSize() - 1;
+		this.entries = new long[sequencer.getBufferSize() + 2 * BUFFER_PAD];
+	}
+
+	/**
+	 * Read the value stored for a given sequence, usually after a {@link SequenceBarrier#waitFor(long)} returned a
+	 * sequence greater or equal to it.
+	 * @param sequence for the value
+	 * @return the value for the given sequence
+	 */
+	public long get(long sequence) {
+		return entries[BUFFER_PAD + (int) (sequence & indexMask)];
+	}
+
+	/**
+	 * Read the double value stored for a given sequence with {@link #setDouble(long, double)}.
+	 * @param sequence for the value
+	 * @return the value for the given sequence
+	 */
+	public double getDouble(long sequence) {
+		return Double.longBitsToDouble(get(sequence));
+	}
+
+	/**
+	 * Write the value for a claimed sequence, the value becomes visible to consumers once the sequence is published.
+	 * @param sequence a sequence previously returned by {@link #next()} or {@link #next(int)}
+	 * @param value the value to store
+	 */
+	public void set(long sequence, long value) {
+		entries[BUFFER_PAD + (int) (sequence & indexMask)] = value;
+	}
+
+	/**
+	 * Write the double value for a claimed sequence, the value becomes visible to consumers once the sequence is
+	 * published.
+	 * @param sequence a sequence previously returned by {@link #next()} or {@link #next(int)}
+	 * @param value the value to store
+	 */
+	public void setDouble(long sequence, double value) {
+		set(sequence, Double.doubleToRawLongBits(value));
+	}
+
+	/**
+	 * Claim a sequence, store the value and publish it.
+	 * @param value the value to publish
+	 */
+	public void put(long value) {
+		long sequence = sequencer.next();
+		set(sequence, value);
+		sequencer.publish(sequence);
+	}
+
+	/**
+	 * Claim a sequence, store the value raw long bits and publish it.
+	 * @param value the value to publish
+	 */
+	public void putDouble(double value) {
+		put(Double.doubleToRawLongBits(value));
+	}
+
+	/**
+	 * Increment and return the next sequence for the ring buffer.
+	 * @return The next sequence to publish to.
+	 * @see Sequencer#next()
+	 */
+	public long next() {
+		return sequencer.next();
+	}
+
+	/**
+	 * Claim the next n sequences, the returned value is the highest claimed sequence.
+	 * @param n number of slots to claim
+	 * @return The highest claimed sequence.
+	 * @see Sequencer#next(int)
+	 */
+	public long next(int n) {
+		return sequencer.next(n);
+	}
+
+	/**
+	 * Attempt to claim the next sequence without waiting for capacity.
+	 * @return The claimed sequence.
+	 * @throws InsufficientCapacityException if the necessary space in the ring buffer is not available
+	 */
+	public long tryNext() throws InsufficientCapacityException {
+		return sequencer.tryNext();
+	}
+
+	/**
+	 * Publish the specified sequence.
+	 * @param sequence the sequence to publish.
+	 */
+	public void publish(long sequence) {
+		sequencer.publish(sequence);
+	}
+
+	/**
+	 * Publish the specified sequences inclusively.
+	 * @param lo the lowest sequence number to be published
+	 * @param hi the highest sequence number to be published
+	 */
+	public void publish(long lo, long hi) {
+		sequencer.publish(lo, hi);
+	}
+
+	/**
+	 * Add the specified gating sequence to this instance of the ring buffer.
+	 * @param gatingSequence The sequence to add.
+	 */
+	public void addGatingSequence(Sequence gatingSequence) {
+		sequencer.addGatingSequence(gatingSequence);
+	}
+
+	/**
+	 * Remove the specified sequence from this ring buffer.
+	 * @param sequence to be removed.
+	 * @return <tt>true</tt> if this sequence was found, <tt>false</tt> otherwise.
+	 */
+	public boolean removeGatingSequence(Sequence sequence) {
+		return sequencer.removeGatingSequence(sequence);
+	}
+
+	/**
+	 * Get the minimum sequence value from all of the gating sequences added to this ring buffer.
+	 * @param sequence an optional sequence to exclude
+	 * @return The minimum gating sequence or the cursor sequence if no sequences have been added.
+	 */
+	public long getMinimumGatingSequence(Sequence sequence) {
+		return sequencer.getMinimumSequence(sequence);
+	}
+
+	/**
+	 * Create a new SequenceBarrier to be used by consumers to track which sequences are available.
+	 * @return A sequence barrier that will track the ring buffer cursor.
+	 */
+	public SequenceBarrier newBarrier() {
+		return sequencer.newBarrier();
+	}
+
+	/**
+	 * Get the current cursor value for the ring buffer.
+	 * @return The current cursor value
+	 */
+	public long getCursor() {
+		return sequencer.getCursor();
+	}
+
+	/**
+	 * The size of the buffer.
+	 * @return the size of the buffer
+	 */
+	public int getBufferSize() {
+		return sequencer.getBufferSize();
+	}
+
+	/**
+	 * Get the remaining capacity for this ring buffer.
+	 * @return The number of slots remaining.
+	 */
+	public long remainingCapacity() {
+		return sequencer.remainingCapacity();
+	}
+
+	/**
+	 * Get the current number of slots claimed but not yet consumed by the slowest gating sequence.
+	 * @return The number of pending slots.
+	 */
+	public long pending() {
+		return sequencer.pending();
+	}
+
+	/**
+	 * @return the coordinating {@link Sequencer}
+	 */
+	public Sequencer getSequencer() {
+		return sequencer;
+	}
+
+	@Override
+	public long get() {
+		return sequencer.getCursor();
+	}
+
+	@Override
+	public String toString() {
+		return "LongRingBuffer{pending:"+pending()+", size:"+getBufferSize()+", cursor:"+get()+", " +
+				"subscribers:"+sequencer.gatingSequences.length+"}";
+	}
+}
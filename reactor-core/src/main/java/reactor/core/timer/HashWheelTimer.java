@@ -16,33 +16,39 @@
 
 package reactor.core.timer;
 
-import java.util.Set;
-import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import org.reactivestreams.Processor;
 import reactor.core.error.AlertException;
 import reactor.core.error.CancelException;
-import reactor.core.support.rb.disruptor.RingBuffer;
 import reactor.core.support.Assert;
 import reactor.core.support.NamedDaemonThreadFactory;
+import reactor.core.support.ReactiveState;
 import reactor.core.support.WaitStrategy;
+import reactor.core.support.internal.PlatformDependent;
+import reactor.core.support.rb.disruptor.Sequencer;
 import reactor.fn.Consumer;
 import reactor.fn.LongSupplier;
-import reactor.fn.Supplier;
 
 /**
  * Hash Wheel Timer, as per the paper: <p> Hashed and hierarchical timing wheels: http://www.cs.columbia.edu/~nahum/w6998/papers/ton97-timing-wheels.pdf
  * <p> More comprehensive slides, explaining the paper can be found here: http://www.cse.wustl.edu/~cdgill/courses/cs6874/TimingWheels.ppt
  * <p> Hash Wheel timer is an approximated timer that allows performant execution of larger amount of tasks with better
  * performance compared to traditional scheduling.
+ * <p> The wheels are hierarchical: the first level has one bucket per tick, every next level has as many buckets each
+ * covering a full turn of the level below. A timeout lands in the lowest level whose span covers its deadline and
+ * cascades down a level each time the level below completes a turn, so a tick only visits the timeouts expiring on
+ * it. Buckets are intrusive linked lists owned by the tick thread, other threads hand over new and cancelled timeouts
+ * through lock-free multi-producer queues drained on every tick, making schedule and cancel O(1).
  * @author Oleksandr Petrov
  * @author Jon Brisbin
  * @author Stephane Maldini
@@ -52,12 +58,49 @@ public class HashWheelTimer extends Timer {
 	public static final  int    DEFAULT_WHEEL_SIZE = 512;
 	private static final String DEFAULT_TIMER_NAME = "hash-wheel-timer";
 
-	private final RingBuffer<Set<TimedSubscription>> wheel;
-	private final Thread                             loop;
-	private final Executor                           executor;
-	private final WaitStrategy                       waitStrategy;
-	private final LongSupplier                       timeMillisResolver;
+	/**
+	 * Maximum number of submissions transferred into the wheels per tick, leaving the remainder for the next ticks
+	 * so a burst of submissions cannot delay expiration
+	 */
+	private static final int MAX_SUBMISSIONS_PER_TICK = 100000;
+
+	private final Bucket[][]   wheels;
+	private final int          wheelSize;
+	private final int          wheelBits;
+	private final int          wheelMask;
+	private final Thread       loop;
+	private final Executor     executor;
+	private final WaitStrategy waitStrategy;
+	private final LongSupplier timeMillisResolver;
 	private final AtomicBoolean started = new AtomicBoolean();
+	private final LatenessHistogram lateness = new LatenessHistogram();
+
+	private final TimedSubscription<?> submitStub = new TimedSubscription<>(NOOP, 0L, 0L, null);
+	private final TimedSubscription<?> cancelStub = new TimedSubscription<>(NOOP, 0L, 0L, null);
+
+	private TimedSubscription<?> submitHead = submitStub;
+	private TimedSubscription<?> cancelHead = cancelStub;
+
+	private volatile TimedSubscription<?> submitTail = submitStub;
+	private volatile TimedSubscription<?> cancelTail = cancelStub;
+
+	@SuppressWarnings("rawtypes")
+	private static final AtomicReferenceFieldUpdater<HashWheelTimer, TimedSubscription> SUBMIT_TAIL =
+			PlatformDependent.newAtomicReferenceFieldUpdater(HashWheelTimer.class, "submitTail");
+
+	@SuppressWarnings("rawtypes")
+	private static final AtomicReferenceFieldUpdater<HashWheelTimer, TimedSubscription> CANCEL_TAIL =
+			PlatformDependent.newAtomicReferenceFieldUpdater(HashWheelTimer.class, "cancelTail");
+
+	private volatile long tick;
+
+	private volatile long scheduled;
+
+	private static final AtomicLongFieldUpdater<HashWheelTimer> SCHEDULED =
+			AtomicLongFieldUpdater.newUpdater(HashWheelTimer.class, "scheduled");
+
+	/* only written by the tick thread */
+	private volatile long tickOverruns;
 
 	/**
 	 * Create a new {@code HashWheelTimer} using the given timer resolution. All times will rounded up to the closest
@@ -72,8 +115,8 @@ public class HashWheelTimer extends Timer {
 	 * Create a new {@code HashWheelTimer} using the given timer {@code res} and {@code wheelSize}. All times will
 	 * rounded up to the closest multiple of this resolution.
 	 * @param res                resolution of this timer in milliseconds
-	 * @param wheelSize          size of the Ring Buffer supporting the Timer, the larger the wheel, the less the
-	 *                           lookup time is for sparse timeouts. Sane default is 512.
+	 * @param wheelSize          number of buckets per wheel level, must be a power of 2. The larger the wheel, the
+	 *                           less cascading for sparse timeouts. Sane default is 512.
 	 * @param waitStrategy       strategy for waiting for the next tick
 	 */
 	public HashWheelTimer(int res, int wheelSize, WaitStrategy waitStrategy) {
@@ -85,8 +128,8 @@ public class HashWheelTimer extends Timer {
 	 * will rounded up to the closest multiple of this resolution.
 	 * @param name               name for daemon thread factory to be displayed
 	 * @param res                resolution of this timer in milliseconds
-	 * @param wheelSize          size of the Ring Buffer supporting the Timer, the larger the wheel, the less the
-	 *                           lookup time is for sparse timeouts. Sane default is 512.
+	 * @param wheelSize          number of buckets per wheel level, must be a power of 2. The larger the wheel, the
+	 *                           less cascading for sparse timeouts. Sane default is 512.
 	 * @param strategy           strategy for waiting for the next tick
 	 * @param exec               {@code Executor} instance to submit tasks to
 	 */
@@ -99,8 +142,8 @@ public class HashWheelTimer extends Timer {
 	 * will rounded up to the closest multiple of this resolution.
 	 * @param name               name for daemon thread factory to be displayed
 	 * @param res                resolution of this timer in milliseconds
-	 * @param wheelSize          size of the Ring Buffer supporting the Timer, the larger the wheel, the less the
-	 *                           lookup time is for sparse timeouts. Sane default is 512.
+	 * @param wheelSize          number of buckets per wheel level, must be a power of 2. The larger the wheel, the
+	 *                           less cascading for sparse timeouts. Sane default is 512.
 	 * @param strategy           strategy for waiting for the next tick
 	 * @param exec               {@code Executor} instance to submit tasks to
 	 * @param timeResolver       {@code LongSupplier} supplier returning current time in milliseconds every time it's
@@ -113,16 +156,17 @@ public class HashWheelTimer extends Timer {
 						  Executor exec,
 						  LongSupplier timeResolver) {
 		super(res);
+		if (wheelSize < 2 || !Sequencer.isPowerOfTwo(wheelSize)) {
+			throw new IllegalArgumentException("wheelSize must be a power of 2 greater than 1");
+		}
 
 		this.timeMillisResolver = timeResolver;
 		this.waitStrategy = strategy;
-
-		this.wheel = RingBuffer.createSingleProducer(new Supplier<Set<TimedSubscription>>() {
-			@Override
-			public Set<TimedSubscription> get() {
-				return new ConcurrentSkipListSet<>();
-			}
-		}, wheelSize);
+		this.wheelSize = wheelSize;
+		this.wheelBits = Sequencer.log2(wheelSize);
+		this.wheelMask = wheelSize - 1;
+		this.wheels = new Bucket[(Long.SIZE + wheelBits - 1) / wheelBits][];
+		this.wheels[0] = newWheel();
 
 		if (exec == null) {
 			this.executor =
@@ -149,34 +193,19 @@ public class HashWheelTimer extends Timer {
 				};
 
 				while (true) {
-					Set<TimedSubscription> registrations = wheel.get(wheel.getCursor());
+					long now = tick;
 
-					for (TimedSubscription r : registrations) {
-						if (r.isCancelled()) {
-							registrations.remove(r);
-						}
-						else if (r.ready()) {
-							try {
-								executor.execute(r);
-							}
-							catch (RejectedExecutionException re) {
-								if (loop.isInterrupted()) {
-									break;
-								}
-								throw re;
-							}
-							registrations.remove(r);
-
-							if (!r.isCancelAfterUse()) {
-								reschedule(r);
-							}
-						}
-						else if (r.isPaused()) {
-							reschedule(r);
-						}
-						else {
-							r.decrement();
+					drainCancellations();
+					drainSubmissions(now);
+
+					try {
+						expire(now, deadline);
+					}
+					catch (RejectedExecutionException re) {
+						if (loop.isInterrupted()) {
+							break;
 						}
+						throw re;
 					}
 
 					deadline += resolution;
@@ -188,7 +217,12 @@ public class HashWheelTimer extends Timer {
 						break;
 					}
 
-					wheel.publish(wheel.next());
+					if (timeMillisResolver.get() - deadline >= resolution) {
+						tickOverruns++;
+					}
+
+					tick = ++now;
+					cascade(now);
 				}
 				if (executor instanceof Processor) {
 					((Processor) executor).onComplete();
@@ -227,22 +261,19 @@ public class HashWheelTimer extends Timer {
 			TimeUtils.checkResolution(recurringTimeout, resolution);
 		}
 
-		long offset = recurringTimeout / resolution;
-		long rounds = offset / wheel.getBufferSize();
-
-		long firstFireOffset = firstDelay / resolution;
-		long firstFireRounds = firstFireOffset / wheel.getBufferSize();
+		long firstFireTick = tick + firstDelay / resolution + (recurringTimeout != 0 ? 1 : 0);
 
 		TimedSubscription r;
 		if (recurringTimeout != 0) {
-			r = new TimedSubscription(firstFireRounds, offset, consumer, rounds, timeMillisResolver);
+			r = new TimedSubscription(consumer, firstFireTick, recurringTimeout / resolution, timeMillisResolver);
 		}
 		else{
-			r = new SingleTimedSubscription<>(firstFireRounds, offset, consumer, rounds, timeMillisResolver);
+			r = new SingleTimedSubscription<>(consumer, firstFireTick, timeMillisResolver);
 		}
+		r.timer = this;
 
-		wheel.get(wheel.getCursor() + firstFireOffset + (recurringTimeout != 0 ? 1 : 0))
-		     .add(r);
+		SCHEDULED.incrementAndGet(this);
+		offer(r);
 		return r;
 	}
 
@@ -251,15 +282,6 @@ public class HashWheelTimer extends Timer {
 		return loop.isInterrupted();
 	}
 
-	/**
-	 * Reschedule a {@link TimedSubscription}  for the next fire
-	 */
-	private void reschedule(TimedSubscription registration) {
-		registration.rounds.set(registration.rescheduleRounds);
-		wheel.get(wheel.getCursor() + registration.getOffset())
-		     .add(registration);
-	}
-
 	/**
 	 * Start the Timer
 	 */
@@ -267,7 +289,6 @@ public class HashWheelTimer extends Timer {
 	public void start() {
 		if (started.compareAndSet(false, true)) {
 			this.loop.start();
-			wheel.publish(0);
 		}
 		else {
 			throw new IllegalStateException("Timer already started");
@@ -281,11 +302,213 @@ public class HashWheelTimer extends Timer {
 		this.loop.interrupt();
 	}
 
+	@Override
+	public long scheduled() {
+		return scheduled;
+	}
+
+	@Override
+	public long tickOverruns() {
+		return tickOverruns;
+	}
+
+	@Override
+	public long pendingExecutions() {
+		if (executor instanceof ThreadPoolExecutor) {
+			return ((ThreadPoolExecutor) executor).getQueue().size();
+		}
+		if (executor instanceof ReactiveState.Buffering) {
+			return ((ReactiveState.Buffering) executor).pending();
+		}
+		return -1L;
+	}
+
+	@Override
+	public long[] lateness() {
+		return lateness.counts();
+	}
+
 	@Override
 	public String toString() {
-		return String.format("HashWheelTimer { Buffer Size: %d, Resolution: %d }", wheel.getBufferSize(), resolution);
+		return String.format("HashWheelTimer { Buffer Size: %d, Resolution: %d }", wheelSize, resolution);
+	}
+
+	/* Submission side, any thread */
+
+	private void offer(TimedSubscription<?> r) {
+		TimedSubscription<?> previous = SUBMIT_TAIL.getAndSet(this, r);
+		previous.nextSubmit = r;
+	}
+
+	private void offerCancel(TimedSubscription<?> r) {
+		TimedSubscription<?> previous = CANCEL_TAIL.getAndSet(this, r);
+		previous.nextCancel = r;
+	}
+
+	/* Tick thread */
+
+	private Bucket[] newWheel() {
+		Bucket[] wheel = new Bucket[wheelSize];
+		for (int i = 0; i < wheelSize; i++) {
+			wheel[i] = new Bucket();
+		}
+		return wheel;
+	}
+
+	private void drainSubmissions(long now) {
+		for (int i = 0; i < MAX_SUBMISSIONS_PER_TICK; i++) {
+			TimedSubscription<?> r = submitHead.nextSubmit;
+			if (r == null) {
+				return;
+			}
+			submitHead.nextSubmit = null;
+			submitHead = r;
+			if (!r.isCancelled()) {
+				place(r, Math.max(r.deadline, now), now);
+			}
+			else {
+				SCHEDULED.decrementAndGet(this);
+			}
+		}
+	}
+
+	private void drainCancellations() {
+		TimedSubscription<?> r;
+		while ((r = cancelHead.nextCancel) != null) {
+			cancelHead.nextCancel = null;
+			cancelHead = r;
+			if (r.bucket != null) {
+				r.bucket.remove(r);
+				SCHEDULED.decrementAndGet(this);
+			}
+		}
+	}
+
+	/**
+	 * Link a timeout into the lowest wheel level covering its deadline
+	 */
+	private void place(TimedSubscription<?> r, long deadline, long now) {
+		r.deadline = deadline;
+		long delta = deadline - now;
+		int level = 0;
+		while (level < wheels.length - 1 && (delta >>> ((level + 1) * wheelBits)) != 0L) {
+			level++;
+		}
+		Bucket[] wheel = wheels[level];
+		if (wheel == null) {
+			wheel = wheels[level] = newWheel();
+		}
+		wheel[(int) ((deadline >>> (level * wheelBits)) & wheelMask)].add(r);
+	}
+
+	/**
+	 * Move the timeouts of every upper level bucket starting a new turn on this tick to the levels below
+	 */
+	private void cascade(long now) {
+		for (int level = 1; level < wheels.length; level++) {
+			int shift = level * wheelBits;
+			if ((now & ((1L << shift) - 1L)) != 0L) {
+				return;
+			}
+			Bucket[] wheel = wheels[level];
+			if (wheel != null) {
+				TimedSubscription<?> r = wheel[(int) ((now >>> shift) & wheelMask)].clear();
+				while (r != null) {
+					TimedSubscription<?> next = r.next;
+					r.next = null;
+					place(r, r.deadline, now);
+					r = next;
+				}
+			}
+		}
+	}
+
+	private void expire(long now, long deadlineMillis) {
+		TimedSubscription<?> r = wheels[0][(int) (now & wheelMask)].clear();
+		while (r != null) {
+			TimedSubscription<?> next = r.next;
+			r.next = null;
+			if (r.isPaused()) {
+				place(r, now + Math.max(1L, r.periodTicks), now);
+			}
+			else if (!r.isCancelled()) {
+				r.deadlineMillis = deadlineMillis;
+				if (r.isCancelAfterUse()) {
+					SCHEDULED.decrementAndGet(this);
+				}
+				else {
+					place(r, now + r.periodTicks, now);
+				}
+				executor.execute(r);
+			}
+			else {
+				SCHEDULED.decrementAndGet(this);
+			}
+			r = next;
+		}
 	}
 
+	/**
+	 * Intrusive doubly linked list of timeouts sharing a wheel slot, only accessed from the tick thread
+	 */
+	static final class Bucket {
+
+		TimedSubscription<?> head;
+		TimedSubscription<?> tail;
+
+		void add(TimedSubscription<?> r) {
+			r.bucket = this;
+			r.prev = tail;
+			r.next = null;
+			if (tail == null) {
+				head = r;
+			}
+			else {
+				tail.next = r;
+			}
+			tail = r;
+		}
+
+		void remove(TimedSubscription<?> r) {
+			if (r.prev == null) {
+				head = r.next;
+			}
+			else {
+				r.prev.next = r.next;
+			}
+			if (r.next == null) {
+				tail = r.prev;
+			}
+			else {
+				r.next.prev = r.prev;
+			}
+			r.prev = null;
+			r.next = null;
+			r.bucket = null;
+		}
+
+		/**
+		 * Detach every timeout from this bucket
+		 * @return the first detached timeout, the others being reachable through their next link
+		 */
+		TimedSubscription<?> clear() {
+			TimedSubscription<?> r = head;
+			for (TimedSubscription<?> it = r; it != null; it = it.next) {
+				it.bucket = null;
+				it.prev = null;
+			}
+			head = null;
+			tail = null;
+			return r;
+		}
+	}
+
+	private static final Consumer<Long> NOOP = new Consumer<Long>() {
+		@Override
+		public void accept(Long aLong) {
+		}
+	};
+
 	/**
 	 * Timer Registration
 	 * @param <T> type of the Timer Registration Consumer
@@ -296,36 +519,66 @@ public class HashWheelTimer extends Timer {
 		public static int STATUS_CANCELLED = -1;
 		public static int STATUS_READY     = 0;
 
-		private final T             delegate;
-		private final long          rescheduleRounds;
-		private final long          scheduleOffset;
-		private final AtomicLong    rounds;
-		private final AtomicInteger status;
-		private final boolean       lifecycle;
-		private final LongSupplier  now;
+		private final T            delegate;
+		private final long         periodTicks;
+		private final boolean      lifecycle;
+		private final LongSupplier now;
+
+		private volatile int status = STATUS_READY;
+
+		@SuppressWarnings("rawtypes")
+		private static final AtomicIntegerFieldUpdater<TimedSubscription> STATUS =
+				AtomicIntegerFieldUpdater.newUpdater(TimedSubscription.class, "status");
+
+		HashWheelTimer timer;
+
+		/* tick thread state */
+		long                 deadline;
+		long                 deadlineMillis;
+		Bucket               bucket;
+		TimedSubscription<?> prev;
+		TimedSubscription<?> next;
+
+		/* handover queues links */
+		volatile TimedSubscription<?> nextSubmit;
+		volatile TimedSubscription<?> nextCancel;
 
 		/**
 		 * Creates a new Timer Registration with given {@code rounds}, {@code offset} and {@code delegate}.
 		 * @param rounds amount of rounds the Registration should go through until it's elapsed
 		 * @param offset offset of in the Ring Buffer for rescheduling
 		 * @param delegate delegate that will be ran whenever the timer is elapsed
+		 * @deprecated the timer now tracks absolute deadline ticks instead of rounds, {@code rounds} is used as the
+		 * deadline tick, {@code offset} as the period in ticks and {@code rescheduleRounds} is ignored.
 		 */
+		@Deprecated
 		public TimedSubscription(long rounds, long offset, T delegate, long rescheduleRounds, LongSupplier timeResolver) {
+			this(delegate, rounds, offset, timeResolver);
+		}
+
+		/**
+		 * Creates a new Timer Registration firing {@code delegate} on the given tick then every {@code periodTicks}.
+		 * @param delegate delegate that will be ran whenever the timer is elapsed
+		 * @param deadline tick of the first execution, counted from the timer start
+		 * @param periodTicks ticks between executions
+		 * @param timeResolver time passed to the delegate
+		 */
+		TimedSubscription(T delegate, long deadline, long periodTicks, LongSupplier timeResolver) {
 			Assert.notNull(delegate, "Delegate cannot be null");
 			this.now = timeResolver;
-			this.rescheduleRounds = rescheduleRounds;
-			this.scheduleOffset = offset;
+			this.deadline = deadline;
+			this.periodTicks = periodTicks;
 			this.delegate = delegate;
-			this.rounds = new AtomicLong(rounds);
-			this.status = new AtomicInteger(STATUS_READY);
 			this.lifecycle = Pausable.class.isAssignableFrom(delegate.getClass());
 		}
 
 		/**
 		 * Decrement an amount of runs Registration has to run until it's elapsed
+		 * @deprecated the timer no longer counts rounds down, this moves the deadline one tick earlier.
 		 */
+		@Deprecated
 		public void decrement() {
-			rounds.decrementAndGet();
+			deadline--;
 		}
 
 		/**
@@ -333,7 +586,7 @@ public class HashWheelTimer extends Timer {
 		 * @return whether or not the current Registration is ready for execution
 		 */
 		public boolean ready() {
-			return status.get() == STATUS_READY && rounds.get() == 0;
+			return status == STATUS_READY;
 		}
 
 		/**
@@ -341,8 +594,13 @@ public class HashWheelTimer extends Timer {
 		 */
 		@Override
 		public void run() {
+			long time = now.get();
+			HashWheelTimer timer = this.timer;
+			if (timer != null) {
+				timer.lateness.record(time - deadlineMillis);
+			}
 			try {
-				delegate.accept(now.get());
+				delegate.accept(time);
 			}
 			catch (CancelException e) {
 				cancel();
@@ -353,8 +611,7 @@ public class HashWheelTimer extends Timer {
 		 * Reset the Registration
 		 */
 		public void reset() {
-			this.status.set(STATUS_READY);
-			this.rounds.set(rescheduleRounds);
+			STATUS.compareAndSet(this, STATUS_PAUSED, STATUS_READY);
 		}
 
 		/**
@@ -363,11 +620,18 @@ public class HashWheelTimer extends Timer {
 		 */
 		@Override
 		public TimedSubscription cancel() {
-			if (!isCancelled()) {
-				if (lifecycle) {
-					((Pausable) delegate).cancel();
+			int s;
+			while ((s = status) != STATUS_CANCELLED) {
+				if (STATUS.compareAndSet(this, s, STATUS_CANCELLED)) {
+					if (lifecycle) {
+						((Pausable) delegate).cancel();
+					}
+					HashWheelTimer timer = this.timer;
+					if (timer != null) {
+						timer.offerCancel(this);
+					}
+					break;
 				}
-				this.status.set(STATUS_CANCELLED);
 			}
 			return this;
 		}
@@ -377,7 +641,7 @@ public class HashWheelTimer extends Timer {
 		 * @return whether or not the current Registration is cancelled
 		 */
 		public boolean isCancelled() {
-			return status.get() == STATUS_CANCELLED;
+			return status == STATUS_CANCELLED;
 		}
 
 		/**
@@ -386,11 +650,8 @@ public class HashWheelTimer extends Timer {
 		 */
 		@Override
 		public TimedSubscription pause() {
-			if (!isPaused()) {
-				if (lifecycle) {
-					((Pausable) delegate).pause();
-				}
-				this.status.set(STATUS_PAUSED);
+			if (STATUS.compareAndSet(this, STATUS_READY, STATUS_PAUSED) && lifecycle) {
+				((Pausable) delegate).pause();
 			}
 			return this;
 		}
@@ -400,7 +661,7 @@ public class HashWheelTimer extends Timer {
 		 * @return whether or not the current Registration is paused
 		 */
 		public final boolean isPaused() {
-			return this.status.get() == STATUS_PAUSED;
+			return status == STATUS_PAUSED;
 		}
 
 		/**
@@ -425,21 +686,24 @@ public class HashWheelTimer extends Timer {
 		@Override
 		public int compareTo(Object o) {
 			TimedSubscription other = (TimedSubscription) o;
-			if (rounds.get() == other.rounds.get()) {
+			if (deadline == other.deadline) {
 				return other == this ? 0 : -1;
 			}
 			else {
-				return Long.compare(rounds.get(), other.rounds.get());
+				return Long.compare(deadline, other.deadline);
 			}
 		}
 
 		@Override
 		public String toString() {
-			return String.format("HashWheelTimer { Rounds left: %d, Status: %d }", rounds.get(), status.get());
+			return String.format("HashWheelTimer { Deadline tick: %d, Status: %d }", deadline, status);
 		}
 
+		/**
+		 * @return the number of ticks between two executions
+		 */
 		public long getOffset() {
-			return scheduleOffset;
+			return periodTicks;
 		}
 	}
 
@@ -449,12 +713,21 @@ public class HashWheelTimer extends Timer {
 	 */
 	public static class SingleTimedSubscription<T extends Consumer<Long>> extends TimedSubscription<T>{
 
+		/**
+		 * @deprecated the timer now tracks absolute deadline ticks instead of rounds, see {@link
+		 * TimedSubscription#TimedSubscription(long, long, Consumer, long, LongSupplier)}.
+		 */
+		@Deprecated
 		public SingleTimedSubscription(long rounds,
 				long offset,
 				T delegate,
 				long rescheduleRounds,
 				LongSupplier timeResolver) {
-			super(rounds, offset, delegate, rescheduleRounds, timeResolver);
+			super(delegate, rounds, offset, timeResolver);
+		}
+
+		SingleTimedSubscription(T delegate, long deadline, LongSupplier timeResolver) {
+			super(delegate, deadline, 0L, timeResolver);
 		}
 
 		@Override
@@ -462,4 +735,4 @@ public class HashWheelTimer extends Timer {
 			return true;
 		}
 	}
-}
\ No newline at end of file
+}
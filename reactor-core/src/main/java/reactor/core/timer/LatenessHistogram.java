@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.timer;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of how late timer tasks run compared to their deadline, in milliseconds. Bucket {@code 0}
+ * counts the tasks that ran on time, bucket {@code i} counts the tasks that ran between {@code 2^(i-1)} and
+ * {@code 2^i - 1} milliseconds late and the last bucket everything later than that.
+ *
+ * @since 2.1
+ */
+public final class LatenessHistogram {
+
+	public static final int BUCKETS = 16;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+	/**
+	 * Record a task that ran {@code lateMillis} after its deadline, negative values being counted as on time
+	 * @param lateMillis the distance in milliseconds between the deadline and the actual run
+	 */
+	public void record(long lateMillis) {
+		counts.incrementAndGet(bucket(lateMillis));
+	}
+
+	/**
+	 * @return a copy of the current counts per bucket
+	 */
+	public long[] counts() {
+		long[] snapshot = new long[BUCKETS];
+		for (int i = 0; i < BUCKETS; i++) {
+			snapshot[i] = counts.get(i);
+		}
+		return snapshot;
+	}
+
+	/**
+	 * @return the total of recorded runs
+	 */
+	public long total() {
+		long total = 0L;
+		for (int i = 0; i < BUCKETS; i++) {
+			total += counts.get(i);
+		}
+		return total;
+	}
+
+	/**
+	 * Return the lower bound of the given bucket in milliseconds
+	 * @param bucket the bucket index
+	 * @return the minimum lateness counted in that bucket
+	 */
+	public static long lowerBound(int bucket) {
+		return bucket == 0 ? 0L : 1L << (bucket - 1);
+	}
+
+	static int bucket(long lateMillis) {
+		if (lateMillis <= 0L) {
+			return 0;
+		}
+		return Math.min(BUCKETS - 1, Long.SIZE - Long.numberOfLeadingZeros(lateMillis));
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("LatenessHistogram{");
+		for (int i = 0; i < BUCKETS; i++) {
+			long c = counts.get(i);
+			if (c != 0L) {
+				if (sb.charAt(sb.length() - 1) != '{') {
+					sb.append(", ");
+				}
+				sb.append(">=").append(lowerBound(i)).append("ms=").append(c);
+			}
+		}
+		return sb.append('}').toString();
+	}
+}
@@ -25,7 +25,7 @@ import java.util.concurrent.TimeUnit;
  * @author Stephane Maldini
  * @since 2.1
  */
-public class Timer implements ReactiveState.Timed {
+public class Timer implements ReactiveState.Lagging {
 
 	protected final int resolution;
 
@@ -129,4 +129,24 @@ public class Timer implements ReactiveState.Timed {
 	public long period() {
 		return resolution;
 	}
+
+	@Override
+	public long scheduled() {
+		return -1L;
+	}
+
+	@Override
+	public long tickOverruns() {
+		return -1L;
+	}
+
+	@Override
+	public long pendingExecutions() {
+		return -1L;
+	}
+
+	@Override
+	public long[] lateness() {
+		return null;
+	}
 }
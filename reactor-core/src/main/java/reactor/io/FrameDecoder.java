@@ -0,0 +1,500 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.io;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.core.subscriber.SubscriberBarrier;
+import reactor.core.support.BackpressureUtils;
+import reactor.core.support.internal.ByteScanner;
+import reactor.io.buffer.Buffer;
+
+/**
+ * An incremental frame boundary finder fed with consecutive byte ranges of a stream. The state of a frame spanning
+ * several chunks is carried between {@link #scan(ByteBuffer, int, int)} calls so no byte is ever scanned twice.
+ * {@link #subscriber(Subscriber, int)} turns a sequence of {@link Buffer} chunks into a sequence of frames: frames
+ * lying inside a single chunk are emitted as zero-copy {@link Buffer.View} slices of it while frames crossing chunk
+ * boundaries are accumulated.
+ *
+ * @since 2.1
+ */
+abstract class FrameDecoder {
+
+	/**
+	 * Continue scanning the current frame over the given range.
+	 *
+	 * @param bb   the buffer to scan with absolute reads
+	 * @param from the index to start scanning from
+	 * @param to   the index at which to stop scanning, exclusive
+	 * @return the index following the last byte of the current frame or {@code -1} if it continues after {@code to}
+	 */
+	abstract int scan(ByteBuffer bb, int from, int to);
+
+	/**
+	 * @return the number of bytes to strip from the start of the frame just found
+	 */
+	abstract int headerLength();
+
+	/**
+	 * @return the number of bytes to strip from the end of the frame just found
+	 */
+	abstract int trailerLength();
+
+	/**
+	 * Prepare the scan of the next frame
+	 */
+	abstract void reset();
+
+	/**
+	 * @return true if the bytes left when the stream completes form a last valid frame
+	 */
+	boolean acceptsTrailingFrame() {
+		return false;
+	}
+
+	/**
+	 * Decode the chunks received by the returned {@link Subscriber} into frames published to the given one.
+	 *
+	 * @param subscriber     the frames {@link Subscriber}
+	 * @param maxFrameLength the maximum length of a frame, including its header and trailer
+	 * @return the chunks {@link Subscriber}
+	 */
+	final Subscriber<Buffer> subscriber(Subscriber<? super Buffer> subscriber, int maxFrameLength) {
+		return new DecoderBarrier(subscriber, this, maxFrameLength);
+	}
+
+	/**
+	 * Frames terminated by a delimiter of one or more bytes. Partial delimiter matches are resumed with the
+	 * Knuth-Morris-Pratt failure table and the first delimiter byte is searched a word at a time.
+	 */
+	static final class Delimited extends FrameDecoder {
+
+		private final byte[]  delimiter;
+		private final int[]   failure;
+		private final boolean stripDelimiter;
+
+		private int matched;
+
+		Delimited(byte[] delimiter, boolean stripDelimiter) {
+			if (delimiter.length == 0) {
+				throw new IllegalArgumentException("delimiter must not be empty");
+			}
+			this.delimiter = delimiter;
+			this.stripDelimiter = stripDelimiter;
+			this.failure = new int[delimiter.length];
+			for (int i = 1, k = 0; i < delimiter.length; i++) {
+				while (k > 0 && delimiter[i] != delimiter[k]) {
+					k = failure[k];
+				}
+				if (delimiter[i] == delimiter[k]) {
+					k++;
+				}
+				if (i + 1 < delimiter.length) {
+					failure[i + 1] = k;
+				}
+			}
+		}
+
+		@Override
+		int scan(ByteBuffer bb, int from, int to) {
+			int i = from;
+			while (i < to) {
+				if (matched == 0) {
+					int found = ByteScanner.scan(bb, delimiter[0], i, to);
+					if (found == -1) {
+						return -1;
+					}
+					i = found + 1;
+					matched = 1;
+				}
+				else {
+					byte b = bb.get(i++);
+					while (matched > 0 && b != delimiter[matched]) {
+						matched = failure[matched];
+					}
+					if (b == delimiter[matched]) {
+						matched++;
+					}
+				}
+				if (matched == delimiter.length) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		@Override
+		int headerLength() {
+			return 0;
+		}
+
+		@Override
+		int trailerLength() {
+			return stripDelimiter ? delimiter.length : 0;
+		}
+
+		@Override
+		void reset() {
+			matched = 0;
+		}
+
+		@Override
+		boolean acceptsTrailingFrame() {
+			return true;
+		}
+	}
+
+	/**
+	 * Frames of a fixed length
+	 */
+	static final class FixedLength extends FrameDecoder {
+
+		private final int frameLength;
+
+		private int remaining;
+
+		FixedLength(int frameLength) {
+			if (frameLength <= 0) {
+				throw new IllegalArgumentException("frameLength must be strictly positive");
+			}
+			this.frameLength = frameLength;
+			this.remaining = frameLength;
+		}
+
+		@Override
+		int scan(ByteBuffer bb, int from, int to) {
+			if (remaining > to - from) {
+				remaining -= to - from;
+				return -1;
+			}
+			return from + remaining;
+		}
+
+		@Override
+		int headerLength() {
+			return 0;
+		}
+
+		@Override
+		int trailerLength() {
+			return 0;
+		}
+
+		@Override
+		void reset() {
+			remaining = frameLength;
+		}
+	}
+
+	/**
+	 * Frames prefixed by their length, excluding the prefix. The prefix is either an unsigned big-endian field of 1,
+	 * 2 or 4 bytes or, if the field size is 0, an unsigned base 128 varint of at most 5 bytes.
+	 */
+	static final class LengthPrefixed extends FrameDecoder {
+
+		private final int fieldSize;
+
+		private int  headerRead;
+		private long length;
+		private long remaining = -1L;
+
+		LengthPrefixed(int fieldSize) {
+			if (fieldSize != 0 && fieldSize != 1 && fieldSize != 2 && fieldSize != 4) {
+				throw new IllegalArgumentException("fieldSize must be 1, 2 or 4 or 0 for a varint");
+			}
+			this.fieldSize = fieldSize;
+		}
+
+		@Override
+		int scan(ByteBuffer bb, int from, int to) {
+			int i = from;
+			while (remaining == -1L) {
+				if (i == to) {
+					return -1;
+				}
+				byte b = bb.get(i++);
+				if (fieldSize == 0) {
+					if (headerRead == 5) {
+						throw new IllegalArgumentException("Malformed varint length prefix");
+					}
+					length |= (long) (b & 0x7F) << (7 * headerRead++);
+					if (b >= 0) {
+						remaining = length;
+					}
+				}
+				else {
+					length = (length << 8) | (b & 0xFF);
+					if (++headerRead == fieldSize) {
+						remaining = length;
+					}
+				}
+			}
+			if (remaining > to - i) {
+				remaining -= to - i;
+				return -1;
+			}
+			return i + (int) remaining;
+		}
+
+		@Override
+		int headerLength() {
+			return headerRead;
+		}
+
+		@Override
+		int trailerLength() {
+			return 0;
+		}
+
+		@Override
+		void reset() {
+			headerRead = 0;
+			length = 0L;
+			remaining = -1L;
+		}
+	}
+
+	static final class DecoderBarrier extends SubscriberBarrier<Buffer, Buffer> {
+
+		private final FrameDecoder decoder;
+		private final int          maxFrameLength;
+
+		// only accessed by the draining thread
+		private Buffer     chunk;
+		private int        position;
+		private ByteBuffer cumulation;
+		private boolean    chunkRequested;
+		private boolean    terminated;
+
+		private volatile Buffer    next;
+		private volatile boolean   done;
+		private volatile boolean   cancelled;
+		private volatile Throwable error;
+
+		private volatile long requested;
+		private static final AtomicLongFieldUpdater<DecoderBarrier> REQUESTED =
+				AtomicLongFieldUpdater.newUpdater(DecoderBarrier.class, "requested");
+
+		private volatile int wip;
+		private static final AtomicIntegerFieldUpdater<DecoderBarrier> WIP =
+				AtomicIntegerFieldUpdater.newUpdater(DecoderBarrier.class, "wip");
+
+		DecoderBarrier(Subscriber<? super Buffer> subscriber, FrameDecoder decoder, int maxFrameLength) {
+			super(subscriber);
+			this.decoder = decoder;
+			this.maxFrameLength = maxFrameLength;
+		}
+
+		@Override
+		protected void doNext(Buffer buffer) {
+			next = buffer;
+			drain();
+		}
+
+		@Override
+		protected void doError(Throwable throwable) {
+			error = throwable;
+			done = true;
+			drain();
+		}
+
+		@Override
+		protected void doOnSubscriberError(Throwable throwable) {
+			doError(throwable);
+		}
+
+		@Override
+		protected void doComplete() {
+			done = true;
+			drain();
+		}
+
+		@Override
+		protected void doRequest(long n) {
+			BackpressureUtils.getAndAdd(REQUESTED, this, n);
+			drain();
+		}
+
+		@Override
+		protected void doCancel() {
+			cancelled = true;
+			super.doCancel();
+		}
+
+		@Override
+		public long getCapacity() {
+			return 1L;
+		}
+
+		void drain() {
+			if (WIP.getAndIncrement(this) != 0) {
+				return;
+			}
+			int missed = 1;
+			for (; ; ) {
+				if (terminated || cancelled) {
+					chunk = null;
+					next = null;
+					cumulation = null;
+					return;
+				}
+				Throwable ex = error;
+				if (ex != null) {
+					fail(ex);
+					return;
+				}
+
+				long r = requested;
+				long e = 0L;
+				try {
+					while (e != r) {
+						if (chunk == null) {
+							boolean d = done;
+							Buffer b = next;
+							if (b == null) {
+								if (d && cumulation != null && decoder.acceptsTrailingFrame()) {
+									emit(frame(0, 0));
+									e++;
+								}
+								break;
+							}
+							next = null;
+							chunkRequested = false;
+							if (b.byteBuffer() == null || b.remaining() == 0) {
+								continue;
+							}
+							chunk = b;
+							position = b.position();
+						}
+						ByteBuffer bb = chunk.byteBuffer();
+						int limit = bb.limit();
+						int end = decoder.scan(bb, position, limit);
+						if (end == -1) {
+							cumulate(bb, position, limit);
+							chunk = null;
+							continue;
+						}
+						Buffer frame;
+						if (cumulation == null) {
+							if (end - position > maxFrameLength) {
+								throw new IllegalStateException("Frame length exceeds " + maxFrameLength);
+							}
+							frame = chunk.createView(position + decoder.headerLength(), end - decoder.trailerLength())
+							             .get();
+						}
+						else {
+							cumulate(bb, position, end);
+							frame = frame(decoder.headerLength(), decoder.trailerLength());
+						}
+						decoder.reset();
+						position = end;
+						if (end == limit) {
+							chunk = null;
+						}
+						emit(frame);
+						e++;
+					}
+				}
+				catch (RuntimeException re) {
+					Subscription s = subscription;
+					if (s != null) {
+						s.cancel();
+					}
+					fail(re);
+					return;
+				}
+
+				if (e != 0L && r != Long.MAX_VALUE) {
+					REQUESTED.addAndGet(this, -e);
+				}
+
+				boolean d = done;
+				if (chunk == null && next == null) {
+					if (d) {
+						if (cumulation == null) {
+							terminated = true;
+							subscriber.onComplete();
+							return;
+						}
+						if (!decoder.acceptsTrailingFrame()) {
+							fail(new IllegalStateException("Incomplete frame of " + cumulation.position() + " bytes " +
+									"at the end of the stream"));
+							return;
+						}
+					}
+					else if (!chunkRequested && requested != 0L) {
+						chunkRequested = true;
+						Subscription s = subscription;
+						if (s != null) {
+							s.request(1L);
+						}
+					}
+				}
+
+				missed = WIP.addAndGet(this, -missed);
+				if (missed == 0) {
+					break;
+				}
+			}
+		}
+
+		private void emit(Buffer frame) {
+			subscriber.onNext(frame);
+		}
+
+		private void fail(Throwable ex) {
+			terminated = true;
+			chunk = null;
+			cumulation = null;
+			subscriber.onError(ex);
+		}
+
+		private void cumulate(ByteBuffer bb, int from, int to) {
+			int size = cumulation == null ? 0 : cumulation.position();
+			int needed = size + to - from;
+			if (needed > maxFrameLength) {
+				throw new IllegalStateException("Frame length exceeds " + maxFrameLength);
+			}
+			if (cumulation == null || cumulation.remaining() < to - from) {
+				int capacity = cumulation == null ? 256 : cumulation.capacity();
+				while (capacity < needed) {
+					capacity = capacity << 1 < 0 ? maxFrameLength : capacity << 1;
+				}
+				ByteBuffer grown = ByteBuffer.allocate(Math.min(capacity, maxFrameLength));
+				if (cumulation != null) {
+					cumulation.flip();
+					grown.put(cumulation);
+				}
+				cumulation = grown;
+			}
+			ByteBuffer src = bb.duplicate();
+			src.limit(to).position(from);
+			cumulation.put(src);
+		}
+
+		private Buffer frame(int header, int trailer) {
+			ByteBuffer frame = cumulation;
+			cumulation = null;
+			frame.limit(frame.position() - trailer).position(header);
+			return new Buffer(frame);
+		}
+	}
+}
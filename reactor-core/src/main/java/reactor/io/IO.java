@@ -18,21 +18,40 @@ package reactor.io;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 import reactor.Publishers;
+import org.reactivestreams.Subscription;
 import reactor.core.publisher.PublisherFactory;
+import reactor.core.subscriber.SubscriberBarrier;
 import reactor.core.subscriber.SubscriberWithContext;
 import reactor.core.error.ReactorFatalException;
+import reactor.core.support.BackpressureUtils;
 import reactor.core.support.ReactiveState;
+import reactor.core.support.SignalType;
 import reactor.fn.Consumer;
 import reactor.fn.Function;
 import reactor.io.buffer.Buffer;
 import reactor.io.buffer.StringBuffer;
 
+import java.io.EOFException;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.CompletionHandler;
+import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
 import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileAttribute;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 
 /**
  * A factory for Reactive basic IO operations such as File read/write, Byte read and Codec decoding.
@@ -65,6 +84,173 @@ public final class IO {
 		return Publishers.map(channel, STRING_TO_BUFFER);
 	}
 
+	/**
+	 * Decode a sequence of {@link Buffer} chunks into the frames terminated by the given delimiter, with a max frame
+	 * length of {@link ReactiveState#MAX_IO_BUFFER_SIZE}.
+	 *
+	 * @param source         the chunks to decode
+	 * @param delimiter      the delimiter terminating each frame
+	 * @param stripDelimiter {@literal true} to exclude the delimiter from the frames
+	 * @return a Publisher of frames
+	 * @see #decodeDelimited(Publisher, Buffer, boolean, int)
+	 */
+	public static Publisher<Buffer> decodeDelimited(Publisher<Buffer> source, Buffer delimiter,
+			boolean stripDelimiter) {
+		return decodeDelimited(source, delimiter, stripDelimiter, ReactiveState.MAX_IO_BUFFER_SIZE);
+	}
+
+	/**
+	 * Decode a sequence of {@link Buffer} chunks into the frames terminated by the given delimiter. The chunks are
+	 * requested one at a time and only when frames are requested, a frame lying inside a chunk is published as a
+	 * zero-copy {@link Buffer.View} of it while a frame crossing chunk boundaries is accumulated. Bytes left when the
+	 * source completes are published as a last frame.
+	 *
+	 * @param source         the chunks to decode
+	 * @param delimiter      the delimiter terminating each frame
+	 * @param stripDelimiter {@literal true} to exclude the delimiter from the frames
+	 * @param maxFrameLength the maximum length of a frame, including its delimiter
+	 * @return a Publisher of frames
+	 */
+	public static Publisher<Buffer> decodeDelimited(Publisher<Buffer> source, Buffer delimiter,
+			final boolean stripDelimiter, int maxFrameLength) {
+		final byte[] delimiterBytes = delimiter.asBytes();
+		if (delimiterBytes.length == 0) {
+			throw new IllegalArgumentException("delimiter must not be empty");
+		}
+		return new FramePublisher(source, maxFrameLength) {
+			@Override
+			FrameDecoder decoder() {
+				return new FrameDecoder.Delimited(delimiterBytes, stripDelimiter);
+			}
+		};
+	}
+
+	/**
+	 * Decode a sequence of {@link Buffer} chunks into frames of {@code frameLength} bytes. Bytes left when the source
+	 * completes signal an error.
+	 *
+	 * @param source      the chunks to decode
+	 * @param frameLength the length of each frame
+	 * @return a Publisher of frames
+	 * @see #decodeDelimited(Publisher, Buffer, boolean, int)
+	 */
+	public static Publisher<Buffer> decodeFixedLength(Publisher<Buffer> source, final int frameLength) {
+		if (frameLength <= 0) {
+			throw new IllegalArgumentException("frameLength must be strictly positive");
+		}
+		return new FramePublisher(source, frameLength) {
+			@Override
+			FrameDecoder decoder() {
+				return new FrameDecoder.FixedLength(frameLength);
+			}
+		};
+	}
+
+	/**
+	 * Decode a sequence of {@link Buffer} chunks into frames prefixed by their length, with a max frame length of
+	 * {@link ReactiveState#MAX_IO_BUFFER_SIZE}.
+	 *
+	 * @param source          the chunks to decode
+	 * @param lengthFieldSize the size of the unsigned big-endian length field: 1, 2 or 4
+	 * @return a Publisher of frames, without their length field
+	 * @see #decodeLengthField(Publisher, int, int)
+	 */
+	public static Publisher<Buffer> decodeLengthField(Publisher<Buffer> source, int lengthFieldSize) {
+		return decodeLengthField(source, lengthFieldSize, ReactiveState.MAX_IO_BUFFER_SIZE);
+	}
+
+	/**
+	 * Decode a sequence of {@link Buffer} chunks into frames prefixed by an unsigned big-endian length field, the
+	 * length excluding the field itself. Bytes left when the source completes signal an error.
+	 *
+	 * @param source          the chunks to decode
+	 * @param lengthFieldSize the size of the length field: 1, 2 or 4
+	 * @param maxFrameLength  the maximum length of a frame, including its length field
+	 * @return a Publisher of frames, without their length field
+	 * @see #decodeDelimited(Publisher, Buffer, boolean, int)
+	 */
+	public static Publisher<Buffer> decodeLengthField(Publisher<Buffer> source, final int lengthFieldSize,
+			int maxFrameLength) {
+		if (lengthFieldSize != 1 && lengthFieldSize != 2 && lengthFieldSize != 4) {
+			throw new IllegalArgumentException("lengthFieldSize must be 1, 2 or 4");
+		}
+		return new FramePublisher(source, maxFrameLength) {
+			@Override
+			FrameDecoder decoder() {
+				return new FrameDecoder.LengthPrefixed(lengthFieldSize);
+			}
+		};
+	}
+
+	/**
+	 * Decode a sequence of {@link Buffer} chunks into frames prefixed by their length encoded as a varint, with a max
+	 * frame length of {@link ReactiveState#MAX_IO_BUFFER_SIZE}.
+	 *
+	 * @param source the chunks to decode
+	 * @return a Publisher of frames, without their length prefix
+	 * @see #decodeVarint(Publisher, int)
+	 */
+	public static Publisher<Buffer> decodeVarint(Publisher<Buffer> source) {
+		return decodeVarint(source, ReactiveState.MAX_IO_BUFFER_SIZE);
+	}
+
+	/**
+	 * Decode a sequence of {@link Buffer} chunks into frames prefixed by their length encoded as an unsigned base 128
+	 * varint of at most 5 bytes, least significant group first, the length excluding the prefix itself. Bytes left
+	 * when the source completes signal an error.
+	 *
+	 * @param source         the chunks to decode
+	 * @param maxFrameLength the maximum length of a frame, including its length prefix
+	 * @return a Publisher of frames, without their length prefix
+	 * @see #decodeDelimited(Publisher, Buffer, boolean, int)
+	 */
+	public static Publisher<Buffer> decodeVarint(Publisher<Buffer> source, int maxFrameLength) {
+		return new FramePublisher(source, maxFrameLength) {
+			@Override
+			FrameDecoder decoder() {
+				return new FrameDecoder.LengthPrefixed(0);
+			}
+		};
+	}
+
+	/**
+	 * Encode each {@link Buffer} as a frame terminated by the given delimiter.
+	 *
+	 * @param source    the frames to encode
+	 * @param delimiter the delimiter appended to each frame
+	 * @return a Publisher of encoded frames
+	 * @see #decodeDelimited(Publisher, Buffer, boolean)
+	 */
+	public static Publisher<Buffer> encodeDelimited(Publisher<Buffer> source, Buffer delimiter) {
+		return Publishers.map(source, new FrameEncoder(0, delimiter.asBytes()));
+	}
+
+	/**
+	 * Encode each {@link Buffer} as a frame prefixed by its length in an unsigned big-endian field.
+	 *
+	 * @param source          the frames to encode
+	 * @param lengthFieldSize the size of the length field: 1, 2 or 4
+	 * @return a Publisher of encoded frames
+	 * @see #decodeLengthField(Publisher, int)
+	 */
+	public static Publisher<Buffer> encodeLengthField(Publisher<Buffer> source, int lengthFieldSize) {
+		if (lengthFieldSize != 1 && lengthFieldSize != 2 && lengthFieldSize != 4) {
+			throw new IllegalArgumentException("lengthFieldSize must be 1, 2 or 4");
+		}
+		return Publishers.map(source, new FrameEncoder(lengthFieldSize, null));
+	}
+
+	/**
+	 * Encode each {@link Buffer} as a frame prefixed by its length encoded as a varint.
+	 *
+	 * @param source the frames to encode
+	 * @return a Publisher of encoded frames
+	 * @see #decodeVarint(Publisher)
+	 */
+	public static Publisher<Buffer> encodeVarint(Publisher<Buffer> source) {
+		return Publishers.map(source, new FrameEncoder(0, null));
+	}
+
 	/**
 	 * Transform a {@link ReadableByteChannel} into a {@link Publisher} of {@link Buffer} with a max chunk size of
 	 * {@link ReactiveState#SMALL_IO_BUFFER_SIZE}.
@@ -163,6 +349,215 @@ public final class IO {
 		  channelCloseConsumer);
 	}
 
+	/**
+	 * Map the file specified by the {@link Path} argument in memory and publish its content as {@link Buffer} slices
+	 * of at most {@code chunkSize} bytes over the mapped region, without copying. Slices are produced on demand and
+	 * the file is mapped by windows of at most 1GB, so files larger than 2GB are remapped window by window.
+	 * <p>
+	 * The slices are read-only and share the memory of the mapping: they should not be retained longer than needed.
+	 * Complete when the end of file is reached. The read sequence is unique per subscriber.
+	 *
+	 * @param path      the {@link Path} locating the file to map
+	 * @param chunkSize the maximum size of each published Buffer
+	 * @return a Publisher of Buffer slices of the mapped file
+	 */
+	public static Publisher<Buffer> mapFile(Path path, int chunkSize) {
+		return mapFile(path.toAbsolutePath().toString(), chunkSize);
+	}
+
+	/**
+	 * Map the file specified by the {@code path} argument in memory and publish its content as {@link Buffer} slices
+	 * of at most {@code chunkSize} bytes over the mapped region, without copying. Slices are produced on demand and
+	 * the file is mapped by windows of at most 1GB, so files larger than 2GB are remapped window by window.
+	 * <p>
+	 * The slices are read-only and share the memory of the mapping: they should not be retained longer than needed.
+	 * Complete when the end of file is reached. The read sequence is unique per subscriber.
+	 *
+	 * @param path      the absolute String path to the mapped file
+	 * @param chunkSize the maximum size of each published Buffer
+	 * @return a Publisher of Buffer slices of the mapped file
+	 */
+	public static Publisher<Buffer> mapFile(final String path, int chunkSize) {
+		return mapFile(path, chunkSize, MAX_MAP_WINDOW);
+	}
+
+	static Publisher<Buffer> mapFile(final String path, final int chunkSize, int maxWindow) {
+		if (chunkSize <= 0 || chunkSize > maxWindow) {
+			throw new IllegalArgumentException("chunkSize must be strictly positive and less than " + maxWindow);
+		}
+		final long windowSize = (long) (maxWindow / chunkSize) * chunkSize;
+		return PublisherFactory.create(
+		  mappedFileReadConsumer,
+		  new Function<Subscriber<? super Buffer>, ReadableByteChannel>() {
+			  @Override
+			  public ReadableByteChannel apply(Subscriber<? super Buffer> subscriber) {
+				  try {
+					  RandomAccessFile file = new RandomAccessFile(path, "r");
+					  return new MappedFileContext(file, chunkSize, windowSize);
+				  } catch (IOException e) {
+					  throw ReactorFatalException.create(e);
+				  }
+			  }
+		  },
+		  channelCloseConsumer);
+	}
+
+	/**
+	 * Read bytes as {@link Buffer} from file specified by the {@link Path} argument with an {@link
+	 * AsynchronousFileChannel} bound to the default thread pool.
+	 *
+	 * @param path      the {@link Path} locating the file to read
+	 * @param chunkSize the maximum size of each published Buffer
+	 * @param prefetch  the maximum number of chunks read ahead of demand
+	 * @return a Publisher of Buffer values read from file in order
+	 * @see #readFileAsync(String, int, int, ExecutorService)
+	 */
+	public static Publisher<Buffer> readFileAsync(Path path, int chunkSize, int prefetch) {
+		return readFileAsync(path.toAbsolutePath().toString(), chunkSize, prefetch, null);
+	}
+
+	/**
+	 * Read bytes as {@link Buffer} from file specified by the {@code path} argument with an {@link
+	 * AsynchronousFileChannel}. Up to {@code prefetch} positional reads of {@code chunkSize} bytes are issued ahead of
+	 * demand, they complete on the channel thread pool and the resulting Buffers are emitted in file order, so no
+	 * thread is ever blocked waiting on the disk.
+	 * <p>
+	 * Complete when the end of file is reached. The read sequence is unique per subscriber.
+	 *
+	 * @param path      the absolute String path to the read file
+	 * @param chunkSize the maximum size of each published Buffer
+	 * @param prefetch  the maximum number of chunks read ahead of demand
+	 * @param executor  the thread pool completing the reads or null to use the default one
+	 * @return a Publisher of Buffer values read from file in order
+	 */
+	public static Publisher<Buffer> readFileAsync(final String path, final int chunkSize, final int prefetch,
+			final ExecutorService executor) {
+		if (chunkSize <= 0) {
+			throw new IllegalArgumentException("chunkSize must be strictly positive");
+		}
+		if (prefetch <= 0) {
+			throw new IllegalArgumentException("prefetch must be strictly positive");
+		}
+		return new Publisher<Buffer>() {
+			@Override
+			public void subscribe(Subscriber<? super Buffer> subscriber) {
+				if (subscriber == null) {
+					throw new NullPointerException("subscriber");
+				}
+				AsynchronousFileChannel channel;
+				try {
+					if (executor == null) {
+						channel = AsynchronousFileChannel.open(Paths.get(path), StandardOpenOption.READ);
+					}
+					else {
+						channel = AsynchronousFileChannel.open(Paths.get(path),
+								Collections.singleton(StandardOpenOption.READ),
+								executor,
+								new FileAttribute<?>[0]);
+					}
+				}
+				catch (Throwable t) {
+					subscriber.onSubscribe(SignalType.NOOP_SUBSCRIPTION);
+					subscriber.onError(t);
+					return;
+				}
+				new AsyncFileReadSubscription(subscriber, channel, chunkSize, prefetch).start();
+			}
+		};
+	}
+
+	/**
+	 * Write the {@link Buffer} sequence of the given {@link Publisher} to a {@link WritableByteChannel}, requesting
+	 * {@link #DEFAULT_WRITE_BATCH} buffers at a time.
+	 *
+	 * @param source  the {@link Publisher} of {@link Buffer} to write
+	 * @param channel the {@link WritableByteChannel} to write to, left open on termination
+	 * @return a Publisher emitting the number of bytes written once the source completed
+	 * @see #write(Publisher, WritableByteChannel, int)
+	 */
+	public static Publisher<Long> write(Publisher<? extends Buffer> source, WritableByteChannel channel) {
+		return write(source, channel, DEFAULT_WRITE_BATCH);
+	}
+
+	/**
+	 * Write the {@link Buffer} sequence of the given {@link Publisher} to a {@link WritableByteChannel}. The source is
+	 * subscribed when the returned {@link Publisher} is, buffers are requested {@code batchSize} at a time and the
+	 * buffers received for a batch are flushed together with a single gathering write when the channel is a {@link
+	 * GatheringByteChannel}. The buffers must not be reused by the source until their batch has been flushed.
+	 * <p>
+	 * Chunks published by {@link #mapFile(String, int)} are not copied through memory but transferred with {@link
+	 * FileChannel#transferTo(long, long, WritableByteChannel)}.
+	 * <p>
+	 * The channel is expected to be blocking, the returned Publisher fails with an {@link IOException} if a write
+	 * makes no progress. It is left open on termination.
+	 *
+	 * @param source    the {@link Publisher} of {@link Buffer} to write
+	 * @param channel   the {@link WritableByteChannel} to write to
+	 * @param batchSize the number of buffers requested and written at a time
+	 * @return a Publisher emitting the number of bytes written once the source completed
+	 */
+	public static Publisher<Long> write(Publisher<? extends Buffer> source, final WritableByteChannel channel,
+			final int batchSize) {
+		if (batchSize <= 0) {
+			throw new IllegalArgumentException("batchSize must be strictly positive");
+		}
+		return new ChannelWritePublisher(source) {
+			@Override
+			public Subscriber<? super Buffer> apply(Subscriber<? super Long> subscriber) {
+				return new ChannelWriteBarrier(subscriber, channel, false, batchSize);
+			}
+		};
+	}
+
+	/**
+	 * Write the {@link Buffer} sequence of the given {@link Publisher} to the file specified by the {@link Path}
+	 * argument, created or truncated for each subscriber and closed on termination.
+	 *
+	 * @param source the {@link Publisher} of {@link Buffer} to write
+	 * @param path   the {@link Path} locating the file to write
+	 * @return a Publisher emitting the number of bytes written once the source completed
+	 * @see #write(Publisher, WritableByteChannel, int)
+	 */
+	public static Publisher<Long> writeFile(Publisher<? extends Buffer> source, Path path) {
+		return writeFile(source, path.toAbsolutePath().toString());
+	}
+
+	/**
+	 * Write the {@link Buffer} sequence of the given {@link Publisher} to the file specified by the {@code path}
+	 * argument, created or truncated for each subscriber and closed on termination.
+	 *
+	 * @param source the {@link Publisher} of {@link Buffer} to write
+	 * @param path   the absolute String path to the written file
+	 * @return a Publisher emitting the number of bytes written once the source completed
+	 * @see #write(Publisher, WritableByteChannel, int)
+	 */
+	public static Publisher<Long> writeFile(Publisher<? extends Buffer> source, final String path) {
+		return new ChannelWritePublisher(source) {
+			@Override
+			public Subscriber<? super Buffer> apply(Subscriber<? super Long> subscriber) {
+				try {
+					FileChannel channel = FileChannel.open(Paths.get(path),
+							StandardOpenOption.CREATE,
+							StandardOpenOption.WRITE,
+							StandardOpenOption.TRUNCATE_EXISTING);
+					return new ChannelWriteBarrier(subscriber, channel, true, DEFAULT_WRITE_BATCH);
+				}
+				catch (IOException e) {
+					throw ReactorFatalException.create(e);
+				}
+			}
+		};
+	}
+
+	/**
+	 * The number of buffers requested and written at a time by {@link #write(Publisher, WritableByteChannel)}
+	 */
+	public static final int DEFAULT_WRITE_BATCH = 32;
+
+	private static final int MAX_MAP_WINDOW = 1 << 30;
+
+	private static final MappedFileReadConsumer mappedFileReadConsumer = new MappedFileReadConsumer();
+
 	private static final ChannelCloseConsumer channelCloseConsumer       = new ChannelCloseConsumer();
 	private static final ChannelReadConsumer  defaultChannelReadConsumer = new ChannelReadConsumer(ReactiveState
 	  .SMALL_IO_BUFFER_SIZE * 8);
@@ -199,6 +594,507 @@ public final class IO {
 		}
 	}
 
+	/**
+	 * A memory mapped read access to the source file, remapped window by window
+	 */
+	static final class MappedFileContext implements ReadableByteChannel {
+		private final RandomAccessFile file;
+		private final FileChannel      channel;
+		private final long             size;
+		private final int              chunkSize;
+		private final long             windowSize;
+
+		private MappedByteBuffer window;
+		private long             windowStart;
+		private long             position;
+
+		MappedFileContext(RandomAccessFile file, int chunkSize, long windowSize) throws IOException {
+			this.file = file;
+			this.channel = file.getChannel();
+			this.size = channel.size();
+			this.chunkSize = chunkSize;
+			this.windowSize = windowSize;
+		}
+
+		/**
+		 * Return a slice of the next chunk, mapping the window containing it if needed
+		 *
+		 * @return the next chunk or null if the end of file has been reached
+		 * @throws IOException if the mapping failed
+		 */
+		Buffer next() throws IOException {
+			if (position >= size) {
+				return null;
+			}
+			if (window == null || position - windowStart >= windowSize) {
+				windowStart = position;
+				window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(windowSize, size - position));
+			}
+			int offset = (int) (position - windowStart);
+			int len = (int) Math.min(chunkSize, size - position);
+			ByteBuffer slice = window.duplicate();
+			slice.limit(offset + len).position(offset);
+			FileChunk chunk = new FileChunk(slice.slice(), channel, position);
+			position += len;
+			return chunk;
+		}
+
+		@Override
+		public int read(ByteBuffer dst) throws IOException {
+			return channel.read(dst);
+		}
+
+		@Override
+		public boolean isOpen() {
+			return channel.isOpen();
+		}
+
+		@Override
+		public void close() throws IOException {
+			window = null;
+			file.close();
+		}
+	}
+
+	/**
+	 * A {@link Buffer} over a region of a memory mapped file, which can be transferred to another channel without
+	 * copying it through memory
+	 */
+	public static final class FileChunk extends Buffer {
+		private final FileChannel channel;
+		private final long        filePosition;
+
+		FileChunk(ByteBuffer slice, FileChannel channel, long filePosition) {
+			super(slice);
+			this.channel = channel;
+			this.filePosition = filePosition;
+		}
+
+		/**
+		 * Transfer the remaining bytes of this chunk to the given channel, directly from the file, and move the
+		 * position past the transferred bytes. The transfer stops early if the target does not accept more bytes,
+		 * as a non-blocking channel may, leaving the rest of the chunk remaining.
+		 * <p>
+		 * The source file is closed once the mapped sequence terminates: a chunk transferred after that is written
+		 * from its mapped memory instead, which stays readable until the chunk is garbage collected.
+		 *
+		 * @param target the channel to write to
+		 * @return the number of bytes transferred
+		 * @throws EOFException if the source file was truncated below this chunk
+		 * @throws IOException  if the transfer failed
+		 */
+		public long transferTo(WritableByteChannel target) throws IOException {
+			long from = filePosition + position();
+			long count = remaining();
+			long transferred = 0L;
+			while (transferred < count) {
+				long n;
+				try {
+					n = channel.transferTo(from + transferred, count - transferred, target);
+				}
+				catch (ClosedChannelException e) {
+					if (channel.isOpen()) {
+						throw e;
+					}
+					position(position() + (int) transferred);
+					return transferred + writeMapped(target);
+				}
+				if (n == 0L) {
+					if (from + transferred >= channel.size()) {
+						throw new EOFException("File truncated to " + channel.size() + " bytes, expected at least " +
+						  (from + count));
+					}
+					break;
+				}
+				transferred += n;
+			}
+			position(position() + (int) transferred);
+			return transferred;
+		}
+
+		private long writeMapped(WritableByteChannel target) throws IOException {
+			ByteBuffer buffer = byteBuffer();
+			long written = 0L;
+			while (buffer.hasRemaining()) {
+				int n = target.write(buffer);
+				if (n == 0) {
+					break;
+				}
+				written += n;
+			}
+			return written;
+		}
+	}
+
+	private static class ChannelWritePublisher extends PublisherFactory.PublisherBarrier<Buffer, Long> {
+
+		@SuppressWarnings("unchecked")
+		ChannelWritePublisher(Publisher<? extends Buffer> source) {
+			super((Publisher<Buffer>) source);
+		}
+	}
+
+	private static final class ChannelWriteBarrier extends SubscriberBarrier<Buffer, Long> {
+
+		private static final int REQUESTED = 1;
+		private static final int COMPLETED = 2;
+
+		private final WritableByteChannel channel;
+		private final boolean             closeOnTerminate;
+		private final int                 batchSize;
+		private final ByteBuffer[]        pending;
+
+		private int  pendingCount;
+		private int  received;
+		private long written;
+
+		private volatile int state;
+
+		private static final AtomicIntegerFieldUpdater<ChannelWriteBarrier> STATE =
+				AtomicIntegerFieldUpdater.newUpdater(ChannelWriteBarrier.class, "state");
+
+		ChannelWriteBarrier(Subscriber<? super Long> subscriber,
+				WritableByteChannel channel,
+				boolean closeOnTerminate,
+				int batchSize) {
+			super(subscriber);
+			this.channel = channel;
+			this.closeOnTerminate = closeOnTerminate;
+			this.batchSize = batchSize;
+			this.pending = new ByteBuffer[batchSize];
+		}
+
+		@Override
+		protected void doOnSubscribe(Subscription s) {
+			subscriber.onSubscribe(this);
+			s.request(batchSize);
+		}
+
+		@Override
+		protected void doNext(Buffer buffer) {
+			try {
+				if (buffer instanceof FileChunk) {
+					flush();
+					written += ((FileChunk) buffer).transferTo(channel);
+					if (buffer.remaining() > 0) {
+						throw new IOException("The channel did not accept the whole file chunk, is it non-blocking ?");
+					}
+				}
+				else if (null != buffer.byteBuffer() && buffer.remaining() > 0) {
+					pending[pendingCount++] = buffer.byteBuffer();
+				}
+				if (++received == batchSize) {
+					flush();
+					received = 0;
+					Subscription s = subscription;
+					if (s != null) {
+						s.request(batchSize);
+					}
+				}
+			}
+			catch (IOException e) {
+				Subscription s = subscription;
+				if (s != null) {
+					s.cancel();
+				}
+				doError(e);
+			}
+		}
+
+		@Override
+		protected void doComplete() {
+			try {
+				flush();
+			}
+			catch (IOException e) {
+				doError(e);
+				return;
+			}
+			close();
+			int s;
+			do {
+				s = state;
+			}
+			while (!STATE.compareAndSet(this, s, s | COMPLETED));
+			if (s == REQUESTED) {
+				emit();
+			}
+		}
+
+		@Override
+		protected void doError(Throwable throwable) {
+			close();
+			subscriber.onError(throwable);
+		}
+
+		@Override
+		protected void doOnSubscriberError(Throwable throwable) {
+			doError(throwable);
+		}
+
+		@Override
+		protected void doRequest(long n) {
+			int s;
+			do {
+				s = state;
+				if ((s & REQUESTED) != 0) {
+					return;
+				}
+			}
+			while (!STATE.compareAndSet(this, s, s | REQUESTED));
+			if (s == COMPLETED) {
+				emit();
+			}
+		}
+
+		@Override
+		protected void doCancel() {
+			super.doCancel();
+			close();
+		}
+
+		private void emit() {
+			subscriber.onNext(written);
+			subscriber.onComplete();
+		}
+
+		private void flush() throws IOException {
+			int count = pendingCount;
+			if (count == 0) {
+				return;
+			}
+			int first = 0;
+			while (first < count) {
+				long n;
+				if (channel instanceof GatheringByteChannel) {
+					n = ((GatheringByteChannel) channel).write(pending, first, count - first);
+				}
+				else {
+					n = channel.write(pending[first]);
+				}
+				if (n == 0L) {
+					throw new IOException("The channel did not accept the pending buffers, is it non-blocking ?");
+				}
+				written += n;
+				while (first < count && !pending[first].hasRemaining()) {
+					pending[first++] = null;
+				}
+			}
+			pendingCount = 0;
+		}
+
+		private void close() {
+			if (closeOnTerminate) {
+				try {
+					channel.close();
+				}
+				catch (IOException e) {
+					//IGNORE
+				}
+			}
+		}
+	}
+
+	private static final class AsyncFileReadSubscription implements Subscription, ReactiveState.Upstream,
+	                                                                ReactiveState.DownstreamDemand {
+
+		private final Subscriber<? super Buffer> subscriber;
+		private final AsynchronousFileChannel    channel;
+		private final int                        chunkSize;
+		private final AsyncChunk[]               chunks;
+
+		// only accessed by the draining thread
+		private long emitted;
+		private long issued;
+
+		private volatile boolean terminated;
+
+		private volatile long requested;
+		private static final AtomicLongFieldUpdater<AsyncFileReadSubscription> REQUESTED =
+				AtomicLongFieldUpdater.newUpdater(AsyncFileReadSubscription.class, "requested");
+
+		private volatile int wip;
+		private static final AtomicIntegerFieldUpdater<AsyncFileReadSubscription> WIP =
+				AtomicIntegerFieldUpdater.newUpdater(AsyncFileReadSubscription.class, "wip");
+
+		AsyncFileReadSubscription(Subscriber<? super Buffer> subscriber,
+				AsynchronousFileChannel channel,
+				int chunkSize,
+				int prefetch) {
+			this.subscriber = subscriber;
+			this.channel = channel;
+			this.chunkSize = chunkSize;
+			this.chunks = new AsyncChunk[prefetch];
+		}
+
+		void start() {
+			subscriber.onSubscribe(this);
+			drain();
+		}
+
+		@Override
+		public void request(long n) {
+			if (BackpressureUtils.checkRequest(n, subscriber)) {
+				BackpressureUtils.getAndAdd(REQUESTED, this, n);
+				drain();
+			}
+		}
+
+		@Override
+		public void cancel() {
+			terminated = true;
+			drain();
+		}
+
+		@Override
+		public Object upstream() {
+			return channel;
+		}
+
+		@Override
+		public long requestedFromDownstream() {
+			return requested;
+		}
+
+		void drain() {
+			if (WIP.getAndIncrement(this) != 0) {
+				return;
+			}
+			int missed = 1;
+			for (; ; ) {
+				if (terminated) {
+					close();
+					return;
+				}
+
+				long r = requested;
+				long e = 0L;
+				for (; ; ) {
+					int index = (int) (emitted % chunks.length);
+					AsyncChunk chunk = chunks[index];
+					if (chunk == null || !chunk.ready) {
+						break;
+					}
+					if (chunk.error != null) {
+						terminated = true;
+						close();
+						subscriber.onError(chunk.error);
+						return;
+					}
+					boolean empty = chunk.buffer.position() == 0;
+					if (!empty && e == r) {
+						break;
+					}
+					chunks[index] = null;
+					emitted++;
+					if (!empty) {
+						chunk.buffer.flip();
+						subscriber.onNext(new Buffer(chunk.buffer));
+						e++;
+					}
+					if (chunk.last) {
+						terminated = true;
+						close();
+						subscriber.onComplete();
+						return;
+					}
+					if (terminated) {
+						close();
+						return;
+					}
+				}
+
+				if (e != 0L && r != Long.MAX_VALUE) {
+					REQUESTED.addAndGet(this, -e);
+				}
+
+				while (issued - emitted < chunks.length) {
+					AsyncChunk chunk = new AsyncChunk(issued * chunkSize, ByteBuffer.allocate(chunkSize));
+					chunks[(int) (issued % chunks.length)] = chunk;
+					issued++;
+					chunk.read();
+				}
+
+				missed = WIP.addAndGet(this, -missed);
+				if (missed == 0) {
+					break;
+				}
+			}
+		}
+
+		private void close() {
+			try {
+				channel.close();
+			}
+			catch (IOException e) {
+				//IGNORE
+			}
+		}
+
+		private final class AsyncChunk implements CompletionHandler<Integer, Void> {
+
+			final long       position;
+			final ByteBuffer buffer;
+
+			boolean   last;
+			Throwable error;
+
+			volatile boolean ready;
+
+			AsyncChunk(long position, ByteBuffer buffer) {
+				this.position = position;
+				this.buffer = buffer;
+			}
+
+			void read() {
+				try {
+					channel.read(buffer, position + buffer.position(), null, this);
+				}
+				catch (Throwable t) {
+					failed(t, null);
+				}
+			}
+
+			@Override
+			public void completed(Integer result, Void attachment) {
+				if (result < 0) {
+					last = true;
+				}
+				else if (buffer.hasRemaining()) {
+					read();
+					return;
+				}
+				ready = true;
+				drain();
+			}
+
+			@Override
+			public void failed(Throwable exc, Void attachment) {
+				error = exc;
+				ready = true;
+				drain();
+			}
+		}
+	}
+
+	private static final class MappedFileReadConsumer implements Consumer<SubscriberWithContext<Buffer,
+	  ReadableByteChannel>> {
+
+		@Override
+		public void accept(SubscriberWithContext<Buffer, ReadableByteChannel> sub) {
+			try {
+				Buffer chunk = ((MappedFileContext) sub.context()).next();
+				if (chunk != null) {
+					sub.onNext(chunk);
+				} else {
+					sub.onComplete();
+				}
+			} catch (IOException e) {
+				sub.onError(e);
+			}
+		}
+	}
+
 	private static final class ChannelReadConsumer implements Consumer<SubscriberWithContext<Buffer,
 	  ReadableByteChannel>> {
 
@@ -239,6 +1135,78 @@ public final class IO {
 	}
 
 
+	private static abstract class FramePublisher extends PublisherFactory.PublisherBarrier<Buffer, Buffer> {
+
+		private final int maxFrameLength;
+
+		FramePublisher(Publisher<Buffer> source, int maxFrameLength) {
+			super(source);
+			if (maxFrameLength <= 0) {
+				throw new IllegalArgumentException("maxFrameLength must be strictly positive");
+			}
+			this.maxFrameLength = maxFrameLength;
+		}
+
+		abstract FrameDecoder decoder();
+
+		@Override
+		public Subscriber<? super Buffer> apply(Subscriber<? super Buffer> subscriber) {
+			return decoder().subscriber(subscriber, maxFrameLength);
+		}
+	}
+
+	private static final class FrameEncoder implements Function<Buffer, Buffer> {
+
+		private final int    lengthFieldSize;
+		private final byte[] delimiter;
+
+		FrameEncoder(int lengthFieldSize, byte[] delimiter) {
+			this.lengthFieldSize = lengthFieldSize;
+			this.delimiter = delimiter;
+		}
+
+		@Override
+		public Buffer apply(Buffer buffer) {
+			ByteBuffer src = buffer.byteBuffer();
+			int length = src == null ? 0 : src.remaining();
+			ByteBuffer frame;
+			if (delimiter != null) {
+				frame = ByteBuffer.allocate(length + delimiter.length);
+				put(frame, src);
+				frame.put(delimiter);
+			}
+			else if (lengthFieldSize == 0) {
+				frame = ByteBuffer.allocate(length + 5);
+				int value = length;
+				while ((value & ~0x7F) != 0) {
+					frame.put((byte) ((value & 0x7F) | 0x80));
+					value >>>= 7;
+				}
+				frame.put((byte) value);
+				put(frame, src);
+			}
+			else {
+				if (lengthFieldSize < 4 && length >= 1 << (lengthFieldSize << 3)) {
+					throw new IllegalArgumentException("Frame length " + length + " does not fit in " +
+							lengthFieldSize + " bytes");
+				}
+				frame = ByteBuffer.allocate(length + lengthFieldSize);
+				for (int shift = (lengthFieldSize - 1) << 3; shift >= 0; shift -= 8) {
+					frame.put((byte) (length >>> shift));
+				}
+				put(frame, src);
+			}
+			frame.flip();
+			return new Buffer(frame);
+		}
+
+		private static void put(ByteBuffer frame, ByteBuffer src) {
+			if (src != null) {
+				frame.put(src.duplicate());
+			}
+		}
+	}
+
 	private static final class BufferToString implements Function<Buffer, String> {
 		@Override
 		public String apply(Buffer buffer) {
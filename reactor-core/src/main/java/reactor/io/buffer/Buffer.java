@@ -18,6 +18,7 @@ package reactor.io.buffer;
 
 import reactor.core.support.Assert;
 import reactor.core.support.ReactiveState;
+import reactor.core.support.internal.ByteScanner;
 import reactor.fn.Supplier;
 
 import javax.annotation.concurrent.NotThreadSafe;
@@ -1040,23 +1041,82 @@ public class Buffer implements ReactiveState.Recyclable,
 	 * @return A {@link List} of {@link View Views} that point to the segments of this buffer.
 	 */
 	public List<View> split(List<View> views, int delimiter, boolean stripDelimiter) {
+		int start = buffer.position();
+		if (delimiter == (byte) delimiter) {
+			int limit = buffer.limit();
+			int found;
+			while ((found = ByteScanner.scan(buffer, (byte) delimiter, start, limit)) != -1) {
+				views.add(new View(start, stripDelimiter ? found : found + 1));
+				start = found + 1;
+			}
+			buffer.position(start);
+		}
 		snapshot();
 
-		int start = this.position;
-		for (byte b : this) {
-			if (b == delimiter) {
-				int end = stripDelimiter ? buffer.position() - 1 : buffer.position();
-				views.add(createView(start, end));
-				start = end + (stripDelimiter ? 1 : 0);
+		return views;
+	}
+
+	/**
+	 * Split this buffer on the given delimiter without allocating, storing the start (inclusive) and end (exclusive)
+	 * offsets of each segment as consecutive pairs in the given array. The scan stops when the array is full and the
+	 * buffer is positioned after the last delimiter found, so calling this method again streams the next segments.
+	 * Trailing bytes not followed by a delimiter are left for a later call, once more data has been appended.
+	 *
+	 * @param segments       The array receiving the offset pairs, of at least 2 slots.
+	 * @param delimiter      The delimiter on which to split this buffer.
+	 * @param stripDelimiter {@literal true} to exclude the delimiter from the segments, {@literal false} to leave it
+	 *                                         at the end of each segment.
+	 * @return The number of segments stored in the array, {@code 0} when no delimiter remains.
+	 */
+	public int split(int[] segments, int delimiter, boolean stripDelimiter) {
+		int count = 0;
+		if (delimiter == (byte) delimiter) {
+			int start = buffer.position();
+			int limit = buffer.limit();
+			int max = segments.length >> 1;
+			int found;
+			while (count < max && (found = ByteScanner.scan(buffer, (byte) delimiter, start, limit)) != -1) {
+				segments[count << 1] = start;
+				segments[(count << 1) + 1] = stripDelimiter ? found : found + 1;
+				count++;
+				start = found + 1;
 			}
-		}
-		if (start != buffer.position()) {
 			buffer.position(start);
 		}
+		snapshot();
+		return count;
+	}
 
-		reset();
-
-		return views;
+	/**
+	 * Split this buffer on the given multi-byte delimiter without allocating, storing the start (inclusive) and end
+	 * (exclusive) offsets of each segment as consecutive pairs in the given array.
+	 *
+	 * @param segments       The array receiving the offset pairs, of at least 2 slots.
+	 * @param delimiter      The multi-byte delimiter.
+	 * @param stripDelimiter {@literal true} to exclude the delimiter from the segments, {@literal false} to leave it
+	 *                                         at the end of each segment.
+	 * @return The number of segments stored in the array, {@code 0} when no delimiter remains.
+	 * @see #split(int[], int, boolean)
+	 */
+	public int split(int[] segments, Buffer delimiter, boolean stripDelimiter) {
+		byte[] delimBytes = delimiter.asBytes();
+		if (delimBytes.length == 0) {
+			return 0;
+		}
+		int count = 0;
+		int start = buffer.position();
+		int limit = buffer.limit();
+		int max = segments.length >> 1;
+		int found;
+		while (count < max && (found = ByteScanner.scan(buffer, delimBytes, start, limit)) != -1) {
+			segments[count << 1] = start;
+			segments[(count << 1) + 1] = stripDelimiter ? found : found + delimBytes.length;
+			count++;
+			start = found + delimBytes.length;
+		}
+		buffer.position(start);
+		snapshot();
+		return count;
 	}
 
 	/**
@@ -1101,30 +1161,15 @@ public class Buffer implements ReactiveState.Recyclable,
 			return Collections.emptyList();
 		}
 
-		int start = this.position;
-		for (byte b : this) {
-			if (b != delimBytes[0]) {
-				continue;
-			}
-			int end = -1;
-			for (int i = 1; i < delimBytes.length; i++) {
-				if (read() == delimBytes[i]) {
-					end = stripDelimiter ? buffer.position() - delimBytes.length : buffer.position();
-				} else {
-					end = -1;
-					break;
-				}
-			}
-			if (end > 0) {
-				views.add(createView(start, end));
-				start = end + (stripDelimiter ? delimBytes.length : 0);
-			}
-		}
-		if (start != buffer.position()) {
-			buffer.position(start);
+		int start = buffer.position();
+		int limit = buffer.limit();
+		int found;
+		while ((found = ByteScanner.scan(buffer, delimBytes, start, limit)) != -1) {
+			views.add(new View(start, stripDelimiter ? found : found + delimBytes.length));
+			start = found + delimBytes.length;
 		}
-
-		reset();
+		buffer.position(start);
+		snapshot();
 
 		return views;
 	}
@@ -1150,18 +1195,11 @@ public class Buffer implements ReactiveState.Recyclable,
 	 */
 	public int indexOf(byte b, int start, int end) {
 		snapshot();
-		if (buffer.position() != start) {
-			buffer.position(start);
+		if (start < 0 || start > buffer.limit()) {
+			throw new IllegalArgumentException("start " + start + " is out of the buffer bounds");
 		}
-		int pos = -1;
-		while (buffer.hasRemaining() && buffer.position() < end) {
-			if (buffer.get() == b) {
-				pos = buffer.position();
-				break;
-			}
-		}
-		reset();
-		return pos;
+		int found = ByteScanner.scan(buffer, b, start, Math.min(end, buffer.limit()));
+		return found == -1 ? -1 : found + 1;
 	}
 
 	/**
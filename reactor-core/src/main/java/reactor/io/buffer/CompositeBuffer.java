@@ -0,0 +1,576 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.io.buffer;
+
+import javax.annotation.concurrent.NotThreadSafe;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import reactor.core.support.Assert;
+import reactor.core.support.internal.ByteScanner;
+
+/**
+ * A {@literal CompositeBuffer} is a read-only sequence of bytes backed by a list of component {@link ByteBuffer
+ * ByteBuffers}, assembled without copying their contents. Appending or prepending a {@link Buffer} or a {@link
+ * ByteBuffer} adds a view of its remaining bytes, so later changes to the component contents are visible through
+ * this buffer.
+ * <p>
+ * Like {@link Buffer}, a composite has a position and a limit, bytes being read from the position up to the limit.
+ * {@link #slice(int, int)} and {@link #split(int)} return composites sharing the same components and the remaining
+ * bytes can be flushed with a single gathering write, see {@link #write(WritableByteChannel)}.
+ *
+ * @since 2.1
+ */
+@NotThreadSafe
+public class CompositeBuffer {
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	private ByteBuffer[] components;
+	private int[]        offsets;
+	private int          count;
+	private int          size;
+	private int          position;
+	private int          limit;
+	private int          cursor;
+
+	/**
+	 * Create an empty {@literal CompositeBuffer}.
+	 */
+	public CompositeBuffer() {
+		this.components = new ByteBuffer[4];
+		this.offsets = new int[4];
+	}
+
+	/**
+	 * Create a {@literal CompositeBuffer} of the remaining bytes of the given {@link Buffer Buffers}.
+	 *
+	 * @param buffers the buffers to compose
+	 * @return a new {@literal CompositeBuffer}
+	 */
+	public static CompositeBuffer of(Buffer... buffers) {
+		return new CompositeBuffer().append(buffers);
+	}
+
+	/**
+	 * Create a {@literal CompositeBuffer} of the remaining bytes of the given {@link ByteBuffer ByteBuffers}.
+	 *
+	 * @param buffers the buffers to compose
+	 * @return a new {@literal CompositeBuffer}
+	 */
+	public static CompositeBuffer of(ByteBuffer... buffers) {
+		return new CompositeBuffer().append(buffers);
+	}
+
+	/**
+	 * Add the remaining bytes of the given {@link Buffer Buffers} after the current content, without copying.
+	 *
+	 * @param buffers the buffers to add
+	 * @return {@literal this}
+	 */
+	public CompositeBuffer append(Buffer... buffers) {
+		for (Buffer b : buffers) {
+			if (null != b.byteBuffer()) {
+				add(count, b.byteBuffer());
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * Add the remaining bytes of the given {@link ByteBuffer ByteBuffers} after the current content, without copying.
+	 *
+	 * @param buffers the buffers to add
+	 * @return {@literal this}
+	 */
+	public CompositeBuffer append(ByteBuffer... buffers) {
+		for (ByteBuffer bb : buffers) {
+			add(count, bb);
+		}
+		return this;
+	}
+
+	/**
+	 * Add the remaining bytes of the given {@link Buffer} before the current content, without copying. The position is
+	 * moved back to the start of the composite.
+	 *
+	 * @param b the buffer to add
+	 * @return {@literal this}
+	 */
+	public CompositeBuffer prepend(Buffer b) {
+		if (null != b.byteBuffer()) {
+			prepend(b.byteBuffer());
+		}
+		return this;
+	}
+
+	/**
+	 * Add the remaining bytes of the given {@link ByteBuffer} before the current content, without copying. The
+	 * position is moved back to the start of the composite.
+	 *
+	 * @param bb the buffer to add
+	 * @return {@literal this}
+	 */
+	public CompositeBuffer prepend(ByteBuffer bb) {
+		add(0, bb);
+		position = 0;
+		return this;
+	}
+
+	/**
+	 * Provides the number of components of this composite.
+	 *
+	 * @return The number of components.
+	 */
+	public int components() {
+		return count;
+	}
+
+	/**
+	 * Provides the total number of bytes of this composite, ignoring the position and limit.
+	 *
+	 * @return The total number of bytes.
+	 */
+	public int capacity() {
+		return size;
+	}
+
+	/**
+	 * Provides the current position.
+	 *
+	 * @return The current position.
+	 */
+	public int position() {
+		return position;
+	}
+
+	/**
+	 * Sets this buffer's position.
+	 *
+	 * @param pos the new position
+	 * @return this buffer
+	 */
+	public CompositeBuffer position(int pos) {
+		if (pos < 0 || pos > limit) {
+			throw new IllegalArgumentException("Tried position " + pos + " on limit " + limit);
+		}
+		this.position = pos;
+		return this;
+	}
+
+	/**
+	 * Provides the current limit.
+	 *
+	 * @return The current limit.
+	 */
+	public int limit() {
+		return limit;
+	}
+
+	/**
+	 * Sets this buffer's limit, moving the position back to the limit if it was beyond.
+	 *
+	 * @param limit the new limit
+	 * @return this buffer
+	 */
+	public CompositeBuffer limit(int limit) {
+		if (limit < 0 || limit > size) {
+			throw new IllegalArgumentException("Tried limit " + limit + " on capacity " + size);
+		}
+		this.limit = limit;
+		if (position > limit) {
+			position = limit;
+		}
+		return this;
+	}
+
+	/**
+	 * How many bytes are available for reading.
+	 *
+	 * @return The number of bytes between the position and the limit.
+	 */
+	public int remaining() {
+		return limit - position;
+	}
+
+	/**
+	 * Skips {@code len} bytes.
+	 *
+	 * @param len the number of bytes to skip
+	 * @return this buffer
+	 * @throws BufferUnderflowException if the skip exceeds the available bytes
+	 */
+	public CompositeBuffer skip(int len) {
+		if (len < 0) {
+			throw new IllegalArgumentException("len must >= 0");
+		}
+		checkRemaining(len);
+		position += len;
+		return this;
+	}
+
+	/**
+	 * Move the position back to the start of the composite.
+	 *
+	 * @return this buffer
+	 */
+	public CompositeBuffer rewind() {
+		position = 0;
+		return this;
+	}
+
+	/**
+	 * Read the byte at the given absolute index, without moving the position.
+	 *
+	 * @param index the index of the byte
+	 * @return the byte at that index
+	 */
+	public byte get(int index) {
+		if (index < 0 || index >= limit) {
+			throw new IndexOutOfBoundsException("Index " + index + " out of limit " + limit);
+		}
+		int c = component(index);
+		return components[c].get(index - offsets[c]);
+	}
+
+	/**
+	 * Read a single {@code byte}.
+	 *
+	 * @return The next {@code byte}.
+	 */
+	public byte read() {
+		checkRemaining(1);
+		return get(position++);
+	}
+
+	/**
+	 * Read {@code b.length} bytes.
+	 *
+	 * @param b The array to fill.
+	 * @return {@literal this}
+	 */
+	public CompositeBuffer read(byte[] b) {
+		checkRemaining(b.length);
+		copy(position, b, 0, b.length);
+		position += b.length;
+		return this;
+	}
+
+	/**
+	 * Read the next {@code short}.
+	 *
+	 * @return The next {@code short}.
+	 */
+	public short readShort() {
+		return (short) readBigEndian(2);
+	}
+
+	/**
+	 * Read the next {@code int}.
+	 *
+	 * @return The next {@code int}.
+	 */
+	public int readInt() {
+		return (int) readBigEndian(4);
+	}
+
+	/**
+	 * Read the next {@code long}.
+	 *
+	 * @return The next {@code long}.
+	 */
+	public long readLong() {
+		return readBigEndian(8);
+	}
+
+	/**
+	 * Search the remaining bytes for the first occurrence of the given {@code byte}.
+	 *
+	 * @param b the {@code byte} to search for
+	 * @return the index of the byte or {@code -1} if not found
+	 */
+	public int indexOf(byte b) {
+		return indexOf(b, position, limit);
+	}
+
+	/**
+	 * Search the given range for the first occurrence of the given {@code byte}.
+	 *
+	 * @param b     the {@code byte} to search for
+	 * @param start the index to start searching from
+	 * @param end   the index at which to stop searching, exclusive
+	 * @return the index of the byte or {@code -1} if not found
+	 */
+	public int indexOf(byte b, int start, int end) {
+		end = Math.min(end, limit);
+		if (start >= end) {
+			return -1;
+		}
+		int c = component(start);
+		int index = start;
+		while (index < end) {
+			ByteBuffer bb = components[c];
+			int offset = offsets[c];
+			int stop = Math.min(end, offset + bb.limit());
+			int found = ByteScanner.scan(bb, b, index - offset, stop - offset);
+			if (found != -1) {
+				return offset + found;
+			}
+			index = stop;
+			c++;
+		}
+		return -1;
+	}
+
+	/**
+	 * Create a composite sharing the given range of this one, without copying.
+	 *
+	 * @param start start of the range.
+	 * @param len   length of the range.
+	 * @return A new {@literal CompositeBuffer} over the given range.
+	 */
+	public CompositeBuffer slice(int start, int len) {
+		if (start < 0 || len < 0 || start + len > size) {
+			throw new IndexOutOfBoundsException("Slice " + start + "+" + len + " out of capacity " + size);
+		}
+		CompositeBuffer slice = new CompositeBuffer();
+		if (len == 0) {
+			return slice;
+		}
+		int end = start + len;
+		for (int c = component(start); c < count && offsets[c] < end; c++) {
+			ByteBuffer bb = components[c].duplicate();
+			int offset = offsets[c];
+			bb.limit(Math.min(bb.limit(), end - offset));
+			bb.position(Math.max(0, start - offset));
+			slice.add(slice.count, bb);
+		}
+		return slice;
+	}
+
+	/**
+	 * Split the remaining bytes on the given delimiter, leaving the delimiter at the end of each segment. The
+	 * position is moved to the start of the trailing bytes not followed by a delimiter.
+	 *
+	 * @param delimiter The delimiter on which to split this buffer.
+	 * @return A {@link List} of composites sharing the segments of this buffer.
+	 */
+	public List<CompositeBuffer> split(int delimiter) {
+		return split(delimiter, false);
+	}
+
+	/**
+	 * Split the remaining bytes on the given delimiter. The position is moved to the start of the trailing bytes not
+	 * followed by a delimiter.
+	 *
+	 * @param delimiter      The delimiter on which to split this buffer.
+	 * @param stripDelimiter {@literal true} to ignore the delimiter, {@literal false} to leave it in the returned
+	 *                       data.
+	 * @return A {@link List} of composites sharing the segments of this buffer.
+	 */
+	public List<CompositeBuffer> split(int delimiter, boolean stripDelimiter) {
+		List<CompositeBuffer> segments = new ArrayList<CompositeBuffer>();
+		int start = position;
+		int found;
+		while ((found = indexOf((byte) delimiter, start, limit)) != -1) {
+			int end = stripDelimiter ? found : found + 1;
+			segments.add(slice(start, end - start));
+			start = found + 1;
+		}
+		position = start;
+		return segments;
+	}
+
+	/**
+	 * Return views of the remaining bytes of each component, suitable for a gathering write. Consuming the returned
+	 * buffers does not move the position of this composite.
+	 *
+	 * @return The remaining bytes, as one {@link ByteBuffer} per component.
+	 */
+	public ByteBuffer[] byteBuffers() {
+		if (position == limit) {
+			return new ByteBuffer[0];
+		}
+		int first = component(position);
+		int last = component(limit - 1);
+		ByteBuffer[] buffers = new ByteBuffer[last - first + 1];
+		for (int c = first; c <= last; c++) {
+			ByteBuffer bb = components[c].duplicate();
+			int offset = offsets[c];
+			bb.limit(Math.min(bb.limit(), limit - offset));
+			bb.position(Math.max(0, position - offset));
+			buffers[c - first] = bb;
+		}
+		return buffers;
+	}
+
+	/**
+	 * Write the remaining bytes to the given channel, with a single gathering write if the channel is a {@link
+	 * GatheringByteChannel}, and move the position past the written bytes. Like any channel write, fewer bytes than
+	 * remaining may be written.
+	 *
+	 * @param channel the channel to write to
+	 * @return the number of bytes written
+	 * @throws IOException if the channel failed
+	 */
+	public long write(WritableByteChannel channel) throws IOException {
+		ByteBuffer[] buffers = byteBuffers();
+		long written;
+		if (channel instanceof GatheringByteChannel) {
+			written = ((GatheringByteChannel) channel).write(buffers);
+		}
+		else {
+			written = 0L;
+			for (ByteBuffer bb : buffers) {
+				written += channel.write(bb);
+				if (bb.hasRemaining()) {
+					break;
+				}
+			}
+		}
+		position += (int) written;
+		return written;
+	}
+
+	/**
+	 * Return the remaining bytes copied into a {@code byte[]}, without moving the position.
+	 *
+	 * @return The remaining bytes.
+	 */
+	public byte[] asBytes() {
+		byte[] b = new byte[remaining()];
+		copy(position, b, 0, b.length);
+		return b;
+	}
+
+	/**
+	 * Decode the remaining bytes as a UTF-8 String, without moving the position.
+	 *
+	 * @return The remaining bytes as a String.
+	 */
+	public String asString() {
+		return new String(asBytes(), UTF8);
+	}
+
+	/**
+	 * Copy the remaining bytes into a single new {@link Buffer}, for APIs requiring contiguous content.
+	 *
+	 * @return a new flipped {@link Buffer}
+	 */
+	public Buffer toBuffer() {
+		return Buffer.wrap(asBytes());
+	}
+
+	@Override
+	public String toString() {
+		return "CompositeBuffer{components=" + count + ", pos=" + position + ", lim=" + limit + ", cap=" + size + "}";
+	}
+
+	private void add(int index, ByteBuffer bb) {
+		Assert.notNull(bb, "ByteBuffer cannot be null");
+		if (!bb.hasRemaining()) {
+			return;
+		}
+		if (count == components.length) {
+			components = Arrays.copyOf(components, count * 2);
+			offsets = Arrays.copyOf(offsets, count * 2);
+		}
+		if (index < count) {
+			System.arraycopy(components, index, components, index + 1, count - index);
+		}
+		components[index] = bb.slice();
+		count++;
+		boolean unlimited = limit == size;
+		size += bb.remaining();
+		for (int c = index, offset = index == 0 ? 0 : offsets[index - 1] + components[index - 1].limit(); c <
+				count; c++) {
+			offsets[c] = offset;
+			offset += components[c].limit();
+		}
+		if (unlimited) {
+			limit = size;
+		}
+		cursor = 0;
+	}
+
+	private int component(int index) {
+		int c = cursor;
+		if (c < count && index >= offsets[c] && index - offsets[c] < components[c].limit()) {
+			return c;
+		}
+		c = Arrays.binarySearch(offsets, 0, count, index);
+		if (c < 0) {
+			c = -c - 2;
+		}
+		cursor = c;
+		return c;
+	}
+
+	private void copy(int index, byte[] dst, int dstOffset, int len) {
+		while (len > 0) {
+			int c = component(index);
+			ByteBuffer bb = components[c].duplicate();
+			bb.position(index - offsets[c]);
+			int n = Math.min(len, bb.remaining());
+			bb.get(dst, dstOffset, n);
+			index += n;
+			dstOffset += n;
+			len -= n;
+		}
+	}
+
+	private long readBigEndian(int len) {
+		checkRemaining(len);
+		int c = component(position);
+		int local = position - offsets[c];
+		ByteBuffer bb = components[c];
+		long value;
+		if (bb.limit() - local >= len) {
+			switch (len) {
+				case 2:
+					value = bb.getShort(local);
+					break;
+				case 4:
+					value = bb.getInt(local);
+					break;
+				default:
+					value = bb.getLong(local);
+					break;
+			}
+			position += len;
+		}
+		else {
+			value = 0L;
+			for (int i = 0; i < len; i++) {
+				value = (value << 8) | (get(position++) & 0xFF);
+			}
+		}
+		return value;
+	}
+
+	private void checkRemaining(int len) {
+		if (limit - position < len) {
+			throw new BufferUnderflowException();
+		}
+	}
+}
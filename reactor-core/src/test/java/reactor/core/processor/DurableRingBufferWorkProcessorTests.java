@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.processor;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.Subscribers;
+import reactor.core.subscriber.test.TestSubscriber;
+import reactor.core.support.rb.MappedJournal;
+
+public class DurableRingBufferWorkProcessorTests {
+
+	static final MappedJournal.Codec<String> CODEC = MappedJournal.stringCodec(Charset.forName("UTF-8"));
+
+	File file;
+
+	@Before
+	public void setup() throws IOException {
+		file = File.createTempFile("rb-durable", ".journal");
+		Assert.assertTrue(file.delete());
+	}
+
+	@After
+	public void cleanup() {
+		file.delete();
+	}
+
+	@Test
+	public void testUnconsumedValuesAreReplayedAfterRestart() throws InterruptedException {
+		DurableRingBufferWorkProcessor<String> processor =
+				DurableRingBufferWorkProcessor.create("rb-durable", file, 16, 64, CODEC);
+		processor.onNext("a");
+		processor.onNext("b");
+		processor.onNext("c");
+		processor.forceShutdown();
+
+		processor = DurableRingBufferWorkProcessor.create("rb-durable", file, 16, 64, CODEC);
+		List<String> received = new CopyOnWriteArrayList<>();
+		processor.subscribe(Subscribers.<String>consumer(received::add));
+		processor.onNext("d");
+
+		TestSubscriber.waitFor(5, "Replayed values not received", () -> received.size() == 4);
+		Assert.assertEquals("[a, b, c, d]", received.toString());
+		processor.awaitAndShutdown(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void testConsumedValuesAreNotReplayed() throws InterruptedException {
+		DurableRingBufferWorkProcessor<String> processor =
+				DurableRingBufferWorkProcessor.create("rb-durable", file, 16, 64, CODEC);
+		List<String> received = new CopyOnWriteArrayList<>();
+		processor.subscribe(Subscribers.<String>consumer(received::add));
+		for (int i = 0; i < 40; i++) {
+			processor.onNext("v" + i);
+		}
+		TestSubscriber.waitFor(5, "Values not received", () -> received.size() == 40);
+		processor.awaitAndShutdown(5, TimeUnit.SECONDS);
+		Assert.assertEquals(39L, processor.journal().getConsumed());
+
+		processor = DurableRingBufferWorkProcessor.create("rb-durable", file, 16, 64, CODEC);
+		List<String> replayed = new CopyOnWriteArrayList<>();
+		processor.subscribe(Subscribers.<String>consumer(replayed::add));
+		processor.onNext("next");
+
+		TestSubscriber.waitFor(5, "Value not received", () -> replayed.size() == 1);
+		Assert.assertEquals("[next]", replayed.toString());
+		processor.awaitAndShutdown(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void testJournalNeverLagsMoreThanBufferSize() throws InterruptedException {
+		DurableRingBufferWorkProcessor<String> processor =
+				DurableRingBufferWorkProcessor.create("rb-durable", file, 16, 64, CODEC);
+		List<String> received = new CopyOnWriteArrayList<>();
+		processor.subscribe(Subscribers.<String>consumer(v -> {
+			LockSupport.parkNanos(100_000L);
+			received.add(v);
+		}));
+		for (int i = 0; i < 200; i++) {
+			processor.onNext("v" + i);
+			MappedJournal<String> journal = processor.journal();
+			Assert.assertTrue(journal.toString(), journal.getPublished() - journal.getConsumed() <= 16L);
+		}
+		TestSubscriber.waitFor(5, "Values not received", () -> received.size() == 200);
+		processor.awaitAndShutdown(5, TimeUnit.SECONDS);
+	}
+
+	@Test(timeout = 10_000L)
+	public void testRestartFromLaggingJournalReplaysTheLastSlots() throws InterruptedException {
+		MappedJournal<String> journal = MappedJournal.open(file, 16, 64, CODEC);
+		for (long sequence = 0L; sequence < 40L; sequence++) {
+			journal.encode("v" + sequence);
+			journal.write(sequence);
+			journal.published(sequence);
+		}
+
+		DurableRingBufferWorkProcessor<String> processor =
+				DurableRingBufferWorkProcessor.create("rb-durable", file, 16, 64, CODEC);
+		Assert.assertEquals(23L, processor.journal().getConsumed());
+		List<String> received = new CopyOnWriteArrayList<>();
+		processor.subscribe(Subscribers.<String>consumer(received::add));
+
+		List<String> expected = new ArrayList<>();
+		for (int i = 24; i < 40; i++) {
+			expected.add("v" + i);
+		}
+		TestSubscriber.waitFor(5, "Replayed values not received", () -> received.size() == expected.size());
+		Assert.assertEquals(expected, received);
+		processor.awaitAndShutdown(5, TimeUnit.SECONDS);
+		Assert.assertEquals(39L, processor.journal().getConsumed());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testValueLargerThanSlotIsRejected() {
+		DurableRingBufferWorkProcessor<String> processor =
+				DurableRingBufferWorkProcessor.create("rb-durable", file, 16, 8, CODEC);
+		try {
+			processor.onNext("too large for a slot");
+		}
+		finally {
+			processor.forceShutdown();
+		}
+	}
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.processor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.reactivestreams.Processor;
+import org.reactivestreams.Subscription;
+import reactor.Processors;
+import reactor.core.subscriber.LongSubscriber;
+import reactor.core.subscriber.test.DataTestSubscriber;
+import reactor.core.subscriber.test.TestSubscriber;
+
+@org.testng.annotations.Test
+public class LongRingBufferProcessorTests extends AbstractProcessorVerification {
+
+	@Override
+	public Processor<Long, Long> createProcessor(int bufferSize) {
+		return Processors.longTopic("rb-long", bufferSize);
+	}
+
+	@Test
+	public void testTopicDeliversPrimitiveValues() throws InterruptedException {
+		LongRingBufferProcessor processor = LongRingBufferProcessor.create("rb-long-topic", 16);
+		SumSubscriber first = new SumSubscriber();
+		SumSubscriber second = new SumSubscriber();
+		processor.subscribe(first);
+		processor.subscribe(second);
+
+		for (long i = 1; i <= 1000; i++) {
+			processor.onNext(i);
+		}
+		processor.onComplete();
+
+		Assert.assertTrue(first.latch.await(5, TimeUnit.SECONDS));
+		Assert.assertTrue(second.latch.await(5, TimeUnit.SECONDS));
+		Assert.assertNull(first.error.get());
+		Assert.assertNull(second.error.get());
+		Assert.assertEquals(500500L, first.sum.get());
+		Assert.assertEquals(500500L, second.sum.get());
+		Assert.assertEquals(0L, first.boxed.get());
+	}
+
+	@Test
+	public void testTopicBoxesForPlainSubscribers() throws InterruptedException {
+		LongRingBufferProcessor processor = LongRingBufferProcessor.create("rb-long-boxed", 16);
+		DataTestSubscriber<Long> subscriber = DataTestSubscriber.createWithTimeoutSecs(5);
+		processor.subscribe(subscriber);
+		subscriber.requestWithTimeout(3);
+
+		processor.onNext(1L);
+		processor.onNext(2L);
+		processor.onNext(3L);
+		subscriber.assertNextSignals(1L, 2L, 3L);
+
+		processor.onError(new IllegalStateException("boom"));
+		subscriber.assertErrorReceived();
+	}
+
+	@Test
+	public void testQueueSharesValues() throws InterruptedException {
+		LongRingBufferProcessor processor = LongRingBufferProcessor.createWork("rb-long-queue", 64);
+		List<Long> received = new CopyOnWriteArrayList<>();
+		AtomicReference<Throwable> error = new AtomicReference<>();
+		for (int i = 0; i < 2; i++) {
+			processor.subscribe(new CollectingSubscriber(received, error));
+		}
+
+		List<Long> values = new ArrayList<>();
+		for (long i = 0; i < 1000; i++) {
+			values.add(i);
+			processor.onNext(i);
+		}
+
+		TestSubscriber.waitFor(5, "Not all values received",
+				() -> received.size() == values.size() || error.get() != null);
+		processor.onComplete();
+
+		Assert.assertNull(error.get());
+
+		List<Long> sorted = new ArrayList<>(received);
+		Collections.sort(sorted);
+		Assert.assertEquals(values, sorted);
+	}
+
+	static final class SumSubscriber implements LongSubscriber {
+
+		final AtomicLong                 sum   = new AtomicLong();
+		final AtomicLong                 boxed = new AtomicLong();
+		final AtomicReference<Throwable> error = new AtomicReference<>();
+		final CountDownLatch             latch = new CountDownLatch(1);
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			s.request(Long.MAX_VALUE);
+		}
+
+		@Override
+		public void onNext(long value) {
+			sum.addAndGet(value);
+		}
+
+		@Override
+		public void onNext(Long value) {
+			boxed.incrementAndGet();
+			onNext(value.longValue());
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			error.set(t);
+			latch.countDown();
+		}
+
+		@Override
+		public void onComplete() {
+			latch.countDown();
+		}
+	}
+
+	static final class CollectingSubscriber implements LongSubscriber {
+
+		final List<Long>                 received;
+		final AtomicReference<Throwable> error;
+
+		CollectingSubscriber(List<Long> received, AtomicReference<Throwable> error) {
+			this.received = received;
+			this.error = error;
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			s.request(Long.MAX_VALUE);
+		}
+
+		@Override
+		public void onNext(long value) {
+			received.add(value);
+		}
+
+		@Override
+		public void onNext(Long value) {
+			onNext(value.longValue());
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			error.compareAndSet(null, t);
+		}
+
+		@Override
+		public void onComplete() {
+		}
+	}
+}
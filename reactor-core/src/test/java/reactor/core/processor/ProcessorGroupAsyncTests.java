@@ -8,6 +8,11 @@ import reactor.core.support.Assert;
 import reactor.fn.BiConsumer;
 import reactor.fn.Consumer;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -58,6 +63,88 @@ public class ProcessorGroupAsyncTests extends AbstractProcessorVerification {
 		);
 	}
 
+	@Test
+	public void testPartitionedDispatchKeepsPerKeyOrder() throws InterruptedException {
+		ProcessorGroup<Integer> service = Processors.asyncGroup("partitioned", BUFFER_SIZE, 4);
+		int keys = 8;
+		int count = 1000;
+
+		Map<Integer, List<Integer>> received = new ConcurrentHashMap<>();
+		Map<Integer, Thread> threads = new ConcurrentHashMap<>();
+		AtomicBoolean misrouted = new AtomicBoolean();
+		CountDownLatch latch = new CountDownLatch(count);
+
+		for (int k = 0; k < keys; k++) {
+			received.put(k, new ArrayList<>());
+		}
+
+		BiConsumer<Integer, Consumer<? super Integer>> dispatcher = service.partitioned(v -> v % keys);
+		for (int i = 0; i < count; i++) {
+			dispatcher.accept(i, v -> {
+				Thread previous = threads.putIfAbsent(v % keys, Thread.currentThread());
+				if (previous != null && previous != Thread.currentThread()) {
+					misrouted.set(true);
+				}
+				received.get(v % keys).add(v);
+				latch.countDown();
+			});
+		}
+
+		Assert.isTrue(latch.await(5, TimeUnit.SECONDS));
+		Assert.isTrue(!misrouted.get());
+		for (int k = 0; k < keys; k++) {
+			List<Integer> values = received.get(k);
+			Assert.isTrue(values.size() == count / keys);
+			for (int i = 1; i < values.size(); i++) {
+				Assert.isTrue(values.get(i - 1) < values.get(i));
+			}
+			Assert.isTrue(service.partition(k) == service.partition(k + keys * 4));
+		}
+
+		ProcessorGroup.release(dispatcher);
+	}
+
+	@Test
+	public void testPartitioningIsRejectedWhenWorkersShareAProcessor() throws InterruptedException {
+		ProcessorGroup<Integer> service = Processors.ioGroup("partitioned-io", BUFFER_SIZE, 4);
+		try {
+			try {
+				service.partition(1);
+				Assert.isTrue(false, "partition should be rejected");
+			}
+			catch (UnsupportedOperationException expected) {
+			}
+			try {
+				service.partitioned(v -> v % 8);
+				Assert.isTrue(false, "partitioned should be rejected");
+			}
+			catch (UnsupportedOperationException expected) {
+			}
+		}
+		finally {
+			service.shutdown();
+		}
+
+		ProcessorGroup<Integer> single = Processors.ioGroup("partitioned-io-single", BUFFER_SIZE, 1);
+		BiConsumer<Integer, Consumer<? super Integer>> dispatcher = single.partitioned(v -> v % 8);
+		List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+		CountDownLatch latch = new CountDownLatch(100);
+		for (int i = 0; i < 100; i++) {
+			dispatcher.accept(i, v -> {
+				received.add(v);
+				latch.countDown();
+			});
+		}
+
+		Assert.isTrue(latch.await(5, TimeUnit.SECONDS));
+		for (int i = 0; i < received.size(); i++) {
+			Assert.isTrue(received.get(i) == i);
+		}
+		Assert.isTrue(single.partition(1) == single);
+
+		ProcessorGroup.release(dispatcher);
+	}
+
 	private BiConsumer<String, Consumer<? super String>> runTest(final BiConsumer<String, Consumer<? super String>>
 	                                                               dispatcher) throws InterruptedException {
 		CountDownLatch tasksCountDown = new CountDownLatch(N);
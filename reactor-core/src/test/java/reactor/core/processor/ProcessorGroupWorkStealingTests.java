@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.processor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.reactivestreams.Processor;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.testng.SkipException;
+import reactor.Processors;
+import reactor.core.error.ReactorFatalException;
+import reactor.core.support.Assert;
+import reactor.core.support.SignalType;
+import reactor.fn.Consumer;
+
+@org.testng.annotations.Test
+public class ProcessorGroupWorkStealingTests extends AbstractProcessorVerification {
+
+	@Override
+	public Processor<Long, Long> createProcessor(int bufferSize) {
+		return Processors.<Long>workStealingGroup("shared-stealing", bufferSize, 2, Throwable::printStackTrace).get();
+	}
+
+	@Override
+	public long maxSupportedSubscribers() {
+		return 1L;
+	}
+
+	@Override
+	public void simpleTest() throws Exception {
+		ProcessorGroup<String> service = Processors.workStealingGroup("stealing", 32);
+
+		CountDownLatch latch = new CountDownLatch(1);
+		service.executor().execute(latch::countDown);
+
+		Assert.isTrue(latch.await(5, TimeUnit.SECONDS), "Event missed");
+		Assert.isTrue(service.awaitAndShutdown(5, TimeUnit.SECONDS), "Shutdown failed");
+	}
+
+	@Test
+	public void idleWorkersStealFromBusyWorker() throws Exception {
+		ProcessorGroup<String> service = Processors.workStealingGroup("stealing", 256, 4);
+		CountDownLatch slow = new CountDownLatch(1);
+		CountDownLatch fast = new CountDownLatch(200);
+
+		Consumer<String> sleeper = s -> {
+			try {
+				slow.await(5, TimeUnit.SECONDS);
+			}
+			catch (InterruptedException ie) {
+				throw ReactorFatalException.create(ie);
+			}
+		};
+
+		service.<String>dataDispatcher(String.class).accept("slow", sleeper);
+		service.executor().execute(() -> {
+			//dispatched from a worker thread, lands in that worker ring buffer
+			for (int i = 0; i < 100; i++) {
+				service.executor().execute(fast::countDown);
+			}
+			sleeper.accept("slow");
+		});
+		for (int i = 0; i < 100; i++) {
+			service.executor().execute(fast::countDown);
+		}
+
+		boolean stolen = fast.await(5, TimeUnit.SECONDS);
+		slow.countDown();
+
+		Assert.isTrue(stolen, "Backlog of busy workers was not stolen");
+		Assert.isTrue(service.awaitAndShutdown(5, TimeUnit.SECONDS), "Shutdown failed");
+	}
+
+	@Test
+	public void exitingWorkerDoesNotBlockOnFullSubmissions() throws Exception {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		WorkStealingProcessor<Integer> processor = WorkStealingProcessor.create(executor, 8, false);
+		processor.onSubscribe(SignalType.NOOP_SUBSCRIPTION);
+		processor.subscribe(new Subscriber<Integer>() {
+			Subscription s;
+
+			@Override
+			public void onSubscribe(Subscription s) {
+				this.s = s;
+				s.request(1L);
+			}
+
+			@Override
+			public void onNext(Integer integer) {
+				//dispatched from the worker thread, fills its ring buffer then the submissions
+				for (int i = 0; i < 16; i++) {
+					processor.onNext(i);
+				}
+				s.cancel();
+			}
+
+			@Override
+			public void onError(Throwable t) {
+			}
+
+			@Override
+			public void onComplete() {
+			}
+		});
+		processor.onNext(-1);
+
+		CountDownLatch exited = new CountDownLatch(1);
+		executor.execute(exited::countDown);
+
+		try {
+			Assert.isTrue(exited.await(5, TimeUnit.SECONDS), "Exiting worker blocked on the full submissions");
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Override
+	public void required_spec104_mustCallOnErrorOnAllItsSubscribersIfItEncountersANonRecoverableError() throws
+	  Throwable {
+		throw new SkipException("Optional requirement");
+	}
+
+}
@@ -15,9 +15,18 @@
  */
 package reactor.core.processor;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
 import org.junit.Test;
 import org.reactivestreams.Processor;
 import reactor.Processors;
+import reactor.core.subscriber.BatchListSubscriber;
+import reactor.core.subscriber.test.DataTestSubscriber;
 
 /**
  * @author Stephane Maldini
@@ -38,4 +47,51 @@ public class RingBufferProcessorTests extends AbstractProcessorVerification {
 		}
 	}
 
+	@Test
+	public void testOnNextBatchLargerThanBuffer() throws InterruptedException {
+		RingBufferProcessor<Integer> processor = RingBufferProcessor.create("rb-batch", 16);
+		DataTestSubscriber<Integer> subscriber = DataTestSubscriber.createWithTimeoutSecs(5);
+		processor.subscribe(subscriber);
+		subscriber.requestUnboundedWithTimeout();
+
+		List<Integer> values = new ArrayList<>();
+		for (int i = 0; i < 40; i++) {
+			values.add(i);
+		}
+		processor.onNextBatch(values);
+		processor.onComplete();
+
+		subscriber.assertNextSignals(values.toArray(new Integer[values.size()]));
+		subscriber.assertCompleteReceived();
+	}
+
+	@Test
+	public void testBatchSubscriberReceivesDrainedRanges() throws InterruptedException {
+		RingBufferProcessor<Integer> processor = RingBufferProcessor.create("rb-batch-sub", 64);
+		List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+		CountDownLatch latch = new CountDownLatch(1);
+
+		List<Integer> values = new ArrayList<>();
+		for (int i = 0; i < 200; i++) {
+			values.add(i);
+		}
+
+		//published before any subscriber, replayed to the first one as a single available range
+		processor.onNextBatch(values.subList(0, 48));
+		processor.subscribe(new BatchListSubscriber<Integer>(batches::add, null, v -> latch.countDown(), 1024));
+		processor.onNextBatch(values.subList(48, values.size()));
+		processor.onComplete();
+
+		Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+		List<Integer> received = new ArrayList<>();
+		int largest = 0;
+		for (List<Integer> batch : batches) {
+			Assert.assertFalse(batch.isEmpty());
+			largest = Math.max(largest, batch.size());
+			received.addAll(batch);
+		}
+		Assert.assertEquals(values, received);
+		Assert.assertTrue("no batch of more than one element in " + batches, largest > 1);
+	}
+
 }
@@ -16,14 +16,20 @@
 
 package reactor.core.processor;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
+import org.junit.Test;
 import org.reactivestreams.Processor;
 import reactor.Processors;
 import reactor.Publishers;
 import reactor.Subscribers;
+import reactor.core.subscriber.test.TestSubscriber;
 import reactor.core.support.Assert;
 
 /**
@@ -90,6 +96,28 @@ public class RingBufferWorkProcessorTests extends AbstractProcessorVerification
 
 	}
 
+	@Test
+	public void testBatchSubscribersShareAllValues() throws InterruptedException {
+		RingBufferWorkProcessor<Integer> processor = RingBufferWorkProcessor.create("rb-work-batch", 64);
+		List<Integer> received = new CopyOnWriteArrayList<>();
+		for (int i = 0; i < 2; i++) {
+			processor.subscribe(Subscribers.<Integer>batch(received::addAll, 16));
+		}
+
+		List<Integer> values = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			values.add(i);
+		}
+		processor.onNextBatch(values);
+
+		TestSubscriber.waitFor(5, "Not all values received", () -> received.size() == values.size());
+		processor.onComplete();
+
+		List<Integer> sorted = new ArrayList<>(received);
+		Collections.sort(sorted);
+		org.junit.Assert.assertEquals(values, sorted);
+	}
+
 	/*public static void main() {
 		final RingBufferWorkProcessor<Long> processor = RingBufferWorkProcessor.<Long>create("some-test");
 
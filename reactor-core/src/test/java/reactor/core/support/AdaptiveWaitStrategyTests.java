@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.support;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+import reactor.core.processor.RingBufferProcessor;
+import reactor.core.processor.RingBufferWorkProcessor;
+import reactor.fn.Consumer;
+import reactor.fn.LongSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AdaptiveWaitStrategyTests {
+
+	private static final long SLOW_ARRIVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(20L);
+
+	private final AtomicLong cursor = new AtomicLong(-1L);
+
+	private final LongSupplier cursorSupplier = new LongSupplier() {
+		@Override
+		public long get() {
+			return cursor.get();
+		}
+	};
+
+	private final Consumer<Void> noAlert = new Consumer<Void>() {
+		@Override
+		public void accept(Void aVoid) {
+		}
+	};
+
+	@Test
+	public void startsSpinningAndReportsPhase() throws Exception {
+		WaitStrategy.Adaptive strategy = new WaitStrategy.Adaptive();
+		cursor.set(10L);
+
+		assertEquals(10L, strategy.waitFor(5L, cursorSupplier, noAlert));
+		assertEquals(WaitStrategy.Adaptive.Phase.SPIN, strategy.phase());
+		assertEquals("SPIN", ReactiveStateUtils.getPhase(strategy));
+	}
+
+	@Test
+	public void parksAfterSlowArrivalsAndSpinsAgainUnderLoad() throws Exception {
+		//every reading of the clock moves it forward by one slow arrival
+		final AtomicLong now = new AtomicLong();
+		WaitStrategy.Adaptive strategy =
+				new WaitStrategy.Adaptive(1L, TimeUnit.MICROSECONDS, new LongSupplier() {
+					@Override
+					public long get() {
+						return now.addAndGet(SLOW_ARRIVAL_NANOS);
+					}
+				});
+
+		for (int i = 0; i < 3; i++) {
+			final long next = cursor.get() + 1L;
+			final long arrival = now.get() + SLOW_ARRIVAL_NANOS;
+			LongSupplier slowCursor = new LongSupplier() {
+				@Override
+				public long get() {
+					return now.get() >= arrival ? next : next - 1L;
+				}
+			};
+			assertEquals(next, strategy.waitFor(next, slowCursor, noAlert));
+			cursor.set(next);
+		}
+
+		assertTrue(strategy.averageWaitNanos() > 0L);
+		assertEquals(WaitStrategy.Adaptive.Phase.PARK, strategy.phase());
+
+		for (int i = 0; i < 200; i++) {
+			strategy.waitFor(cursor.get(), cursorSupplier, noAlert);
+		}
+		assertEquals(0L, strategy.averageWaitNanos());
+		assertEquals(WaitStrategy.Adaptive.Phase.SPIN, strategy.phase());
+	}
+
+	@Test
+	public void phaseOfRingBufferProcessorsIsScanned() throws Exception {
+		RingBufferProcessor<String> topic =
+				RingBufferProcessor.create("adaptive-topic", 16, new WaitStrategy.Adaptive());
+		RingBufferWorkProcessor<String> queue =
+				RingBufferWorkProcessor.create("adaptive-queue", 16, new WaitStrategy.Adaptive());
+		RingBufferProcessor<String> blocking =
+				RingBufferProcessor.create("blocking-topic", 16, new WaitStrategy.LiteBlocking());
+		try {
+			assertTrue(ReactiveStateUtils.scan(topic).toString().contains("\"phase\" : \"SPIN\""));
+			assertTrue(ReactiveStateUtils.scan(queue).toString().contains("\"phase\" : \"SPIN\""));
+			assertFalse(ReactiveStateUtils.scan(blocking).toString().contains("\"phase\""));
+		}
+		finally {
+			topic.shutdown();
+			queue.shutdown();
+			blocking.shutdown();
+		}
+	}
+}
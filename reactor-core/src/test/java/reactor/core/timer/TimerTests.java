@@ -19,6 +19,7 @@ import org.junit.Assert;
 import org.junit.Test;
 import reactor.Timers;
 import reactor.core.support.ReactiveState;
+import reactor.core.support.ReactiveStateUtils;
 import reactor.core.support.WaitStrategy;
 import reactor.fn.Consumer;
 
@@ -83,6 +84,94 @@ public class TimerTests {
         timeTravelTest(new WaitStrategy.Sleeping(), 10);
     }
 
+    @Test
+    public void longDelaysCascadeThroughWheelLevels() throws InterruptedException {
+        TimeUtils.SettableTimeSupplier timeTravellingSupplier = new TimeUtils.SettableTimeSupplier(0L);
+        Timer timer = new HashWheelTimer("cascading-timer",
+                                         10,
+                                         8,
+                                         new WaitStrategy.YieldingWaitStrategy(),
+                                         Executors.newSingleThreadExecutor(),
+                                         timeTravellingSupplier
+                                         );
+        timer.start();
+
+        long[] delays = new long[]{50L, 700L, 5_000L, 45_000L};
+        AtomicInteger[] calls = new AtomicInteger[delays.length];
+        CountDownLatch latch = new CountDownLatch(delays.length);
+        for (int i = 0; i < delays.length; i++) {
+            AtomicInteger count = calls[i] = new AtomicInteger();
+            timer.submit(time -> {
+                count.incrementAndGet();
+                latch.countDown();
+            }, delays[i], TimeUnit.MILLISECONDS);
+        }
+
+        AtomicInteger cancelledCalls = new AtomicInteger();
+        ReactiveState.Pausable cancelled = timer.submit(time -> cancelledCalls.incrementAndGet(), 3_000L, TimeUnit.MILLISECONDS);
+        cancelled.cancel();
+
+        timeTravellingSupplier.set(1_000L);
+        while (latch.getCount() > 2) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(100);
+        Assert.assertEquals(1, calls[0].get());
+        Assert.assertEquals(1, calls[1].get());
+        Assert.assertEquals(0, calls[2].get());
+        Assert.assertEquals(0, calls[3].get());
+
+        timeTravellingSupplier.set(60_000L);
+
+        Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        for (AtomicInteger count : calls) {
+            Assert.assertEquals(1, count.get());
+        }
+        Assert.assertEquals(0, cancelledCalls.get());
+
+        timer.cancel();
+    }
+
+    @Test
+    public void lagIsReportedWhenTheTimerFallsBehind() throws InterruptedException {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+        TimeUtils.SettableTimeSupplier timeTravellingSupplier = new TimeUtils.SettableTimeSupplier(0L);
+        HashWheelTimer timer = new HashWheelTimer("lagging-timer",
+                                                  10,
+                                                  64,
+                                                  new WaitStrategy.YieldingWaitStrategy(),
+                                                  executor,
+                                                  timeTravellingSupplier
+                                                  );
+        timer.start();
+
+        CountDownLatch latch = new CountDownLatch(1);
+        ReactiveState.Pausable recurring = timer.schedule(time -> {}, 10, TimeUnit.MILLISECONDS);
+        timer.submit(time -> latch.countDown(), 100, TimeUnit.MILLISECONDS);
+        Assert.assertEquals(2, timer.scheduled());
+
+        timeTravellingSupplier.set(1_000L);
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+        Assert.assertEquals(1, timer.scheduled());
+        Assert.assertTrue(timer.tickOverruns() > 0);
+        Assert.assertTrue(timer.pendingExecutions() >= 0);
+
+        long[] lateness = timer.lateness();
+        long late = 0L;
+        for (int i = 1; i < lateness.length; i++) {
+            late += lateness[i];
+        }
+        Assert.assertTrue(late > 0);
+
+        String graph = ReactiveStateUtils.scan(timer).toString();
+        Assert.assertTrue(graph, graph.contains("\"tickOverruns\""));
+        Assert.assertTrue(graph, graph.contains("\"lateness\""));
+
+        recurring.cancel();
+        timer.cancel();
+    }
+
     private void timeTravelTest(WaitStrategy waitStrategy, int iterations) throws InterruptedException {
         AtomicInteger timesCalled = new AtomicInteger(0);
         CountDownLatch latch = new CountDownLatch(iterations);
@@ -0,0 +1,380 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.Publishers;
+import reactor.core.publisher.PublisherFactory;
+import reactor.core.subscriber.test.TestSubscriber;
+import reactor.io.buffer.Buffer;
+
+public class IOTests {
+
+	@Test
+	public void mappedFileIsPublishedOnDemandAcrossWindows() throws Exception {
+		File file = File.createTempFile("reactor-io-map", ".bin");
+		file.deleteOnExit();
+		byte[] content = new byte[10_000];
+		for (int i = 0; i < content.length; i++) {
+			content[i] = (byte) i;
+		}
+		try (FileOutputStream out = new FileOutputStream(file)) {
+			out.write(content);
+		}
+
+		// 3 chunks per 3000 bytes window, remapped 4 times
+		Recorder<Buffer> recorder = Recorder.subscribe(IO.mapFile(file.getAbsolutePath(), 1000, 3500), 0L);
+
+		Assert.assertTrue(recorder.values.isEmpty());
+		recorder.request(4);
+		Assert.assertEquals(4, recorder.values.size());
+		recorder.request(Long.MAX_VALUE);
+		List<Buffer> chunks = recorder.awaitComplete();
+		Assert.assertEquals(10, chunks.size());
+
+		int index = 0;
+		for (Buffer chunk : chunks) {
+			Assert.assertEquals(1000, chunk.remaining());
+			Assert.assertTrue(chunk.byteBuffer().isDirect());
+			while (chunk.remaining() > 0) {
+				Assert.assertEquals(content[index++], chunk.read());
+			}
+		}
+		Assert.assertEquals(content.length, index);
+	}
+
+	@Test
+	public void publishedBuffersAreWrittenInBatches() throws Exception {
+		File file = File.createTempFile("reactor-io-write", ".bin");
+		file.deleteOnExit();
+
+		Publisher<Buffer> source = PublisherFactory.<Buffer, int[]>create(sub -> {
+			int i = sub.context()[0]++;
+			if (i == 100) {
+				sub.onComplete();
+			}
+			else {
+				sub.onNext(Buffer.wrap("line " + i + "\n"));
+			}
+		}, sub -> new int[1]);
+
+		List<Long> written = Recorder.subscribe(IO.writeFile(source, file.toPath()), 1L).awaitComplete();
+
+		StringBuilder expected = new StringBuilder();
+		for (int i = 0; i < 100; i++) {
+			expected.append("line ").append(i).append('\n');
+		}
+		Assert.assertEquals(Collections.singletonList((long) expected.length()), written);
+		Assert.assertEquals(expected.toString(), new String(Files.readAllBytes(file.toPath()), "UTF-8"));
+	}
+
+	@Test
+	public void writeFailsWhenTheChannelAcceptsNoBytes() throws Exception {
+		WritableByteChannel full = new WritableByteChannel() {
+			@Override
+			public int write(ByteBuffer src) {
+				return 0;
+			}
+
+			@Override
+			public boolean isOpen() {
+				return true;
+			}
+
+			@Override
+			public void close() {
+			}
+		};
+
+		Publisher<Buffer> source = Publishers.from(Arrays.asList(Buffer.wrap("a"), Buffer.wrap("b")));
+		Throwable error = Recorder.subscribe(IO.write(source, full, 1), 1L).awaitError();
+
+		Assert.assertTrue(error.toString(), error instanceof IOException);
+	}
+
+	@Test
+	public void mappedFileChunksAreTransferredToTheWrittenFile() throws Exception {
+		File in = File.createTempFile("reactor-io-transfer-in", ".bin");
+		File out = File.createTempFile("reactor-io-transfer-out", ".bin");
+		in.deleteOnExit();
+		out.deleteOnExit();
+		byte[] content = new byte[5_500];
+		for (int i = 0; i < content.length; i++) {
+			content[i] = (byte) (i * 31);
+		}
+		Files.write(in.toPath(), content);
+
+		List<Long> written =
+				Recorder.subscribe(IO.writeFile(IO.mapFile(in.getAbsolutePath(), 1000), out.toPath()), 1L)
+				        .awaitComplete();
+
+		Assert.assertEquals(Collections.singletonList((long) content.length), written);
+		Assert.assertArrayEquals(content, Files.readAllBytes(out.toPath()));
+	}
+
+	@Test
+	public void mappedFileChunksAreTransferredAfterTheSourceIsClosed() throws Exception {
+		File in = File.createTempFile("reactor-io-closed-in", ".bin");
+		File out = File.createTempFile("reactor-io-closed-out", ".bin");
+		in.deleteOnExit();
+		out.deleteOnExit();
+		byte[] content = new byte[2_500];
+		for (int i = 0; i < content.length; i++) {
+			content[i] = (byte) (i * 13);
+		}
+		Files.write(in.toPath(), content);
+
+		List<Buffer> chunks = Recorder.<Buffer>subscribe(IO.mapFile(in.getAbsolutePath(), 1000), Long.MAX_VALUE)
+		                              .awaitComplete();
+
+		long written = 0L;
+		try (FileChannel target = FileChannel.open(out.toPath(), StandardOpenOption.WRITE)) {
+			for (Buffer chunk : chunks) {
+				written += ((IO.FileChunk) chunk).transferTo(target);
+				Assert.assertEquals(0, chunk.remaining());
+			}
+		}
+
+		Assert.assertEquals(content.length, written);
+		Assert.assertArrayEquals(content, Files.readAllBytes(out.toPath()));
+	}
+
+	@Test
+	public void truncatedMappedFileChunkFailsToTransfer() throws Exception {
+		File in = File.createTempFile("reactor-io-truncated", ".bin");
+		in.deleteOnExit();
+		Files.write(in.toPath(), new byte[2_000]);
+
+		Recorder<Buffer> recorder = Recorder.subscribe(IO.mapFile(in.getAbsolutePath(), 1000), 1L);
+		Assert.assertEquals(1, recorder.values.size());
+
+		try (RandomAccessFile file = new RandomAccessFile(in, "rw")) {
+			file.setLength(0);
+		}
+		try {
+			((IO.FileChunk) recorder.values.get(0)).transferTo(Channels.newChannel(new ByteArrayOutputStream()));
+			Assert.fail("expected EOFException");
+		}
+		catch (EOFException e) {
+			// expected
+		}
+		finally {
+			recorder.cancel();
+		}
+	}
+
+	@Test
+	public void asyncFileReadIsEmittedInOrderWithPrefetch() throws Exception {
+		File file = File.createTempFile("reactor-io-async", ".bin");
+		file.deleteOnExit();
+		byte[] content = new byte[10_500];
+		for (int i = 0; i < content.length; i++) {
+			content[i] = (byte) (i * 7);
+		}
+		Files.write(file.toPath(), content);
+
+		Recorder<Buffer> recorder = Recorder.subscribe(IO.readFileAsync(file.toPath(), 1000, 4), 0L);
+
+		recorder.request(2);
+		TestSubscriber.waitFor(5, "2 chunks not received", () -> recorder.values.size() == 2);
+		recorder.request(Long.MAX_VALUE);
+		List<Buffer> chunks = recorder.awaitComplete();
+		Assert.assertEquals(11, chunks.size());
+
+		int index = 0;
+		for (Buffer chunk : chunks) {
+			while (chunk.remaining() > 0) {
+				Assert.assertEquals(content[index++], chunk.read());
+			}
+		}
+		Assert.assertEquals(content.length, index);
+	}
+
+	@Test
+	public void delimitedFramesAreDecodedAcrossEveryChunkBoundary() throws Exception {
+		String content = "first\r\nsecond\r\n\r\nlast";
+		for (int cut = 1; cut < content.length(); cut++) {
+			List<Buffer> chunks = new ArrayList<>();
+			chunks.add(Buffer.wrap(content.substring(0, cut)));
+			chunks.add(Buffer.wrap(content.substring(cut)));
+
+			Publisher<Buffer> decoded = IO.decodeDelimited(Publishers.from(chunks), Buffer.wrap("\r\n"), true);
+			List<String> frames = new ArrayList<>();
+			for (Buffer frame : collect(decoded, Long.MAX_VALUE)) {
+				frames.add(frame.asString());
+			}
+			Assert.assertEquals("cut at " + cut, Arrays.asList("first", "second", "", "last"), frames);
+		}
+	}
+
+	@Test
+	public void framesInsideAChunkAreNotCopied() throws Exception {
+		Buffer chunk = Buffer.wrap("a,bb,ccc,");
+		List<Buffer> frames = collect(IO.decodeDelimited(Publishers.just(chunk), Buffer.wrap(","), false), 2);
+
+		Assert.assertEquals(2, frames.size());
+		Assert.assertEquals("a,", frames.get(0).asString());
+		Assert.assertSame(chunk.byteBuffer().array(), frames.get(1).byteBuffer().array());
+	}
+
+	@Test
+	public void encodedFramesAreDecodedFromArbitraryChunks() throws Exception {
+		List<Buffer> frames = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			StringBuilder sb = new StringBuilder();
+			for (int j = 0; j < i * 7; j++) {
+				sb.append((char) ('a' + (j % 26)));
+			}
+			frames.add(Buffer.wrap(sb.toString()));
+		}
+
+		for (int mode = 0; mode < 3; mode++) {
+			Publisher<Buffer> encoded = mode == 0 ? IO.encodeVarint(Publishers.from(frames)) :
+					IO.encodeLengthField(Publishers.from(frames), mode == 1 ? 2 : 4);
+
+			Buffer stream = new Buffer();
+			for (Buffer frame : collect(encoded, Long.MAX_VALUE)) {
+				stream.append(frame);
+			}
+			stream.flip();
+			List<Buffer> chunks = new ArrayList<>();
+			for (int start = 0, size = 1; start < stream.limit(); start += size, size = size * 3 % 97 + 1) {
+				chunks.add(stream.duplicate().limit(Math.min(start + size, stream.limit())).position(start).copy());
+			}
+
+			Publisher<Buffer> decoded = mode == 0 ? IO.decodeVarint(Publishers.from(chunks)) :
+					IO.decodeLengthField(Publishers.from(chunks), mode == 1 ? 2 : 4);
+			List<Buffer> result = collect(decoded, Long.MAX_VALUE);
+			Assert.assertEquals(frames.size(), result.size());
+			for (int i = 0; i < frames.size(); i++) {
+				Assert.assertEquals(frames.get(i).asString(), result.get(i).asString());
+			}
+		}
+	}
+
+	@Test
+	public void truncatedLengthFieldFrameSignalsAnError() throws Exception {
+		Buffer chunk = Buffer.wrap(new byte[]{0, 4, 'a', 'b'});
+		Recorder<Buffer> recorder = Recorder.subscribe(IO.decodeLengthField(Publishers.just(chunk), 2), Long.MAX_VALUE);
+
+		Assert.assertTrue(recorder.awaitError() instanceof IllegalStateException);
+		Assert.assertTrue(recorder.values.isEmpty());
+	}
+
+	private static List<Buffer> collect(Publisher<Buffer> publisher, long demand) {
+		Recorder<Buffer> recorder = Recorder.subscribe(publisher, demand);
+		Assert.assertNull(recorder.error);
+		return recorder.values;
+	}
+
+	/**
+	 * Record the signals of a subscription, requesting only the initial demand until told otherwise.
+	 */
+	static final class Recorder<T> implements Subscriber<T> {
+
+		final List<T>        values     = Collections.synchronizedList(new ArrayList<>());
+		final CountDownLatch subscribed = new CountDownLatch(1);
+		final CountDownLatch terminated = new CountDownLatch(1);
+		final long           initialRequest;
+
+		volatile Subscription subscription;
+		volatile Throwable    error;
+		volatile boolean      completed;
+
+		static <T> Recorder<T> subscribe(Publisher<? extends T> publisher, long initialRequest) {
+			Recorder<T> recorder = new Recorder<>(initialRequest);
+			publisher.subscribe(recorder);
+			return recorder;
+		}
+
+		Recorder(long initialRequest) {
+			this.initialRequest = initialRequest;
+		}
+
+		void request(long n) throws InterruptedException {
+			Assert.assertTrue("not subscribed", subscribed.await(5, TimeUnit.SECONDS));
+			subscription.request(n);
+		}
+
+		void cancel() {
+			subscription.cancel();
+		}
+
+		List<T> awaitComplete() throws InterruptedException {
+			Assert.assertTrue("not terminated", terminated.await(5, TimeUnit.SECONDS));
+			if (error != null) {
+				throw new AssertionError(error);
+			}
+			Assert.assertTrue(completed);
+			return values;
+		}
+
+		Throwable awaitError() throws InterruptedException {
+			Assert.assertTrue("not terminated", terminated.await(5, TimeUnit.SECONDS));
+			Assert.assertNotNull("expected an error", error);
+			return error;
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			subscription = s;
+			subscribed.countDown();
+			if (initialRequest > 0L) {
+				s.request(initialRequest);
+			}
+		}
+
+		@Override
+		public void onNext(T t) {
+			values.add(t);
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			error = t;
+			terminated.countDown();
+		}
+
+		@Override
+		public void onComplete() {
+			completed = true;
+			terminated.countDown();
+		}
+	}
+}
@@ -1,9 +1,15 @@
 package reactor.io.buffer;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+
 import org.junit.Test;
 import reactor.core.support.ReactiveState;
+import reactor.core.support.internal.ByteScanner;
 
 import static junit.framework.TestCase.assertFalse;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -38,4 +44,55 @@ public class BufferTests {
 		assertFalse(buffer.equals(Buffer.wrap("Other")));
 	}
 
+	@Test
+	public void wordAtATimeScanFindsTheFirstMatchInBothByteOrders() {
+		for (ByteOrder order : new ByteOrder[]{ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+			ByteBuffer bb = ByteBuffer.allocate(64).order(order);
+			for (int i = 0; i < bb.capacity(); i++) {
+				bb.put(i, (byte) (0x80 | i));
+			}
+			for (int at = 0; at < bb.capacity(); at++) {
+				bb.put(at, (byte) 0x01);
+				bb.put(Math.min(at + 3, 63), (byte) 0x01);
+				for (int from = 0; from < 20; from++) {
+					int expected = at >= from ? at : (Math.min(at + 3, 63) >= from ? Math.min(at + 3, 63) : -1);
+					assertEquals(expected, ByteScanner.scan(bb, (byte) 0x01, from, bb.capacity()));
+				}
+				bb.put(at, (byte) (0x80 | at));
+				bb.put(Math.min(at + 3, 63), (byte) (0x80 | Math.min(at + 3, 63)));
+			}
+			assertEquals(-1, ByteScanner.scan(bb, (byte) 0x00, 0, bb.capacity()));
+		}
+	}
+
+	@Test
+	public void indexOfReturnsThePositionFollowingTheByte() {
+		Buffer buffer = Buffer.wrap("abcdefghijklmnopqrstuvwxyz,");
+		assertEquals(27, buffer.indexOf((byte) ','));
+		assertEquals(-1, buffer.indexOf((byte) ',', 0, 26));
+		assertEquals(0, buffer.position());
+	}
+
+	@Test
+	public void splitStreamsOffsetsWithoutAllocatingViews() {
+		Buffer buffer = Buffer.wrap("first\r\nsecond\r\nthird\r\nincomplete");
+		int[] segments = new int[4];
+
+		assertEquals(2, buffer.split(segments, Buffer.wrap("\r\n"), true));
+		assertEquals("first", buffer.duplicate().limit(segments[1]).position(segments[0]).asString());
+		assertEquals("second", buffer.duplicate().limit(segments[3]).position(segments[2]).asString());
+
+		assertEquals(1, buffer.split(segments, Buffer.wrap("\r\n"), false));
+		assertEquals("third\r\n", buffer.duplicate().limit(segments[1]).position(segments[0]).asString());
+
+		assertEquals(0, buffer.split(segments, Buffer.wrap("\r\n"), true));
+		assertEquals("incomplete", buffer.asString());
+
+		Buffer lines = Buffer.wrap("a\nbb\n\nccc\n");
+		assertEquals(4, lines.split(new int[8], '\n', true));
+		List<Buffer.View> views = Buffer.wrap("a\nbb\n\nccc\n").split('\n', true);
+		assertEquals(4, views.size());
+		assertEquals("ccc", views.get(3).get().asString());
+	}
+
 }
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2011-2016 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.io.buffer;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.Pipe;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class CompositeBufferTests {
+
+	@Test
+	public void componentsAreSharedNotCopied() {
+		Buffer header = new Buffer(8, true).append(42).flip();
+		Buffer payload = Buffer.wrap("hello world");
+		CompositeBuffer composite = CompositeBuffer.of(header, payload);
+
+		assertEquals(2, composite.components());
+		assertEquals(4 + 11, composite.remaining());
+
+		payload.byteBuffer().put(0, (byte) 'j');
+		assertEquals(42, composite.readInt());
+		assertEquals("jello world", composite.asString());
+	}
+
+	@Test
+	public void readsSpanComponentBoundaries() {
+		ByteBuffer first = ByteBuffer.allocate(8).putLong(0x0102030405060708L);
+		first.flip().limit(3);
+		ByteBuffer second = ByteBuffer.allocate(8).putLong(0x0102030405060708L);
+		second.flip().position(3);
+		CompositeBuffer composite = CompositeBuffer.of(first, second);
+
+		assertEquals(0x0102030405060708L, composite.readLong());
+		assertEquals(0, composite.remaining());
+
+		composite.rewind().skip(2);
+		assertEquals(0x0304, composite.readShort());
+		assertEquals(3, composite.get(2));
+	}
+
+	@Test
+	public void splitAndSliceShareContent() {
+		CompositeBuffer composite = CompositeBuffer.of(Buffer.wrap("a,bc"), Buffer.wrap(",d"), Buffer.wrap("ef,gh"));
+
+		assertEquals(1, composite.indexOf((byte) ','));
+		assertEquals(4, composite.indexOf((byte) ',', 2, composite.limit()));
+
+		List<CompositeBuffer> segments = composite.split(',', true);
+		assertEquals(3, segments.size());
+		assertEquals("a", segments.get(0).asString());
+		assertEquals("bc", segments.get(1).asString());
+		assertEquals("def", segments.get(2).asString());
+		assertEquals(2, segments.get(2).components());
+		assertEquals("gh", composite.asString());
+
+		assertEquals("c,de", composite.slice(3, 4).asString());
+
+		composite.prepend(Buffer.wrap(">"));
+		assertEquals(">a,bc,def,gh", composite.asString());
+	}
+
+	@Test
+	public void remainingBytesAreFlushedWithGatheringWrites() throws Exception {
+		CompositeBuffer composite = CompositeBuffer.of(Buffer.wrap("header:"), Buffer.wrap("payload"));
+		composite.skip(2);
+
+		Pipe pipe = Pipe.open();
+		long written = composite.write(pipe.sink());
+		assertEquals(12, written);
+		assertEquals(0, composite.remaining());
+
+		ByteBuffer read = ByteBuffer.allocate(12);
+		while (read.hasRemaining()) {
+			pipe.source().read(read);
+		}
+		assertEquals("ader:payload", new String(read.array(), "UTF-8"));
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		composite.rewind().write(Channels.newChannel(out));
+		assertArrayEquals("header:payload".getBytes("UTF-8"), out.toByteArray());
+	}
+}